@@ -0,0 +1,240 @@
+package org.nem.core.crypto;
+
+import org.spongycastle.crypto.DataLengthException;
+import org.spongycastle.crypto.InvalidCipherTextException;
+import org.spongycastle.crypto.engines.AESEngine;
+import org.spongycastle.crypto.modes.CBCBlockCipher;
+import org.spongycastle.crypto.paddings.PKCS7Padding;
+import org.spongycastle.crypto.paddings.PaddedBufferedBlockCipher;
+import org.spongycastle.crypto.params.KeyParameter;
+import org.spongycastle.crypto.params.ParametersWithIV;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+/**
+ * Implementations of AES in CBC mode with PKCS#7 padding.
+ * <br>
+ * Both backends produce identical ciphertexts. Each thread reuses its own cipher instance, so all methods are thread-safe.
+ * If no backend is selected explicitly, JAVAX_CRYPTO is used when the platform provider passes a known answer test,
+ * otherwise SPONGY_CASTLE.
+ */
+public enum AesCipherBackend {
+	/**
+	 * The platform provider ("AES/CBC/PKCS5Padding"). On Android this is usually BoringSSL,
+	 * which uses the AES instructions of the CPU.
+	 */
+	JAVAX_CRYPTO {
+		private final ThreadLocal<Cipher> ciphers = new ThreadLocal<Cipher>() {
+			@Override
+			protected Cipher initialValue() {
+				try {
+					return Cipher.getInstance("AES/CBC/PKCS5Padding");
+				} catch (final GeneralSecurityException e) {
+					throw new CryptoException("AES/CBC/PKCS5Padding is not available", e);
+				}
+			}
+		};
+
+		@Override
+		public int encrypt(final byte[] key, final byte[] iv, final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+			try {
+				final Cipher cipher = this.init(Cipher.ENCRYPT_MODE, key, iv);
+				return cipher.doFinal(input, offset, length, output, outputOffset);
+			} catch (final GeneralSecurityException e) {
+				throw new CryptoException("AES encryption failed", e);
+			}
+		}
+
+		@Override
+		protected byte[] decryptBlocks(final byte[] key, final byte[] iv, final byte[] input, final int offset, final int length) {
+			try {
+				final Cipher cipher = this.init(Cipher.DECRYPT_MODE, key, iv);
+				return cipher.doFinal(input, offset, length);
+			} catch (final GeneralSecurityException e) {
+				throw new CryptoException("AES decryption failed", e);
+			}
+		}
+
+		private Cipher init(final int mode, final byte[] key, final byte[] iv) throws GeneralSecurityException {
+			final Cipher cipher = this.ciphers.get();
+			cipher.init(mode, new SecretKeySpec(key, "AES"), new IvParameterSpec(iv));
+			return cipher;
+		}
+	},
+
+	/**
+	 * The table based Java implementation of SpongyCastle.
+	 */
+	SPONGY_CASTLE {
+		private final ThreadLocal<PaddedBufferedBlockCipher> ciphers = new ThreadLocal<PaddedBufferedBlockCipher>() {
+			@Override
+			protected PaddedBufferedBlockCipher initialValue() {
+				return new PaddedBufferedBlockCipher(new CBCBlockCipher(new AESEngine()), new PKCS7Padding());
+			}
+		};
+
+		@Override
+		public int encrypt(final byte[] key, final byte[] iv, final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+			try {
+				return this.transform(true, key, iv, input, offset, length, output, outputOffset);
+			} catch (final IllegalArgumentException | DataLengthException | InvalidCipherTextException e) {
+				throw new CryptoException("AES encryption failed", e);
+			}
+		}
+
+		@Override
+		protected byte[] decryptBlocks(final byte[] key, final byte[] iv, final byte[] input, final int offset, final int length) {
+			final byte[] output = new byte[length];
+			try {
+				final int outputLength = this.transform(false, key, iv, input, offset, length, output, 0);
+				return outputLength == output.length ? output : Arrays.copyOf(output, outputLength);
+			} catch (final IllegalArgumentException | DataLengthException | InvalidCipherTextException e) {
+				throw new CryptoException("AES decryption failed", e);
+			}
+		}
+
+		private int transform(
+				final boolean forEncryption,
+				final byte[] key,
+				final byte[] iv,
+				final byte[] input,
+				final int offset,
+				final int length,
+				final byte[] output,
+				final int outputOffset) throws InvalidCipherTextException {
+			final PaddedBufferedBlockCipher cipher = this.ciphers.get();
+			cipher.init(forEncryption, new ParametersWithIV(new KeyParameter(key), iv));
+			final int processed = cipher.processBytes(input, offset, length, output, outputOffset);
+			return processed + cipher.doFinal(output, outputOffset + processed);
+		}
+	};
+
+	/**
+	 * The AES block size and the size of the IV in bytes.
+	 */
+	public static final int BLOCK_SIZE = 16;
+
+	private static volatile AesCipherBackend selected;
+
+	/**
+	 * Gets the size of the ciphertext of a plaintext, including the padding.
+	 *
+	 * @param length The length of the plaintext.
+	 * @return The length of the ciphertext.
+	 */
+	public static int getEncryptedSize(final int length) {
+		return (length / BLOCK_SIZE + 1) * BLOCK_SIZE;
+	}
+
+	/**
+	 * Encrypts a part of the input and writes the ciphertext into the output buffer.
+	 *
+	 * @param key The AES key (16, 24 or 32 bytes).
+	 * @param iv The initialization vector (16 bytes).
+	 * @param input The plaintext.
+	 * @param offset The offset of the plaintext in input.
+	 * @param length The length of the plaintext.
+	 * @param output The buffer receiving the ciphertext, at least getEncryptedSize(length) bytes from outputOffset.
+	 * @param outputOffset The offset in output at which the ciphertext is written.
+	 * @return The number of bytes written.
+	 * @throws CryptoException if the key, the IV or the output buffer are invalid.
+	 */
+	public abstract int encrypt(byte[] key, byte[] iv, byte[] input, int offset, int length, byte[] output, int outputOffset);
+
+	/**
+	 * Encrypts the input.
+	 *
+	 * @param key The AES key (16, 24 or 32 bytes).
+	 * @param iv The initialization vector (16 bytes).
+	 * @param input The plaintext.
+	 * @return The ciphertext.
+	 * @throws CryptoException if the key or the IV are invalid.
+	 */
+	public byte[] encrypt(final byte[] key, final byte[] iv, final byte[] input) {
+		final byte[] output = new byte[getEncryptedSize(input.length)];
+		this.encrypt(key, iv, input, 0, input.length, output, 0);
+		return output;
+	}
+
+	/**
+	 * Decrypts a part of the input.
+	 *
+	 * @param key The AES key (16, 24 or 32 bytes).
+	 * @param iv The initialization vector (16 bytes).
+	 * @param input The ciphertext.
+	 * @param offset The offset of the ciphertext in input.
+	 * @param length The length of the ciphertext.
+	 * @return The plaintext.
+	 * @throws CryptoException if the key or the IV are invalid or the ciphertext is malformed.
+	 */
+	public byte[] decrypt(final byte[] key, final byte[] iv, final byte[] input, final int offset, final int length) {
+		// providers disagree about empty input, so it is rejected here
+		if (0 == length || 0 != length % BLOCK_SIZE) {
+			throw new CryptoException("ciphertext length must be a positive multiple of the block size");
+		}
+
+		return this.decryptBlocks(key, iv, input, offset, length);
+	}
+
+	/**
+	 * Decrypts a part of the input, length is a positive multiple of BLOCK_SIZE.
+	 */
+	protected abstract byte[] decryptBlocks(byte[] key, byte[] iv, byte[] input, int offset, int length);
+
+	/**
+	 * Gets the selected backend.
+	 *
+	 * @return The selected backend.
+	 */
+	public static AesCipherBackend getSelected() {
+		AesCipherBackend backend = selected;
+		if (null == backend) {
+			backend = JAVAX_CRYPTO.isCompatible() ? JAVAX_CRYPTO : SPONGY_CASTLE;
+			selected = backend;
+		}
+
+		return backend;
+	}
+
+	/**
+	 * Selects the backend used by all subsequent encryptions and decryptions.
+	 *
+	 * @param backend The backend.
+	 */
+	public static void select(final AesCipherBackend backend) {
+		if (null == backend) {
+			throw new IllegalArgumentException("backend must not be null");
+		}
+
+		selected = backend;
+	}
+
+	/**
+	 * Checks that this backend supports 256-bit keys and encrypts like SpongyCastle.
+	 * Some JREs restrict the key size and old devices may ship broken providers.
+	 *
+	 * @return true if the backend can be used.
+	 */
+	public boolean isCompatible() {
+		final byte[] key = new byte[32];
+		final byte[] iv = new byte[BLOCK_SIZE];
+		final byte[] input = new byte[2 * BLOCK_SIZE + 3];
+		for (int i = 0; i < input.length; i++) {
+			input[i] = (byte) i;
+			key[i % key.length] ^= (byte) (31 * i);
+			iv[i % iv.length] ^= (byte) (17 * i);
+		}
+
+		try {
+			final byte[] encrypted = this.encrypt(key, iv, input);
+			return Arrays.equals(SPONGY_CASTLE.encrypt(key, iv, input), encrypted)
+					&& Arrays.equals(input, this.decrypt(key, iv, encrypted, 0, encrypted.length));
+		} catch (final RuntimeException e) {
+			return false;
+		}
+	}
+}
@@ -22,6 +22,15 @@ public interface DsaSigner {
 	 */
 	boolean verify(final byte[] data, final Signature signature);
 
+	/**
+	 * Verifies a batch of signatures which can belong to different signers.
+	 * The key pair of this signer is not used.
+	 *
+	 * @param items The signed data to verify.
+	 * @return For each item (in the same order) true if its signature is valid.
+	 */
+	boolean[] verifyBatch(final SignedData[] items);
+
 	/**
 	 * Determines if the signature is canonical.
 	 *
@@ -1,33 +1,73 @@
 package org.nem.core.crypto;
 
+import org.spongycastle.crypto.Digest;
+import org.spongycastle.crypto.digests.RIPEMD160Digest;
 import org.spongycastle.crypto.digests.SHA3Digest;
-import org.spongycastle.jce.provider.BouncyCastleProvider;
-
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.NoSuchProviderException;
-import java.security.Security;
-import java.util.logging.Logger;
 
 /**
  * Static class that exposes hash functions.
+ * <br>
+ * The digests are used directly instead of looking them up through the JCA provider on every call.
+ * Each thread reuses its own digest instances, so all methods are thread-safe.
  */
 public class Hashes {
-	private static final Logger LOGGER = Logger.getLogger(Hashes.class.getName());
+	/**
+	 * The length of a SHA3-256 hash in bytes.
+	 */
+	public static final int SHA3_256_LENGTH = 32;
 
-	static {
-		Security.addProvider(new BouncyCastleProvider());
-	}
+	/**
+	 * The length of a SHA3-512 hash in bytes.
+	 */
+	public static final int SHA3_512_LENGTH = 64;
+
+	/**
+	 * The length of a RIPEMD160 hash in bytes.
+	 */
+	public static final int RIPEMD160_LENGTH = 20;
+
+	private static final ThreadLocal<Digests> DIGESTS = new ThreadLocal<Digests>() {
+		@Override
+		protected Digests initialValue() {
+			return new Digests();
+		}
+	};
 
 	/**
 	 * Performs a SHA3-256 hash of the concatenated inputs.
 	 *
 	 * @param inputs The byte arrays to concatenate and hash.
 	 * @return The hash of the concatenated inputs.
-	 * @throws CryptoException if the hash operation failed.
 	 */
 	public static byte[] sha3_256(final byte[]... inputs) {
-		return hash("SHA3-256", inputs);
+		return hash(DIGESTS.get().sha3_256, inputs);
+	}
+
+	/**
+	 * Performs a SHA3-256 hash of a part of the input.
+	 *
+	 * @param input The input.
+	 * @param offset The offset of the first byte to hash.
+	 * @param length The number of bytes to hash.
+	 * @return The hash.
+	 */
+	public static byte[] sha3_256(final byte[] input, final int offset, final int length) {
+		return hash(DIGESTS.get().sha3_256, input, offset, length);
+	}
+
+	/**
+	 * Performs a SHA3-256 hash of a part of the input and writes it into the output buffer.
+	 * The output may overlap the input.
+	 *
+	 * @param input The input.
+	 * @param offset The offset of the first byte to hash.
+	 * @param length The number of bytes to hash.
+	 * @param output The buffer receiving the hash.
+	 * @param outputOffset The offset in output at which the hash is written.
+	 * @return The number of bytes written (SHA3_256_LENGTH).
+	 */
+	public static int sha3_256(final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+		return hash(DIGESTS.get().sha3_256, input, offset, length, output, outputOffset);
 	}
 
 	/**
@@ -35,17 +75,36 @@ public class Hashes {
 	 *
 	 * @param inputs The byte arrays to concatenate and hash.
 	 * @return The hash of the concatenated inputs.
-	 * @throws CryptoException if the hash operation failed.
 	 */
 	public static byte[] sha3_512(final byte[]... inputs) {
-		SHA3Digest digest = new SHA3Digest(512);
-		for (final byte[] input : inputs) {
-			digest.update(input, 0, input.length);
-		}
-		byte[] signature = new byte[512 / 8];
-		digest.doFinal(signature, 0);
-		return signature;
-		//return hash("SHA3-512", inputs);
+		return hash(DIGESTS.get().sha3_512, inputs);
+	}
+
+	/**
+	 * Performs a SHA3-512 hash of a part of the input.
+	 *
+	 * @param input The input.
+	 * @param offset The offset of the first byte to hash.
+	 * @param length The number of bytes to hash.
+	 * @return The hash.
+	 */
+	public static byte[] sha3_512(final byte[] input, final int offset, final int length) {
+		return hash(DIGESTS.get().sha3_512, input, offset, length);
+	}
+
+	/**
+	 * Performs a SHA3-512 hash of a part of the input and writes it into the output buffer.
+	 * The output may overlap the input.
+	 *
+	 * @param input The input.
+	 * @param offset The offset of the first byte to hash.
+	 * @param length The number of bytes to hash.
+	 * @param output The buffer receiving the hash.
+	 * @param outputOffset The offset in output at which the hash is written.
+	 * @return The number of bytes written (SHA3_512_LENGTH).
+	 */
+	public static int sha3_512(final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+		return hash(DIGESTS.get().sha3_512, input, offset, length, output, outputOffset);
 	}
 
 	/**
@@ -53,22 +112,78 @@ public class Hashes {
 	 *
 	 * @param inputs The byte arrays to concatenate and hash.
 	 * @return The hash of the concatenated inputs.
-	 * @throws CryptoException if the hash operation failed.
 	 */
 	public static byte[] ripemd160(final byte[]... inputs) {
-		return hash("RIPEMD160", inputs);
+		return hash(DIGESTS.get().ripemd160, inputs);
+	}
+
+	/**
+	 * Performs a RIPEMD160 hash of a part of the input.
+	 *
+	 * @param input The input.
+	 * @param offset The offset of the first byte to hash.
+	 * @param length The number of bytes to hash.
+	 * @return The hash.
+	 */
+	public static byte[] ripemd160(final byte[] input, final int offset, final int length) {
+		return hash(DIGESTS.get().ripemd160, input, offset, length);
+	}
+
+	/**
+	 * Performs a RIPEMD160 hash of a part of the input and writes it into the output buffer.
+	 * The output may overlap the input.
+	 *
+	 * @param input The input.
+	 * @param offset The offset of the first byte to hash.
+	 * @param length The number of bytes to hash.
+	 * @param output The buffer receiving the hash.
+	 * @param outputOffset The offset in output at which the hash is written.
+	 * @return The number of bytes written (RIPEMD160_LENGTH).
+	 */
+	public static int ripemd160(final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+		return hash(DIGESTS.get().ripemd160, input, offset, length, output, outputOffset);
+	}
+
+	private static byte[] hash(final Digest digest, final byte[]... inputs) {
+		// a previous call may have been aborted by an exception after some input was added
+		digest.reset();
+		for (final byte[] input : inputs) {
+			digest.update(input, 0, input.length);
+		}
+
+		final byte[] output = new byte[digest.getDigestSize()];
+		digest.doFinal(output, 0);
+		return output;
 	}
 
-	private static byte[] hash(final String algorithm, final byte[]... inputs) throws CryptoException {
-		MessageDigest digest = null;
-		try {
-			digest = MessageDigest.getInstance(algorithm, "SC"); // It's SpongyCastle on Android
-			for (final byte[] input : inputs) {
-				digest.update(input);
-			}
-			return digest.digest();
-		} catch (NoSuchAlgorithmException | NoSuchProviderException e) {
-			throw new CryptoException("Hashing error: " + e.getMessage(), e);
+	private static byte[] hash(final Digest digest, final byte[] input, final int offset, final int length) {
+		final byte[] output = new byte[digest.getDigestSize()];
+		hash(digest, input, offset, length, output, 0);
+		return output;
+	}
+
+	private static int hash(
+			final Digest digest,
+			final byte[] input,
+			final int offset,
+			final int length,
+			final byte[] output,
+			final int outputOffset) {
+		if (outputOffset < 0 || output.length - outputOffset < digest.getDigestSize()) {
+			throw new IllegalArgumentException("output buffer too short");
 		}
+
+		digest.reset();
+		digest.update(input, offset, length);
+		return digest.doFinal(output, outputOffset);
+	}
+
+	/**
+	 * The digests owned by one thread. doFinal() resets a digest, so it can be reused right away.
+	 */
+	private static class Digests {
+		private final Digest sha3_256 = new SHA3Digest(256);
+		private final Digest sha3_512 = new SHA3Digest(512);
+		private final Digest ripemd160 = new RIPEMD160Digest();
 	}
 }
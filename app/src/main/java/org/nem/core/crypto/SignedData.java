@@ -0,0 +1,52 @@
+package org.nem.core.crypto;
+
+/**
+ * A message together with its signature and the public key of the signer.
+ * Used for batch verification of signatures created by different signers.
+ */
+public class SignedData {
+
+	private final byte[] data;
+	private final Signature signature;
+	private final PublicKey publicKey;
+
+	/**
+	 * Creates new signed data.
+	 *
+	 * @param data      The original message.
+	 * @param signature The signature of the message.
+	 * @param publicKey The public key of the signer.
+	 */
+	public SignedData(final byte[] data, final Signature signature, final PublicKey publicKey) {
+		this.data = data;
+		this.signature = signature;
+		this.publicKey = publicKey;
+	}
+
+	/**
+	 * Gets the original message.
+	 *
+	 * @return The message.
+	 */
+	public byte[] getData() {
+		return this.data;
+	}
+
+	/**
+	 * Gets the signature.
+	 *
+	 * @return The signature.
+	 */
+	public Signature getSignature() {
+		return this.signature;
+	}
+
+	/**
+	 * Gets the public key of the signer.
+	 *
+	 * @return The public key.
+	 */
+	public PublicKey getPublicKey() {
+		return this.publicKey;
+	}
+}
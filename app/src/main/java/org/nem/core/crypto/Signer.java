@@ -46,6 +46,11 @@ public class Signer implements DsaSigner {
 		return this.signer.verify(data, signature);
 	}
 
+	@Override
+	public boolean[] verifyBatch(final SignedData[] items) {
+		return this.signer.verifyBatch(items);
+	}
+
 	@Override
 	public boolean isCanonicalSignature(final Signature signature) {
 		return this.signer.isCanonicalSignature(signature);
@@ -1,22 +1,13 @@
 package org.nem.core.crypto.ed25519;
 
+import org.nem.core.crypto.AesCipherBackend;
 import org.nem.core.crypto.BlockCipher;
+import org.nem.core.crypto.CryptoException;
 import org.nem.core.crypto.Hashes;
 import org.nem.core.crypto.KeyPair;
 import org.nem.core.crypto.PrivateKey;
 import org.nem.core.crypto.PublicKey;
-import org.nem.core.crypto.ed25519.arithmetic.Ed25519EncodedGroupElement;
 import org.nem.core.crypto.ed25519.arithmetic.Ed25519GroupElement;
-import org.spongycastle.crypto.BufferedBlockCipher;
-import org.spongycastle.crypto.CipherParameters;
-import org.spongycastle.crypto.InvalidCipherTextException;
-import org.spongycastle.crypto.engines.AESEngine;
-import org.spongycastle.crypto.modes.CBCBlockCipher;
-import org.spongycastle.crypto.paddings.BlockCipherPadding;
-import org.spongycastle.crypto.paddings.PKCS7Padding;
-import org.spongycastle.crypto.paddings.PaddedBufferedBlockCipher;
-import org.spongycastle.crypto.params.KeyParameter;
-import org.spongycastle.crypto.params.ParametersWithIV;
 
 import java.security.SecureRandom;
 import java.util.Arrays;
@@ -29,12 +20,25 @@ public class Ed25519BlockCipher implements BlockCipher {
 	private final KeyPair recipientKeyPair;
 	private final SecureRandom random;
 	private final int keyLength;
+	private final Ed25519SharedPointCache sharedPointCache;
 
 	public Ed25519BlockCipher(final KeyPair senderKeyPair, final KeyPair recipientKeyPair) {
+		this(senderKeyPair, recipientKeyPair, null);
+	}
+
+	/**
+	 * Creates a block cipher that reuses the shared points of earlier messages between the same accounts.
+	 *
+	 * @param senderKeyPair    The sender KeyPair.
+	 * @param recipientKeyPair The recipient KeyPair.
+	 * @param sharedPointCache The cache of shared points or null to always calculate the shared point.
+	 */
+	public Ed25519BlockCipher(final KeyPair senderKeyPair, final KeyPair recipientKeyPair, final Ed25519SharedPointCache sharedPointCache) {
 		this.senderKeyPair = senderKeyPair;
 		this.recipientKeyPair = recipientKeyPair;
 		this.random = new SecureRandom();
 		this.keyLength = recipientKeyPair.getPublicKey().getRaw().length;
+		this.sharedPointCache = sharedPointCache;
 	}
 
 	@Override
@@ -47,22 +51,19 @@ public class Ed25519BlockCipher implements BlockCipher {
 		final byte[] sharedKey = this.getSharedKey(this.senderKeyPair.getPrivateKey(), this.recipientKeyPair.getPublicKey(), salt);
 
 		// Setup IV.
-		final byte[] ivData = new byte[16];
+		final byte[] ivData = new byte[AesCipherBackend.BLOCK_SIZE];
 		this.random.nextBytes(ivData);
 
-		// Setup block cipher.
-		final BufferedBlockCipher cipher = this.setupBlockCipher(sharedKey, ivData, true);
-
-		// Encode.
-		final byte[] buf = this.transform(cipher, input);
-		if (null == buf) {
-			return null;
-		}
-
-		final byte[] result = new byte[salt.length + ivData.length + buf.length];
+		// Encode straight behind salt and IV.
+		final byte[] result = new byte[salt.length + ivData.length + AesCipherBackend.getEncryptedSize(input.length)];
 		System.arraycopy(salt, 0, result, 0, salt.length);
 		System.arraycopy(ivData, 0, result, salt.length, ivData.length);
-		System.arraycopy(buf, 0, result, salt.length + ivData.length, buf.length);
+		try {
+			AesCipherBackend.getSelected().encrypt(sharedKey, ivData, input, 0, input.length, result, salt.length + ivData.length);
+		} finally {
+			Arrays.fill(sharedKey, (byte) 0);
+		}
+
 		return result;
 	}
 
@@ -74,51 +75,47 @@ public class Ed25519BlockCipher implements BlockCipher {
 
 		final byte[] salt = Arrays.copyOfRange(input, 0, this.keyLength);
 		final byte[] ivData = Arrays.copyOfRange(input, this.keyLength, 48);
-		final byte[] encData = Arrays.copyOfRange(input, 48, input.length);
 
 		// Derive shared key.
 		final byte[] sharedKey = this.getSharedKey(this.recipientKeyPair.getPrivateKey(), this.senderKeyPair.getPublicKey(), salt);
 
-		// Setup block cipher.
-		final BufferedBlockCipher cipher = this.setupBlockCipher(sharedKey, ivData, false);
-
 		// Decode.
-		return this.transform(cipher, encData);
-	}
-
-	private byte[] transform(final BufferedBlockCipher cipher, final byte[] data) {
-		final byte[] buf = new byte[cipher.getOutputSize(data.length)];
-		int length = cipher.processBytes(data, 0, data.length, buf, 0);
 		try {
-			length += cipher.doFinal(buf, length);
-		} catch (final InvalidCipherTextException e) {
+			return AesCipherBackend.getSelected().decrypt(sharedKey, ivData, input, 48, input.length - 48);
+		} catch (final CryptoException e) {
 			return null;
+		} finally {
+			Arrays.fill(sharedKey, (byte) 0);
 		}
-
-		return Arrays.copyOf(buf, length);
-	}
-
-	private BufferedBlockCipher setupBlockCipher(final byte[] sharedKey, final byte[] ivData, final boolean forEncryption) {
-		// Setup cipher parameters with key and IV.
-		final KeyParameter keyParam = new KeyParameter(sharedKey);
-		final CipherParameters params = new ParametersWithIV(keyParam, ivData);
-
-		// Setup AES cipher in CBC mode with PKCS7 padding.
-		final BlockCipherPadding padding = new PKCS7Padding();
-		final BufferedBlockCipher cipher = new PaddedBufferedBlockCipher(new CBCBlockCipher(new AESEngine()), padding);
-		cipher.reset();
-		cipher.init(forEncryption, params);
-		return cipher;
 	}
 
 	private byte[] getSharedKey(final PrivateKey privateKey, final PublicKey publicKey, final byte[] salt) {
-		final Ed25519GroupElement senderA = new Ed25519EncodedGroupElement(publicKey.getRaw()).decode();
-		senderA.precomputeForScalarMultiplication();
-		final byte[] sharedKey = senderA.scalarMultiply(Ed25519Utils.prepareForScalarMultiply(privateKey)).encode().getRaw();
+		final byte[] sharedKey = this.getSharedPoint(privateKey, publicKey);
 		for (int i = 0; i < this.keyLength; i++) {
 			sharedKey[i] ^= salt[i];
 		}
 
-		return Hashes.sha3_256(sharedKey);
+		// hash in place, so no copy of the salted point is left behind
+		Hashes.sha3_256(sharedKey, 0, sharedKey.length, sharedKey, 0);
+		return sharedKey;
+	}
+
+	private byte[] getSharedPoint(final PrivateKey privateKey, final PublicKey publicKey) {
+		long epoch = 0;
+		if (null != this.sharedPointCache) {
+			epoch = this.sharedPointCache.getEpoch();
+			final byte[] cachedPoint = this.sharedPointCache.get(privateKey, publicKey);
+			if (null != cachedPoint) {
+				return cachedPoint;
+			}
+		}
+
+		final Ed25519GroupElement senderA = Ed25519PublicKeyCache.getDefault().getForScalarMultiplication(publicKey.getRaw());
+		final byte[] sharedPoint = senderA.scalarMultiply(Ed25519Utils.prepareForScalarMultiply(privateKey)).encode().getRaw();
+		if (null != this.sharedPointCache) {
+			this.sharedPointCache.put(privateKey, publicKey, sharedPoint, epoch);
+		}
+
+		return sharedPoint;
 	}
 }
@@ -4,7 +4,10 @@ import org.nem.core.crypto.CryptoException;
 import org.nem.core.crypto.DsaSigner;
 import org.nem.core.crypto.Hashes;
 import org.nem.core.crypto.KeyPair;
+import org.nem.core.crypto.PublicKey;
 import org.nem.core.crypto.Signature;
+import org.nem.core.crypto.SignedData;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519BasePointMultiplier;
 import org.nem.core.crypto.ed25519.arithmetic.Ed25519EncodedFieldElement;
 import org.nem.core.crypto.ed25519.arithmetic.Ed25519EncodedGroupElement;
 import org.nem.core.crypto.ed25519.arithmetic.Ed25519Group;
@@ -12,14 +15,19 @@ import org.nem.core.crypto.ed25519.arithmetic.Ed25519GroupElement;
 import org.nem.core.utils.ArrayUtils;
 
 import java.math.BigInteger;
+import java.security.SecureRandom;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Implementation of the DSA signer for Ed25519.
  */
 public class Ed25519DsaSigner implements DsaSigner {
+	private static final SecureRandom RANDOM = new SecureRandom();
 
 	private final KeyPair keyPair;
+	private final Ed25519SigningKey signingKey;
 
 	/**
 	 * Creates a Ed25519 DSA signer.
@@ -28,6 +36,19 @@ public class Ed25519DsaSigner implements DsaSigner {
 	 */
 	public Ed25519DsaSigner(final KeyPair keyPair) {
 		this.keyPair = keyPair;
+		this.signingKey = null;
+	}
+
+	/**
+	 * Creates a Ed25519 DSA signer that signs with an expanded signing key.
+	 * The key pair of the signer only contains the public key.
+	 * Destroying the signing key also disables signing with this signer.
+	 *
+	 * @param signingKey The signing key to use.
+	 */
+	public Ed25519DsaSigner(final Ed25519SigningKey signingKey) {
+		this.keyPair = new KeyPair(null, signingKey.getPublicKey());
+		this.signingKey = signingKey;
 	}
 
 	/**
@@ -41,59 +62,185 @@ public class Ed25519DsaSigner implements DsaSigner {
 
 	@Override
 	public Signature sign(final byte[] data) {
+		final Signature signature = null != this.signingKey
+				? this.signingKey.sign(data)
+				: this.signWithKeyPair(data);
+		if (!this.isCanonicalSignature(signature)) {
+			throw new CryptoException("Generated signature is not canonical");
+		}
+
+		return signature;
+	}
+
+	/**
+	 * Signs with the private key of the key pair. The expanded key is not kept by the signer,
+	 * it is destroyed right after signing.
+	 */
+	private Signature signWithKeyPair(final byte[] data) {
 		if (!this.getKeyPair().hasPrivateKey()) {
 			throw new CryptoException("cannot sign without private key");
 		}
 
-		// Hash the private key to improve randomness.
-		final byte[] hash = Hashes.sha3_512(ArrayUtils.toByteArray(this.getKeyPair().getPrivateKey().getRaw(), 32));
+		final Ed25519SigningKey expandedKey = new Ed25519SigningKey(this.getKeyPair().getPrivateKey(), this.getKeyPair().getPublicKey());
+		try {
+			return expandedKey.sign(data);
+		} finally {
+			expandedKey.destroy();
+		}
+	}
 
-		// r = H(hash_b,...,hash_2b-1, data) where b=256.
-		final Ed25519EncodedFieldElement r = new Ed25519EncodedFieldElement(
-				Hashes.sha3_512(Arrays.copyOfRange(hash, 32, 64), // only include the last 32 bytes of the private key hash
-						data));
+	@Override
+	public boolean verify(final byte[] data, final Signature signature) {
+		return this.verify(data, signature, this.getKeyPair().getPublicKey());
+	}
 
-		// Reduce size of r since we are calculating mod group order anyway
-		final Ed25519EncodedFieldElement rModQ = r.modQ();
+	/**
+	 * Verifies a batch of signatures with a single randomized multi-scalar multiplication.
+	 * <br>
+	 * For random 128 bit z_i the batch is valid if
+	 * (sum z_i * S_i) * B = sum z_i * R_i + sum (z_i * h_i) * A_i
+	 * which holds whenever every single signature is valid. The batch is only accepted if all A_i and R_i are
+	 * in the subgroup of prime order, otherwise it could accept signatures verify() rejects.
+	 * If the batch is not accepted, every signature is verified separately to find the invalid ones.
+	 */
+	@Override
+	public boolean[] verifyBatch(final SignedData[] items) {
+		final boolean[] results = new boolean[items.length];
+		if (0 == items.length) {
+			return results;
+		}
 
-		// R = rModQ * base point.
-		final Ed25519GroupElement R = Ed25519Group.BASE_POINT.scalarMultiply(rModQ);
-		final Ed25519EncodedGroupElement encodedR = R.encode();
+		if (this.isBatchValid(items)) {
+			Arrays.fill(results, true);
+			return results;
+		}
 
-		// S = (r + H(encodedR, encodedA, data) * a) mod group order where
-		// encodedR and encodedA are the little endian encodings of the group element R and the public key A and
-		// a is the lower 32 bytes of hash after clamping.
-		final Ed25519EncodedFieldElement h = new Ed25519EncodedFieldElement(Hashes.sha3_512(
-				encodedR.getRaw(),
-				this.getKeyPair().getPublicKey().getRaw(),
-				data));
-		final Ed25519EncodedFieldElement hModQ = h.modQ();
-		final Ed25519EncodedFieldElement encodedS = hModQ.multiplyAndAddModQ(
-				Ed25519Utils.prepareForScalarMultiply(this.getKeyPair().getPrivateKey()),
-				rModQ);
+		for (int i = 0; i < items.length; i++) {
+			try {
+				results[i] = this.verify(items[i].getData(), items[i].getSignature(), items[i].getPublicKey());
+			} catch (final IllegalArgumentException e) {
+				// public key is not a valid group element
+				results[i] = false;
+			}
+		}
 
-		// Signature is (encodedR, encodedS)
-		final Signature signature = new Signature(encodedR.getRaw(), encodedS.getRaw());
-		if (!this.isCanonicalSignature(signature)) {
-			throw new CryptoException("Generated signature is not canonical");
+		return results;
+	}
+
+	private boolean isBatchValid(final SignedData[] items) {
+		final Ed25519GroupElement[] points = new Ed25519GroupElement[2 * items.length];
+		final Ed25519EncodedFieldElement[] scalars = new Ed25519EncodedFieldElement[2 * items.length];
+		final Map<PublicKey, Integer> publicKeyIndices = new HashMap<>();
+		int numPoints = 0;
+		Ed25519EncodedFieldElement sumOfZS = new Ed25519EncodedFieldElement(new byte[32]);
+		for (final SignedData item : items) {
+			final Signature signature = item.getSignature();
+			final byte[] rawEncodedR = signature.getBinaryR();
+			final byte[] rawEncodedA = item.getPublicKey().getRaw();
+			if (!this.isCanonicalSignature(signature) || 1 == ArrayUtils.isEqualConstantTime(rawEncodedA, new byte[32])) {
+				return false;
+			}
+
+			final Ed25519GroupElement R;
+			try {
+				R = decodeCanonical(rawEncodedR);
+			} catch (final IllegalArgumentException e) {
+				return false;
+			}
+
+			if (null == R) {
+				return false;
+			}
+
+			// signatures of the same signer share one term (sum z_i * h_i) * A
+			Integer indexOfA = publicKeyIndices.get(item.getPublicKey());
+			if (null == indexOfA) {
+				// the batch does not need the precomputed table of A, so only already decoded keys are reused
+				Ed25519GroupElement A = item.getPublicKey().getAsGroupElement();
+				if (null == A) {
+					A = Ed25519PublicKeyCache.getDefault().find(rawEncodedA);
+				}
+
+				if (null == A) {
+					try {
+						A = new Ed25519EncodedGroupElement(rawEncodedA).decode();
+					} catch (final IllegalArgumentException e) {
+						return false;
+					}
+				}
+
+				indexOfA = numPoints++;
+				publicKeyIndices.put(item.getPublicKey(), indexOfA);
+				points[indexOfA] = A;
+				scalars[indexOfA] = new Ed25519EncodedFieldElement(new byte[32]);
+			}
+
+			// h = H(encodedR, encodedA, data) mod group order
+			final Ed25519EncodedFieldElement hModQ = new Ed25519EncodedFieldElement(Hashes.sha3_512(
+					rawEncodedR,
+					rawEncodedA,
+					item.getData())).modQ();
+
+			final byte[] rawZ = new byte[32];
+			final byte[] randomBytes = new byte[16];
+			RANDOM.nextBytes(randomBytes);
+			System.arraycopy(randomBytes, 0, rawZ, 0, 16);
+			final Ed25519EncodedFieldElement z = new Ed25519EncodedFieldElement(rawZ);
+
+			points[numPoints] = R;
+			scalars[numPoints++] = z;
+			scalars[indexOfA] = z.multiplyAndAddModQ(hModQ, scalars[indexOfA]);
+			sumOfZS = z.multiplyAndAddModQ(new Ed25519EncodedFieldElement(signature.getBinaryS()), sumOfZS);
 		}
 
-		return signature;
+		final Ed25519EncodedGroupElement left = Ed25519BasePointMultiplier.scalarMultiply(sumOfZS).encode();
+		final Ed25519EncodedGroupElement right = Ed25519GroupElement.multiScalarMultiplyVariableTime(
+				Arrays.copyOf(points, numPoints),
+				Arrays.copyOf(scalars, numPoints)).encode();
+		if (!left.equals(right)) {
+			return false;
+		}
+
+		// The batch equation only checks the prime order components: z * P for a point P of small order vanishes
+		// for some z while verify() compares the encodings exactly. So any small order component in A or R
+		// must make the batch fail and the items are verified separately.
+		for (int i = 0; i < numPoints; i++) {
+			if (!points[i].isInPrimeOrderSubgroup()) {
+				return false;
+			}
+		}
+
+		return true;
 	}
 
-	@Override
-	public boolean verify(final byte[] data, final Signature signature) {
+	/**
+	 * Decodes an encoded group element only if the encoding is the canonical one.
+	 * verify() compares the encoding of the calculated R to the raw R,
+	 * so a non canonical R can never be valid.
+	 *
+	 * @param rawEncoded The encoded group element.
+	 * @return The group element or null if the encoding is not canonical.
+	 */
+	private static Ed25519GroupElement decodeCanonical(final byte[] rawEncoded) {
+		// decode() returns the affine coordinates (Z = 1), so encoding them needs no inversion.
+		final Ed25519GroupElement g = new Ed25519EncodedGroupElement(rawEncoded).decode();
+		final byte[] s = g.getY().encode().getRaw();
+		s[s.length - 1] |= (g.getX().isNegative() ? (byte) 0x80 : 0);
+		return 1 == ArrayUtils.isEqualConstantTime(s, rawEncoded) ? g : null;
+	}
+
+	private boolean verify(final byte[] data, final Signature signature, final PublicKey publicKey) {
 		if (!this.isCanonicalSignature(signature)) {
 			return false;
 		}
 
-		if (1 == ArrayUtils.isEqualConstantTime(this.getKeyPair().getPublicKey().getRaw(), new byte[32])) {
+		if (1 == ArrayUtils.isEqualConstantTime(publicKey.getRaw(), new byte[32])) {
 			return false;
 		}
 
 		// h = H(encodedR, encodedA, data).
 		final byte[] rawEncodedR = signature.getBinaryR();
-		final byte[] rawEncodedA = this.getKeyPair().getPublicKey().getRaw();
+		final byte[] rawEncodedA = publicKey.getRaw();
 		final Ed25519EncodedFieldElement h = new Ed25519EncodedFieldElement(Hashes.sha3_512(
 				rawEncodedR,
 				rawEncodedA,
@@ -102,11 +249,10 @@ public class Ed25519DsaSigner implements DsaSigner {
 		// hReduced = h mod group order
 		final Ed25519EncodedFieldElement hModQ = h.modQ();
 
-		Ed25519GroupElement A = this.getKeyPair().getPublicKey().getAsGroupElement();
+		Ed25519GroupElement A = publicKey.getAsGroupElement();
 		if (null == A) {
-			// Must compute A.
-			A = new Ed25519EncodedGroupElement(rawEncodedA).decode();
-			A.precomputeForDoubleScalarMultiplication();
+			// Must compute A (or reuse it from a previous verification).
+			A = Ed25519PublicKeyCache.getDefault().getForDoubleScalarMultiplication(rawEncodedA);
 		}
 
 		// R = encodedS * B - H(encodedR, encodedA, data) * A
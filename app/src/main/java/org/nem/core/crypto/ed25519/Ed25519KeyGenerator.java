@@ -4,8 +4,8 @@ import org.nem.core.crypto.KeyGenerator;
 import org.nem.core.crypto.KeyPair;
 import org.nem.core.crypto.PrivateKey;
 import org.nem.core.crypto.PublicKey;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519BasePointMultiplier;
 import org.nem.core.crypto.ed25519.arithmetic.Ed25519EncodedFieldElement;
-import org.nem.core.crypto.ed25519.arithmetic.Ed25519Group;
 import org.nem.core.crypto.ed25519.arithmetic.Ed25519GroupElement;
 import org.nem.core.utils.ArrayUtils;
 
@@ -29,7 +29,8 @@ public class Ed25519KeyGenerator implements KeyGenerator {
 		// seed is the private key.
 		final PrivateKey privateKey = new PrivateKey(ArrayUtils.toBigInteger(seed));
 
-		return new KeyPair(privateKey);
+		// new KeyPair(privateKey) would create another key generator (and SecureRandom) just to derive the public key.
+		return new KeyPair(privateKey, this.derivePublicKey(privateKey));
 	}
 
 	@Override
@@ -37,7 +38,7 @@ public class Ed25519KeyGenerator implements KeyGenerator {
 		final Ed25519EncodedFieldElement a = Ed25519Utils.prepareForScalarMultiply(privateKey);
 
 		// a * base point is the public key.
-		final Ed25519GroupElement pubKey = Ed25519Group.BASE_POINT.scalarMultiply(a);
+		final Ed25519GroupElement pubKey = Ed25519BasePointMultiplier.scalarMultiply(a);
 
 		// verification of signatures will be about twice as fast when pre-calculating
 		// a suitable table of group elements.
@@ -0,0 +1,153 @@
+package org.nem.core.crypto.ed25519;
+
+import org.nem.core.crypto.PublicKey;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519EncodedGroupElement;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519GroupElement;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, thread-safe LRU cache of decoded public keys.
+ * <br>
+ * Each cached group element is precomputed for double scalar multiplication (signature verification)
+ * before it is put into the cache. The much larger table for single scalar multiplication (shared key
+ * derivation) is only computed on request.
+ */
+public class Ed25519PublicKeyCache {
+	private static final int DEFAULT_CAPACITY = 64;
+	private static final Ed25519PublicKeyCache DEFAULT = new Ed25519PublicKeyCache(DEFAULT_CAPACITY);
+
+	private final Map<PublicKey, Ed25519GroupElement> elements;
+	private long hits;
+	private long misses;
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param capacity The maximum number of cached public keys.
+	 */
+	public Ed25519PublicKeyCache(final int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+
+		this.elements = new LinkedHashMap<PublicKey, Ed25519GroupElement>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<PublicKey, Ed25519GroupElement> eldest) {
+				return this.size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Gets the cache shared by the signer and the block cipher.
+	 *
+	 * @return The shared cache.
+	 */
+	public static Ed25519PublicKeyCache getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Gets the decoded public key, precomputed for double scalar multiplication.
+	 *
+	 * @param rawPublicKey The raw public key.
+	 * @return The group element in P3 coordinate system.
+	 * @throws IllegalArgumentException if the public key is not a valid encoded group element.
+	 */
+	public Ed25519GroupElement getForDoubleScalarMultiplication(final byte[] rawPublicKey) {
+		final PublicKey key = new PublicKey(rawPublicKey.clone());
+		synchronized (this) {
+			final Ed25519GroupElement element = this.elements.get(key);
+			if (null != element) {
+				++this.hits;
+				return element;
+			}
+
+			++this.misses;
+		}
+
+		// decode outside of the lock, if two threads decode the same key concurrently the first one wins
+		final Ed25519GroupElement decoded = new Ed25519EncodedGroupElement(key.getRaw()).decode();
+		decoded.precomputeForDoubleScalarMultiplication();
+		synchronized (this) {
+			final Ed25519GroupElement element = this.elements.get(key);
+			if (null != element) {
+				return element;
+			}
+
+			this.elements.put(key, decoded);
+			return decoded;
+		}
+	}
+
+	/**
+	 * Looks up a decoded public key without decoding it on a miss.
+	 *
+	 * @param rawPublicKey The raw public key.
+	 * @return The group element in P3 coordinate system or null if the public key is not cached.
+	 */
+	public synchronized Ed25519GroupElement find(final byte[] rawPublicKey) {
+		final Ed25519GroupElement element = this.elements.get(new PublicKey(rawPublicKey));
+		if (null != element) {
+			++this.hits;
+		} else {
+			++this.misses;
+		}
+
+		return element;
+	}
+
+	/**
+	 * Gets the decoded public key, precomputed for single and double scalar multiplication.
+	 *
+	 * @param rawPublicKey The raw public key.
+	 * @return The group element in P3 coordinate system.
+	 * @throws IllegalArgumentException if the public key is not a valid encoded group element.
+	 */
+	public Ed25519GroupElement getForScalarMultiplication(final byte[] rawPublicKey) {
+		final Ed25519GroupElement element = this.getForDoubleScalarMultiplication(rawPublicKey);
+
+		// scalarMultiply() locks on the element as well, so it never sees a partially filled table
+		synchronized (element) {
+			element.precomputeForScalarMultiplication();
+		}
+
+		return element;
+	}
+
+	/**
+	 * Gets the number of lookups that found the public key in the cache.
+	 *
+	 * @return The number of hits.
+	 */
+	public synchronized long getHitCount() {
+		return this.hits;
+	}
+
+	/**
+	 * Gets the number of lookups that had to decode the public key.
+	 *
+	 * @return The number of misses.
+	 */
+	public synchronized long getMissCount() {
+		return this.misses;
+	}
+
+	/**
+	 * Gets the number of cached public keys.
+	 *
+	 * @return The number of cached public keys.
+	 */
+	public synchronized int size() {
+		return this.elements.size();
+	}
+
+	/**
+	 * Removes all public keys from the cache.
+	 */
+	public synchronized void clear() {
+		this.elements.clear();
+	}
+}
@@ -0,0 +1,146 @@
+package org.nem.core.crypto.ed25519;
+
+import org.nem.core.crypto.Hash;
+import org.nem.core.crypto.Hashes;
+import org.nem.core.crypto.PrivateKey;
+import org.nem.core.crypto.PublicKey;
+import org.nem.core.utils.ArrayUtils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, thread-safe cache of encoded Diffie-Hellman points (private key * public key).
+ * <br>
+ * Every message exchanged by the same two accounts is encrypted with a key derived from the same point,
+ * only the salt differs. Caching the point saves one scalar multiplication per message.
+ * The private key is not stored, entries are looked up by the hash of both keys.
+ * The cached points are secret, so clear() must be called as soon as the private keys are no longer available.
+ * Every clear() starts a new epoch. A point calculated before clear() is dropped by put(), so a calculation that
+ * is still running during clear() cannot bring its point back into the cache.
+ */
+public class Ed25519SharedPointCache {
+	private final Map<Hash, byte[]> points;
+	private long epoch;
+	private long hits;
+	private long misses;
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param capacity The maximum number of cached points.
+	 */
+	public Ed25519SharedPointCache(final int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+
+		this.points = new LinkedHashMap<Hash, byte[]>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Hash, byte[]> eldest) {
+				if (this.size() <= capacity) {
+					return false;
+				}
+
+				Arrays.fill(eldest.getValue(), (byte) 0);
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Gets a copy of the cached point for the given keys.
+	 *
+	 * @param privateKey The private key.
+	 * @param publicKey  The public key.
+	 * @return The encoded point or null if it is not cached.
+	 */
+	public byte[] get(final PrivateKey privateKey, final PublicKey publicKey) {
+		final Hash id = getId(privateKey, publicKey);
+		synchronized (this) {
+			final byte[] point = this.points.get(id);
+			if (null == point) {
+				++this.misses;
+				return null;
+			}
+
+			++this.hits;
+			return point.clone();
+		}
+	}
+
+	/**
+	 * Gets the current epoch. It must be read before the point to cache is calculated.
+	 *
+	 * @return The current epoch.
+	 */
+	public synchronized long getEpoch() {
+		return this.epoch;
+	}
+
+	/**
+	 * Caches the point for the given keys, unless the cache has been cleared since the given epoch.
+	 *
+	 * @param privateKey The private key.
+	 * @param publicKey  The public key.
+	 * @param point      The encoded point (private key * public key).
+	 * @param epoch      The epoch read before the point was calculated.
+	 */
+	public void put(final PrivateKey privateKey, final PublicKey publicKey, final byte[] point, final long epoch) {
+		final Hash id = getId(privateKey, publicKey);
+		synchronized (this) {
+			if (epoch != this.epoch) {
+				return;
+			}
+
+			final byte[] previous = this.points.put(id, point.clone());
+			if (null != previous) {
+				Arrays.fill(previous, (byte) 0);
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of lookups that found a cached point.
+	 *
+	 * @return The number of hits.
+	 */
+	public synchronized long getHitCount() {
+		return this.hits;
+	}
+
+	/**
+	 * Gets the number of lookups that did not find a cached point.
+	 *
+	 * @return The number of misses.
+	 */
+	public synchronized long getMissCount() {
+		return this.misses;
+	}
+
+	/**
+	 * Gets the number of cached points.
+	 *
+	 * @return The number of cached points.
+	 */
+	public synchronized int size() {
+		return this.points.size();
+	}
+
+	/**
+	 * Overwrites all cached points with zeros and removes them. Points calculated before are not cached anymore.
+	 */
+	public synchronized void clear() {
+		++this.epoch;
+		for (final byte[] point : this.points.values()) {
+			Arrays.fill(point, (byte) 0);
+		}
+
+		this.points.clear();
+	}
+
+	private static Hash getId(final PrivateKey privateKey, final PublicKey publicKey) {
+		return new Hash(Hashes.sha3_256(ArrayUtils.toByteArray(privateKey.getRaw(), 32), publicKey.getRaw()));
+	}
+}
@@ -0,0 +1,115 @@
+package org.nem.core.crypto.ed25519;
+
+import org.nem.core.crypto.CryptoException;
+import org.nem.core.crypto.Hashes;
+import org.nem.core.crypto.PrivateKey;
+import org.nem.core.crypto.PublicKey;
+import org.nem.core.crypto.Signature;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519BasePointMultiplier;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519EncodedFieldElement;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519EncodedGroupElement;
+import org.nem.core.utils.ArrayUtils;
+
+import javax.security.auth.Destroyable;
+import java.util.Arrays;
+
+/**
+ * Ed25519 private key expanded for signing.
+ * <br>
+ * The private key is hashed once. The clamped lower half of the hash (the secret scalar a), the upper half
+ * (the nonce prefix) and the public key a * B are kept, so signing only hashes the data and needs a single
+ * base point multiplication.
+ * <br>
+ * The expanded key is secret. destroy() overwrites it as soon as no more signatures are needed.
+ */
+public class Ed25519SigningKey implements Destroyable {
+	private final byte[] scalar;
+	private final byte[] prefix;
+	private final Ed25519EncodedFieldElement encodedScalar;
+	private final PublicKey publicKey;
+	private boolean destroyed;
+
+	/**
+	 * Creates a signing key, the public key is derived from the private key.
+	 *
+	 * @param privateKey The private key.
+	 */
+	public Ed25519SigningKey(final PrivateKey privateKey) {
+		this(privateKey, null);
+	}
+
+	/**
+	 * Creates a signing key.
+	 *
+	 * @param privateKey The private key.
+	 * @param publicKey The public key belonging to the private key or null to derive it.
+	 */
+	Ed25519SigningKey(final PrivateKey privateKey, final PublicKey publicKey) {
+		final byte[] rawPrivateKey = ArrayUtils.toByteArray(privateKey.getRaw(), 32);
+		final byte[] hash = Hashes.sha3_512(rawPrivateKey);
+		this.scalar = Arrays.copyOfRange(hash, 0, 32);
+		this.prefix = Arrays.copyOfRange(hash, 32, 64);
+		Arrays.fill(rawPrivateKey, (byte) 0);
+		Arrays.fill(hash, (byte) 0);
+
+		Ed25519Utils.clamp(this.scalar);
+		this.encodedScalar = new Ed25519EncodedFieldElement(this.scalar);
+		this.publicKey = null != publicKey
+				? publicKey
+				: new PublicKey(Ed25519BasePointMultiplier.scalarMultiply(this.encodedScalar).encode().getRaw());
+	}
+
+	/**
+	 * Gets the public key.
+	 *
+	 * @return The public key.
+	 */
+	public PublicKey getPublicKey() {
+		return this.publicKey;
+	}
+
+	/**
+	 * Signs the data. Calls are serialized with destroy(), concurrent calls do not run in parallel.
+	 *
+	 * @param data The data to sign.
+	 * @return The signature.
+	 * @throws CryptoException if the key has been destroyed.
+	 */
+	public synchronized Signature sign(final byte[] data) {
+		if (this.destroyed) {
+			throw new CryptoException("cannot sign with a destroyed key");
+		}
+
+		// r = H(prefix, data) mod group order
+		final Ed25519EncodedFieldElement rModQ = new Ed25519EncodedFieldElement(Hashes.sha3_512(this.prefix, data)).modQ();
+
+		// R = rModQ * base point.
+		final Ed25519EncodedGroupElement encodedR = Ed25519BasePointMultiplier.scalarMultiply(rModQ).encode();
+
+		// S = (r + H(encodedR, encodedA, data) * a) mod group order where
+		// encodedR and encodedA are the little endian encodings of the group element R and the public key A.
+		final Ed25519EncodedFieldElement hModQ = new Ed25519EncodedFieldElement(Hashes.sha3_512(
+				encodedR.getRaw(),
+				this.publicKey.getRaw(),
+				data)).modQ();
+		final Ed25519EncodedFieldElement encodedS = hModQ.multiplyAndAddModQ(this.encodedScalar, rModQ);
+
+		// Signature is (encodedR, encodedS)
+		return new Signature(encodedR.getRaw(), encodedS.getRaw());
+	}
+
+	/**
+	 * Overwrites the expanded private key with zeros. The key cannot sign afterwards.
+	 */
+	@Override
+	public synchronized void destroy() {
+		Arrays.fill(this.scalar, (byte) 0);
+		Arrays.fill(this.prefix, (byte) 0);
+		this.destroyed = true;
+	}
+
+	@Override
+	public synchronized boolean isDestroyed() {
+		return this.destroyed;
+	}
+}
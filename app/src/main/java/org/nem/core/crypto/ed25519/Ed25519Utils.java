@@ -22,9 +22,19 @@ public class Ed25519Utils {
 	public static Ed25519EncodedFieldElement prepareForScalarMultiply(final PrivateKey key) {
 		final byte[] hash = Hashes.sha3_512(ArrayUtils.toByteArray(key.getRaw(), 32));
 		final byte[] a = Arrays.copyOfRange(hash, 0, 32);
+		clamp(a);
+		return new Ed25519EncodedFieldElement(a);
+	}
+
+	/**
+	 * Clamps the lower 32 bytes of a private key hash: clears the lowest 3 bits (a multiple of the cofactor 8),
+	 * clears the highest bit and sets the second highest bit.
+	 *
+	 * @param a The 32 bytes to clamp in place.
+	 */
+	static void clamp(final byte[] a) {
 		a[31] &= 0x7F;
 		a[31] |= 0x40;
 		a[0] &= 0xF8;
-		return new Ed25519EncodedFieldElement(a);
 	}
 }
@@ -0,0 +1,144 @@
+package org.nem.core.crypto.ed25519.arithmetic;
+
+/**
+ * Fixed-base scalar multiplication with the base point of Ed25519.
+ * <br>
+ * The scalar is recoded into 43 signed radix 2^6 digits between -32 and 32.
+ * The table holds (k + 1) * 2^(12 * i) * B for k in {0,...,31} and i in {0,...,21}, so as in
+ * Ed25519GroupElement.scalarMultiply() only every second digit position has its own row and
+ * the odd positions are covered by 6 shared doublings. This needs 43 additions
+ * instead of the 64 additions of the generic radix 16 table.
+ * <br>
+ * The table is immutable, it is built lazily on first use and shared by all threads.
+ */
+public final class Ed25519BasePointMultiplier {
+	private static final int WINDOW_BITS = 6;
+	private static final int NUM_DIGITS = 43;
+	private static final int NUM_ROWS = (NUM_DIGITS + 1) / 2;
+	private static final int NUM_MULTIPLES = 1 << (WINDOW_BITS - 1);
+
+	private Ed25519BasePointMultiplier() {
+	}
+
+	/**
+	 * h = a * B where a = a[0]+256*a[1]+...+256^31 a[31] and
+	 * B is the base point.
+	 * Constant time.
+	 *
+	 * @param a The encoded field element.
+	 * @return The resulting group element in P3 coordinate system.
+	 */
+	public static Ed25519GroupElement scalarMultiply(final Ed25519EncodedFieldElement a) {
+		final Ed25519GroupElement[][] table = TableHolder.TABLE;
+		final byte[] e = toRadix64(a);
+		final Ed25519MutableGroupElement h = new Ed25519MutableGroupElement();
+		for (int i = 1; i < NUM_DIGITS; i += 2) {
+			h.selectAndAdd(table[i / 2], e[i]);
+			h.toP3();
+		}
+
+		for (int i = 0; i < WINDOW_BITS - 1; i++) {
+			h.dbl();
+			h.toP2();
+		}
+
+		h.dbl();
+		h.toP3();
+
+		for (int i = 0; i < NUM_DIGITS; i += 2) {
+			h.selectAndAdd(table[i / 2], e[i]);
+			h.toP3();
+		}
+
+		return h.getP3();
+	}
+
+	/**
+	 * Convert a to signed 2^6 bit representation.
+	 *
+	 * @param encoded The encoded field element.
+	 * @return 43 bytes, each between -32 and 32
+	 */
+	private static byte[] toRadix64(final Ed25519EncodedFieldElement encoded) {
+		final byte[] a = encoded.getRaw();
+		final byte[] e = new byte[NUM_DIGITS];
+		for (int i = 0; i < NUM_DIGITS; i++) {
+			final int bit = WINDOW_BITS * i;
+			final int lo = a[bit >> 3] & 0xFF;
+			final int hi = (bit >> 3) + 1 < 32 ? a[(bit >> 3) + 1] & 0xFF : 0;
+			e[i] = (byte) (((lo | (hi << 8)) >> (bit & 7)) & 63);
+		}
+
+		/* each e[i] is between 0 and 63 */
+		/* e[42] is between 0 and 15 */
+		int carry = 0;
+		for (int i = 0; i < NUM_DIGITS - 1; i++) {
+			e[i] += carry;
+			carry = e[i] + 32;
+			carry >>= WINDOW_BITS;
+			e[i] -= carry << WINDOW_BITS;
+		}
+
+		e[NUM_DIGITS - 1] += carry;
+		return e;
+	}
+
+	private static Ed25519GroupElement[][] computeTable() {
+		final Ed25519GroupElement[][] table = new Ed25519GroupElement[NUM_ROWS][];
+		Ed25519GroupElement Bi = Ed25519Group.BASE_POINT;
+		for (int i = 0; i < NUM_ROWS; i++) {
+			final Ed25519GroupElement BiCached = Bi.toCached();
+			final Ed25519GroupElement[] multiples = new Ed25519GroupElement[NUM_MULTIPLES];
+			multiples[0] = Bi;
+			for (int k = 1; k < NUM_MULTIPLES; k++) {
+				multiples[k] = multiples[k - 1].add(BiCached).toP3();
+			}
+
+			table[i] = toPrecomputed(multiples);
+
+			// next row: 2^12 * Bi = 2^7 * (32 * Bi)
+			Bi = multiples[NUM_MULTIPLES - 1];
+			for (int k = 0; k < WINDOW_BITS + 1; k++) {
+				Bi = Bi.dbl().toP3();
+			}
+		}
+
+		return table;
+	}
+
+	/**
+	 * Converts group elements in P3 coordinate system to PRECOMPUTED coordinate system.
+	 * All Z coordinates are inverted with a single field inversion (Montgomery's trick).
+	 *
+	 * @param elements The group elements in P3 coordinate system.
+	 * @return The group elements in PRECOMPUTED coordinate system.
+	 */
+	private static Ed25519GroupElement[] toPrecomputed(final Ed25519GroupElement[] elements) {
+		final int n = elements.length;
+		final Ed25519FieldElement[] products = new Ed25519FieldElement[n];
+		products[0] = elements[0].getZ();
+		for (int k = 1; k < n; k++) {
+			products[k] = products[k - 1].multiply(elements[k].getZ());
+		}
+
+		final Ed25519GroupElement[] result = new Ed25519GroupElement[n];
+		Ed25519FieldElement inverse = products[n - 1].invert();
+		for (int k = n - 1; k >= 0; k--) {
+			final Ed25519FieldElement zInverse = 0 == k ? inverse : inverse.multiply(products[k - 1]);
+			inverse = inverse.multiply(elements[k].getZ());
+
+			final Ed25519FieldElement x = elements[k].getX().multiply(zInverse);
+			final Ed25519FieldElement y = elements[k].getY().multiply(zInverse);
+			result[k] = Ed25519GroupElement.precomputed(y.add(x), y.subtract(x), x.multiply(y).multiply(Ed25519Field.D_Times_TWO));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Initialization-on-demand holder, the table is computed on first access.
+	 */
+	private static class TableHolder {
+		private static final Ed25519GroupElement[][] TABLE = computeTable();
+	}
+}
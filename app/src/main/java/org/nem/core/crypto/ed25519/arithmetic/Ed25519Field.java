@@ -1,7 +1,5 @@
 package org.nem.core.crypto.ed25519.arithmetic;
 
-import android.util.Log;
-
 import org.nem.core.utils.ArrayUtils;
 import org.nem.core.utils.HexEncoder;
 
@@ -27,20 +25,15 @@ public final class Ed25519Field {
 	public static Ed25519FieldElement I;
 
 	static {
-		try {
-			ZERO = getFieldElement(0);
-			ONE = getFieldElement(1);
-			TWO = getFieldElement(2);
-			final byte[] bytes = HexEncoder.getBytes("7fffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffed");
-			P = new BigInteger(bytes);
-			D = getD();
-			D_Times_TWO = D.multiply(TWO);
-			I = new Ed25519EncodedFieldElement(HexEncoder.getBytes(
-					"b0a00e4a271beec478e42fad0618432fa7d7fb3d99004d2b0bdfc14f8024832b")).decode();
-		} catch (Throwable throwable) {
-			Log.e(Ed25519Field.class.getSimpleName(), "Static init EXCEPTION", throwable);
-			throw throwable;
-		}
+		ZERO = getFieldElement(0);
+		ONE = getFieldElement(1);
+		TWO = getFieldElement(2);
+		final byte[] bytes = HexEncoder.getBytes("7fffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffed");
+		P = new BigInteger(bytes);
+		D = getD();
+		D_Times_TWO = D.multiply(TWO);
+		I = new Ed25519EncodedFieldElement(HexEncoder.getBytes(
+				"b0a00e4a271beec478e42fad0618432fa7d7fb3d99004d2b0bdfc14f8024832b")).decode();
 	}
 
 	private static Ed25519FieldElement getFieldElement(final int value) { // ok
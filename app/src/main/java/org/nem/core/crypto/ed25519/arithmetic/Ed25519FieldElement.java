@@ -114,12 +114,56 @@ public class Ed25519FieldElement {
 		return new Ed25519FieldElement(h);
 	}
 
+	/**
+	 * Adds two field elements without allocating.
+	 * <b>h = f + g</b>, h may be the same array as f or g.
+	 * The bounds are the same as for add.
+	 *
+	 * @param f The first summand.
+	 * @param g The second summand.
+	 * @param h The array receiving the sum.
+	 */
+	static void addInto(final int[] f, final int[] g, final int[] h) {
+		for (int i = 0; i < 10; i++) {
+			h[i] = f[i] + g[i];
+		}
+	}
+
+	/**
+	 * Subtracts two field elements without allocating.
+	 * <b>h = f - g</b>, h may be the same array as f or g.
+	 * The bounds are the same as for subtract.
+	 *
+	 * @param f The minuend.
+	 * @param g The subtrahend.
+	 * @param h The array receiving the difference.
+	 */
+	static void subtractInto(final int[] f, final int[] g, final int[] h) {
+		for (int i = 0; i < 10; i++) {
+			h[i] = f[i] - g[i];
+		}
+	}
+
 	/**
 	 * Multiplies this field element with the given field element and returns the result.
 	 * <b>h = this * g</b>
+	 * See multiplyInto for preconditions and implementation strategy.
+	 *
+	 * @param g The field element to multiply.
+	 * @return The (reasonably reduced) field element this * val.
+	 */
+	public Ed25519FieldElement multiply(final Ed25519FieldElement g) { // ok
+		final int[] h = new int[10];
+		multiplyInto(this.values, g.values, h);
+		return new Ed25519FieldElement(h);
+	}
+
+	/**
+	 * Multiplies two field elements in 2^25.5 bit representation without allocating.
+	 * <b>h = f * g</b>, h may be the same array as f or g.
 	 * Preconditions:
 	 * <pre>
-	 *     |this| bounded by 1.65*2^26,1.65*2^25,1.65*2^26,1.65*2^25,etc.
+	 *        |f| bounded by 1.65*2^26,1.65*2^25,1.65*2^26,1.65*2^25,etc.
 	 *        |g| bounded by 1.65*2^26,1.65*2^25,1.65*2^26,1.65*2^25,etc.
 	 * Postconditions:
 	 *        |h| bounded by 1.01*2^25,1.01*2^24,1.01*2^25,1.01*2^24,etc.
@@ -142,21 +186,167 @@ public class Ed25519FieldElement {
 	 * <br>
 	 * With tighter constraints on inputs can squeeze carries into int32.
 	 *
-	 * @param g The field element to multiply.
-	 * @return The (reasonably reduced) field element this * val.
+	 * @param f The first factor.
+	 * @param g The second factor.
+	 * @param h The array receiving the (reasonably reduced) product.
 	 */
-	public Ed25519FieldElement multiply(final Ed25519FieldElement g) { // ok
-		MultiplyHValuesCalculator hCalc = new MultiplyHValuesCalculator(this.values, g.values);
-		long h0 = hCalc.h0;
-		long h1 = hCalc.h1;
-		long h2 = hCalc.h2;
-		long h3 = hCalc.h3;
-		long h4 = hCalc.h4;
-		long h5 = hCalc.h5;
-		long h6 = hCalc.h6;
-		long h7 = hCalc.h7;
-		long h8 = hCalc.h8;
-		long h9 = hCalc.h9;
+	static void multiplyInto(final int[] f, final int[] g, final int[] h) {
+		final int f0 = f[0];
+		final int f1 = f[1];
+		final int f2 = f[2];
+		final int f3 = f[3];
+		final int f4 = f[4];
+		final int f5 = f[5];
+		final int f6 = f[6];
+		final int f7 = f[7];
+		final int f8 = f[8];
+		final int f9 = f[9];
+		final int g0 = g[0];
+		final int g1 = g[1];
+		final int g2 = g[2];
+		final int g3 = g[3];
+		final int g4 = g[4];
+		final int g5 = g[5];
+		final int g6 = g[6];
+		final int g7 = g[7];
+		final int g8 = g[8];
+		final int g9 = g[9];
+		final int g1_19 = 19 * g1; /* 1.959375*2^29 */
+		final int g2_19 = 19 * g2; /* 1.959375*2^30; still ok */
+		final int g3_19 = 19 * g3;
+		final int g4_19 = 19 * g4;
+		final int g5_19 = 19 * g5;
+		final int g6_19 = 19 * g6;
+		final int g7_19 = 19 * g7;
+		final int g8_19 = 19 * g8;
+		final int g9_19 = 19 * g9;
+		final int f1_2 = 2 * f1;
+		final int f3_2 = 2 * f3;
+		final int f5_2 = 2 * f5;
+		final int f7_2 = 2 * f7;
+		final int f9_2 = 2 * f9;
+		final long f0g0 = f0 * (long) g0;
+		final long f0g1 = f0 * (long) g1;
+		final long f0g2 = f0 * (long) g2;
+		final long f0g3 = f0 * (long) g3;
+		final long f0g4 = f0 * (long) g4;
+		final long f0g5 = f0 * (long) g5;
+		final long f0g6 = f0 * (long) g6;
+		final long f0g7 = f0 * (long) g7;
+		final long f0g8 = f0 * (long) g8;
+		final long f0g9 = f0 * (long) g9;
+		final long f1g0 = f1 * (long) g0;
+		final long f1g1_2 = f1_2 * (long) g1;
+		final long f1g2 = f1 * (long) g2;
+		final long f1g3_2 = f1_2 * (long) g3;
+		final long f1g4 = f1 * (long) g4;
+		final long f1g5_2 = f1_2 * (long) g5;
+		final long f1g6 = f1 * (long) g6;
+		final long f1g7_2 = f1_2 * (long) g7;
+		final long f1g8 = f1 * (long) g8;
+		final long f1g9_38 = f1_2 * (long) g9_19;
+		final long f2g0 = f2 * (long) g0;
+		final long f2g1 = f2 * (long) g1;
+		final long f2g2 = f2 * (long) g2;
+		final long f2g3 = f2 * (long) g3;
+		final long f2g4 = f2 * (long) g4;
+		final long f2g5 = f2 * (long) g5;
+		final long f2g6 = f2 * (long) g6;
+		final long f2g7 = f2 * (long) g7;
+		final long f2g8_19 = f2 * (long) g8_19;
+		final long f2g9_19 = f2 * (long) g9_19;
+		final long f3g0 = f3 * (long) g0;
+		final long f3g1_2 = f3_2 * (long) g1;
+		final long f3g2 = f3 * (long) g2;
+		final long f3g3_2 = f3_2 * (long) g3;
+		final long f3g4 = f3 * (long) g4;
+		final long f3g5_2 = f3_2 * (long) g5;
+		final long f3g6 = f3 * (long) g6;
+		final long f3g7_38 = f3_2 * (long) g7_19;
+		final long f3g8_19 = f3 * (long) g8_19;
+		final long f3g9_38 = f3_2 * (long) g9_19;
+		final long f4g0 = f4 * (long) g0;
+		final long f4g1 = f4 * (long) g1;
+		final long f4g2 = f4 * (long) g2;
+		final long f4g3 = f4 * (long) g3;
+		final long f4g4 = f4 * (long) g4;
+		final long f4g5 = f4 * (long) g5;
+		final long f4g6_19 = f4 * (long) g6_19;
+		final long f4g7_19 = f4 * (long) g7_19;
+		final long f4g8_19 = f4 * (long) g8_19;
+		final long f4g9_19 = f4 * (long) g9_19;
+		final long f5g0 = f5 * (long) g0;
+		final long f5g1_2 = f5_2 * (long) g1;
+		final long f5g2 = f5 * (long) g2;
+		final long f5g3_2 = f5_2 * (long) g3;
+		final long f5g4 = f5 * (long) g4;
+		final long f5g5_38 = f5_2 * (long) g5_19;
+		final long f5g6_19 = f5 * (long) g6_19;
+		final long f5g7_38 = f5_2 * (long) g7_19;
+		final long f5g8_19 = f5 * (long) g8_19;
+		final long f5g9_38 = f5_2 * (long) g9_19;
+		final long f6g0 = f6 * (long) g0;
+		final long f6g1 = f6 * (long) g1;
+		final long f6g2 = f6 * (long) g2;
+		final long f6g3 = f6 * (long) g3;
+		final long f6g4_19 = f6 * (long) g4_19;
+		final long f6g5_19 = f6 * (long) g5_19;
+		final long f6g6_19 = f6 * (long) g6_19;
+		final long f6g7_19 = f6 * (long) g7_19;
+		final long f6g8_19 = f6 * (long) g8_19;
+		final long f6g9_19 = f6 * (long) g9_19;
+		final long f7g0 = f7 * (long) g0;
+		final long f7g1_2 = f7_2 * (long) g1;
+		final long f7g2 = f7 * (long) g2;
+		final long f7g3_38 = f7_2 * (long) g3_19;
+		final long f7g4_19 = f7 * (long) g4_19;
+		final long f7g5_38 = f7_2 * (long) g5_19;
+		final long f7g6_19 = f7 * (long) g6_19;
+		final long f7g7_38 = f7_2 * (long) g7_19;
+		final long f7g8_19 = f7 * (long) g8_19;
+		final long f7g9_38 = f7_2 * (long) g9_19;
+		final long f8g0 = f8 * (long) g0;
+		final long f8g1 = f8 * (long) g1;
+		final long f8g2_19 = f8 * (long) g2_19;
+		final long f8g3_19 = f8 * (long) g3_19;
+		final long f8g4_19 = f8 * (long) g4_19;
+		final long f8g5_19 = f8 * (long) g5_19;
+		final long f8g6_19 = f8 * (long) g6_19;
+		final long f8g7_19 = f8 * (long) g7_19;
+		final long f8g8_19 = f8 * (long) g8_19;
+		final long f8g9_19 = f8 * (long) g9_19;
+		final long f9g0 = f9 * (long) g0;
+		final long f9g1_38 = f9_2 * (long) g1_19;
+		final long f9g2_19 = f9 * (long) g2_19;
+		final long f9g3_38 = f9_2 * (long) g3_19;
+		final long f9g4_19 = f9 * (long) g4_19;
+		final long f9g5_38 = f9_2 * (long) g5_19;
+		final long f9g6_19 = f9 * (long) g6_19;
+		final long f9g7_38 = f9_2 * (long) g7_19;
+		final long f9g8_19 = f9 * (long) g8_19;
+		final long f9g9_38 = f9_2 * (long) g9_19;
+
+		/**
+		 * Remember: 2^255 congruent 19 modulo p.
+		 * h = h0 * 2^0 + h1 * 2^26 + h2 * 2^(26+25) + h3 * 2^(26+25+26) + ... + h9 * 2^(5*26+5*25).
+		 * So to get the real number we would have to multiply the coefficients with the corresponding powers of 2.
+		 * To get an idea what is going on below, look at the calculation of h0:
+		 * h0 is the coefficient to the power 2^0 so it collects (sums) all products that have the power 2^0.
+		 * f0 * g0 really is f0 * 2^0 * g0 * 2^0 = (f0 * g0) * 2^0.
+		 * f1 * g9 really is f1 * 2^26 * g9 * 2^230 = f1 * g9 * 2^256 = 2 * f1 * g9 * 2^255 congruent 2 * 19 * f1 * g9 * 2^0 modulo p.
+		 * f2 * g8 really is f2 * 2^51 * g8 * 2^204 = f2 * g8 * 2^255 congruent 19 * f2 * g8 * 2^0 modulo p.
+		 * and so on...
+		 */
+		long h0 = f0g0 + f1g9_38 + f2g8_19 + f3g7_38 + f4g6_19 + f5g5_38 + f6g4_19 + f7g3_38 + f8g2_19 + f9g1_38;
+		long h1 = f0g1 + f1g0 + f2g9_19 + f3g8_19 + f4g7_19 + f5g6_19 + f6g5_19 + f7g4_19 + f8g3_19 + f9g2_19;
+		long h2 = f0g2 + f1g1_2 + f2g0 + f3g9_38 + f4g8_19 + f5g7_38 + f6g6_19 + f7g5_38 + f8g4_19 + f9g3_38;
+		long h3 = f0g3 + f1g2 + f2g1 + f3g0 + f4g9_19 + f5g8_19 + f6g7_19 + f7g6_19 + f8g5_19 + f9g4_19;
+		long h4 = f0g4 + f1g3_2 + f2g2 + f3g1_2 + f4g0 + f5g9_38 + f6g8_19 + f7g7_38 + f8g6_19 + f9g5_38;
+		long h5 = f0g5 + f1g4 + f2g3 + f3g2 + f4g1 + f5g0 + f6g9_19 + f7g8_19 + f8g7_19 + f9g6_19;
+		long h6 = f0g6 + f1g5_2 + f2g4 + f3g3_2 + f4g2 + f5g1_2 + f6g0 + f7g9_38 + f8g8_19 + f9g7_38;
+		long h7 = f0g7 + f1g6 + f2g5 + f3g4 + f4g3 + f5g2 + f6g1 + f7g0 + f8g9_19 + f9g8_19;
+		long h8 = f0g8 + f1g7_2 + f2g6 + f3g5_2 + f4g4 + f5g3_2 + f6g2 + f7g1_2 + f8g0 + f9g9_38;
+		long h9 = f0g9 + f1g8 + f2g7 + f3g6 + f4g5 + f5g4 + f6g3 + f7g2 + f8g1 + f9g0;
 
 		long carry0;
 		final long carry1;
@@ -243,7 +433,6 @@ public class Ed25519FieldElement {
 		/* |h0| <= 2^25; from now on fits into int32 unchanged */
 		/* |h1| <= 1.01*2^24 */
 
-		final int[] h = new int[10];
 		h[0] = (int) h0;
 		h[1] = (int) h1;
 		h[2] = (int) h2;
@@ -254,8 +443,6 @@ public class Ed25519FieldElement {
 		h[7] = (int) h7;
 		h[8] = (int) h8;
 		h[9] = (int) h9;
-
-		return new Ed25519FieldElement(h);
 	}
 
 	/**
@@ -267,12 +454,14 @@ public class Ed25519FieldElement {
 	 * Postconditions:
 	 *        |h| bounded by 1.01*2^25,1.01*2^24,1.01*2^25,1.01*2^24,etc.
 	 * </pre>
-	 * See multiply for discussion of implementation strategy.
+	 * See multiplyInto for discussion of implementation strategy.
 	 *
 	 * @return The square of this field element.
 	 */
 	public Ed25519FieldElement square() { // ok
-		return this.squareAndOptionalDouble(false);
+		final int[] h = new int[10];
+		squareAndOptionalDoubleInto(this.values, h, false);
+		return new Ed25519FieldElement(h);
 	}
 
 	/**
@@ -284,39 +473,65 @@ public class Ed25519FieldElement {
 	 * Postconditions:
 	 *        |h| bounded by 1.01*2^25,1.01*2^24,1.01*2^25,1.01*2^24,etc.
 	 * </pre>
-	 * See multiply for discussion of implementation strategy.
+	 * See multiplyInto for discussion of implementation strategy.
 	 *
 	 * @return The square of this field element times 2.
 	 */
 	public Ed25519FieldElement squareAndDouble() { // ok
-		return this.squareAndOptionalDouble(true);
+		final int[] h = new int[10];
+		squareAndOptionalDoubleInto(this.values, h, true);
+		return new Ed25519FieldElement(h);
+	}
+
+	/**
+	 * Squares a field element without allocating.
+	 * <b>h = f * f</b>, h may be the same array as f.
+	 *
+	 * @param f The field element to square.
+	 * @param h The array receiving the result.
+	 */
+	static void squareInto(final int[] f, final int[] h) {
+		squareAndOptionalDoubleInto(f, h, false);
+	}
+
+	/**
+	 * Squares a field element and multiplies by two without allocating.
+	 * <b>h = 2 * f * f</b>, h may be the same array as f.
+	 *
+	 * @param f The field element to square.
+	 * @param h The array receiving the result.
+	 */
+	static void squareAndDoubleInto(final int[] f, final int[] h) {
+		squareAndOptionalDoubleInto(f, h, true);
 	}
 
 	/**
-	 * Squares this field element, optionally multiplies by two and returns the result.
-	 * <b>h = 2 * this * this</b> if dbl is true or
-	 * <b>h = this * this</b> if dbl is false.
+	 * Squares a field element and optionally multiplies by two without allocating.
+	 * <b>h = 2 * f * f</b> if dbl is true or
+	 * <b>h = f * f</b> if dbl is false.
 	 * <pre>
 	 * Preconditions:
-	 *     |this| bounded by 1.65*2^26,1.65*2^25,1.65*2^26,1.65*2^25,etc.
+	 *        |f| bounded by 1.65*2^26,1.65*2^25,1.65*2^26,1.65*2^25,etc.
 	 * Postconditions:
 	 *        |h| bounded by 1.01*2^25,1.01*2^24,1.01*2^25,1.01*2^24,etc.
 	 * </pre>
-	 * See multiply for discussion of implementation strategy.
+	 * See multiplyInto for discussion of implementation strategy.
 	 *
-	 * @return The square of this field element times 2.
+	 * @param f   The field element to square.
+	 * @param h   The array receiving the result, may be the same array as f.
+	 * @param dbl true if the square should be multiplied by two.
 	 */
-	private Ed25519FieldElement squareAndOptionalDouble(final boolean dbl) { // OK
-		final int f0 = this.values[0];
-		final int f1 = this.values[1];
-		final int f2 = this.values[2];
-		final int f3 = this.values[3];
-		final int f4 = this.values[4];
-		final int f5 = this.values[5];
-		final int f6 = this.values[6];
-		final int f7 = this.values[7];
-		final int f8 = this.values[8];
-		final int f9 = this.values[9];
+	private static void squareAndOptionalDoubleInto(final int[] f, final int[] h, final boolean dbl) {
+		final int f0 = f[0];
+		final int f1 = f[1];
+		final int f2 = f[2];
+		final int f3 = f[3];
+		final int f4 = f[4];
+		final int f5 = f[5];
+		final int f6 = f[6];
+		final int f7 = f[7];
+		final int f8 = f[8];
+		final int f9 = f[9];
 		final int f0_2 = 2 * f0;
 		final int f1_2 = 2 * f1;
 		final int f2_2 = 2 * f2;
@@ -462,7 +677,6 @@ public class Ed25519FieldElement {
 		h1 += carry0;
 		h0 -= carry0 << 26;
 
-		final int[] h = new int[10];
 		h[0] = (int) h0;
 		h[1] = (int) h1;
 		h[2] = (int) h2;
@@ -473,7 +687,6 @@ public class Ed25519FieldElement {
 		h[7] = (int) h7;
 		h[8] = (int) h8;
 		h[9] = (int) h9;
-		return new Ed25519FieldElement(h);
 	}
 
 	/**
@@ -484,158 +697,163 @@ public class Ed25519FieldElement {
 	 * @return The inverse of this field element.
 	 */
 	public Ed25519FieldElement invert() { // ok
-		Ed25519FieldElement f0, f1;
+		final int[] f0 = new int[10];
+		final int[] f1 = new int[10];
+		final int[] f2 = new int[10];
+		final int[] f3 = new int[10];
 
 		// comments describe how exponent is created
 
 		// 2 == 2 * 1
-		f0 = this.square();
+		squareInto(this.values, f0);
 
 		// 9 == 9
-		f1 = this.pow2to9();
+		pow2to9Into(this.values, f1, f2);
 
 		// 11 == 9 + 2
-		f0 = f0.multiply(f1);
+		multiplyInto(f0, f1, f0);
 
 		// 2^252 - 2^2
-		f1 = this.pow2to252sub4();
+		pow2to252sub4Into(this.values, f1, f2, f3);
 
 		// 2^255 - 2^5
 		for (int i = 1; i < 4; ++i) {
-			f1 = f1.square();
+			squareInto(f1, f1);
 		}
 
 		// 2^255 - 21
-		return f1.multiply(f0);
+		multiplyInto(f1, f0, f1);
+		return new Ed25519FieldElement(f1);
 	}
 
 	/**
-	 * Computes this field element to the power of (2^9) and returns the result.
+	 * Computes z to the power of (2^9) without allocating.
 	 *
-	 * @return This field element to the power of (2^9).
+	 * @param z The field element.
+	 * @param h The array receiving z to the power of (2^9), must not be the same array as z.
+	 * @param t A scratch array.
 	 */
-	private Ed25519FieldElement pow2to9() { // ok
-		Ed25519FieldElement f;
-
+	private static void pow2to9Into(final int[] z, final int[] h, final int[] t) { // ok
 		// 2 == 2 * 1
-		f = this.square();
+		squareInto(z, t);
 
 		// 4 == 2 * 2
-		f = f.square();
+		squareInto(t, t);
 
 		// 8 == 2 * 4
-		f = f.square();
+		squareInto(t, t);
 
 		// 9 == 1 + 8
-		return this.multiply(f);
+		multiplyInto(z, t, h);
 	}
 
 	/**
-	 * Computes this field element to the power of (2^252 - 4) and returns the result.
-	 * This is a helper function for calculating the square root.
+	 * Computes z to the power of (2^252 - 4) without allocating.
+	 * This is a helper function for calculating the inverse and the square root.
 	 *
-	 * @return This field element to the power of (2^252 - 4).
+	 * @param z  The field element.
+	 * @param f0 The array receiving z to the power of (2^252 - 4).
+	 * @param f1 A scratch array.
+	 * @param f2 A scratch array.
 	 */
-	private Ed25519FieldElement pow2to252sub4() { // ok
-		Ed25519FieldElement f0, f1, f2;
-
+	private static void pow2to252sub4Into(final int[] z, final int[] f0, final int[] f1, final int[] f2) { // ok
 		// 2 == 2 * 1
-		f0 = this.square();
+		squareInto(z, f0);
 
 		// 9
-		f1 = this.pow2to9();
+		pow2to9Into(z, f1, f2);
 
 		// 11 == 9 + 2
-		f0 = f0.multiply(f1);
+		multiplyInto(f0, f1, f0);
 
 		// 22 == 2 * 11
-		f0 = f0.square();
+		squareInto(f0, f0);
 
 		// 31 == 22 + 9
-		f0 = f1.multiply(f0);
+		multiplyInto(f1, f0, f0);
 
 		// 2^6 - 2^1
-		f1 = f0.square();
+		squareInto(f0, f1);
 
 		// 2^10 - 2^5
 		for (int i = 1; i < 5; ++i) {
-			f1 = f1.square();
+			squareInto(f1, f1);
 		}
 
 		// 2^10 - 2^0
-		f0 = f1.multiply(f0);
+		multiplyInto(f1, f0, f0);
 
 		// 2^11 - 2^1
-		f1 = f0.square();
+		squareInto(f0, f1);
 
 		// 2^20 - 2^10
 		for (int i = 1; i < 10; ++i) {
-			f1 = f1.square();
+			squareInto(f1, f1);
 		}
 
 		// 2^20 - 2^0
-		f1 = f1.multiply(f0);
+		multiplyInto(f1, f0, f1);
 
 		// 2^21 - 2^1
-		f2 = f1.square();
+		squareInto(f1, f2);
 
 		// 2^40 - 2^20
 		for (int i = 1; i < 20; ++i) {
-			f2 = f2.square();
+			squareInto(f2, f2);
 		}
 
 		// 2^40 - 2^0
-		f1 = f2.multiply(f1);
+		multiplyInto(f2, f1, f1);
 
 		// 2^41 - 2^1
-		f1 = f1.square();
+		squareInto(f1, f1);
 
 		// 2^50 - 2^10
 		for (int i = 1; i < 10; ++i) {
-			f1 = f1.square();
+			squareInto(f1, f1);
 		}
 
 		// 2^50 - 2^0
-		f0 = f1.multiply(f0);
+		multiplyInto(f1, f0, f0);
 
 		// 2^51 - 2^1
-		f1 = f0.square();
+		squareInto(f0, f1);
 
 		// 2^100 - 2^50
 		for (int i = 1; i < 50; ++i) {
-			f1 = f1.square();
+			squareInto(f1, f1);
 		}
 
 		// 2^100 - 2^0
-		f1 = f1.multiply(f0);
+		multiplyInto(f1, f0, f1);
 
 		// 2^101 - 2^1
-		f2 = f1.square();
+		squareInto(f1, f2);
 
 		// 2^200 - 2^100
 		for (int i = 1; i < 100; ++i) {
-			f2 = f2.square();
+			squareInto(f2, f2);
 		}
 
 		// 2^200 - 2^0
-		f1 = f2.multiply(f1);
+		multiplyInto(f2, f1, f1);
 
 		// 2^201 - 2^1
-		f1 = f1.square();
+		squareInto(f1, f1);
 
 		// 2^250 - 2^50
 		for (int i = 1; i < 50; ++i) {
-			f1 = f1.square();
+			squareInto(f1, f1);
 		}
 
 		// 2^250 - 2^0
-		f0 = f1.multiply(f0);
+		multiplyInto(f1, f0, f0);
 
 		// 2^251 - 2^1
-		f0 = f0.square();
+		squareInto(f0, f0);
 
 		// 2^252 - 2^2
-		return f0.square();
+		squareInto(f0, f0);
 	}
 
 	/**
@@ -660,7 +878,10 @@ public class Ed25519FieldElement {
 		x = v3.square().multiply(v).multiply(u);
 
 		//  x = (u * v^7)^((q - 5) / 8)
-		x = x.pow2to252sub4().multiply(x); // 2^252 - 3
+		final int[] f0 = new int[10];
+		pow2to252sub4Into(x.values, f0, new int[10], new int[10]);
+		multiplyInto(f0, x.values, f0); // 2^252 - 3
+		x = new Ed25519FieldElement(f0);
 
 		// x = u * v^3 * (u * v^7)^((q - 5) / 8)
 		x = v3.multiply(u).multiply(x);
@@ -878,270 +1099,4 @@ public class Ed25519FieldElement {
 	public String toString() {
 		return this.encode().toString();
 	}
-
-	private class MultiplyHValuesCalculator {
-		private final int g1_19;
-		private final int g2_19;
-		private final int g3_19;
-		private final int g4_19;
-		private final int g5_19;
-		private final int g6_19;
-		private final int g7_19;
-		private final int g8_19;
-		private final int g9_19;
-		private final int f1_2;
-		private final int f3_2;
-		private final int f5_2;
-		private final int f7_2;
-		private final int f9_2;
-		private final long f0g0;
-		private final long f0g1;
-		private final long f0g2;
-		private final long f0g3;
-		private final long f0g4;
-		private final long f0g5;
-		private final long f0g6;
-		private final long f0g7;
-		private final long f0g8;
-		private final long f0g9;
-		private final long f1g0;
-		private final long f1g1_2;
-		private final long f1g2;
-		private final long f1g3_2;
-		private final long f1g4;
-		private final long f1g5_2;
-		private final long f1g6;
-		private final long f1g7_2;
-		private final long f1g8;
-		private final long f1g9_38;
-		private final long f2g0;
-		private final long f2g1;
-		private final long f2g2;
-		private final long f2g3;
-		private final long f2g4;
-		private final long f2g5;
-		private final long f2g6;
-		private final long f2g7;
-		private final long f2g8_19;
-		private final long f2g9_19;
-		private final long f3g0;
-		private final long f3g1_2;
-		private final long f3g2;
-		private final long f3g3_2;
-		private final long f3g4;
-		private final long f3g5_2;
-		private final long f3g6;
-		private final long f3g7_38;
-		private final long f3g8_19;
-		private final long f3g9_38;
-		private final long f4g0;
-		private final long f4g1;
-		private final long f4g2;
-		private final long f4g3;
-		private final long f4g4;
-		private final long f4g5;
-		private final long f4g6_19;
-		private final long f4g7_19;
-		private final long f4g8_19;
-		private final long f4g9_19;
-		private final long f5g0;
-		private final long f5g1_2;
-		private final long f5g2;
-		private final long f5g3_2;
-		private final long f5g4;
-		private final long f5g5_38;
-		private final long f5g6_19;
-		private final long f5g7_38;
-		private final long f5g8_19;
-		private final long f5g9_38;
-		private final long f6g0;
-		private final long f6g1;
-		private final long f6g2;
-		private final long f6g3;
-		private final long f6g4_19;
-		private final long f6g5_19;
-		private final long f6g6_19;
-		private final long f6g7_19;
-		private final long f6g8_19;
-		private final long f6g9_19;
-		private final long f7g0;
-		private final long f7g1_2;
-		private final long f7g2;
-		private final long f7g3_38;
-		private final long f7g4_19;
-		private final long f7g5_38;
-		private final long f7g6_19;
-		private final long f7g7_38;
-		private final long f7g8_19;
-		private final long f7g9_38;
-		private final long f8g0;
-		private final long f8g1;
-		private final long f8g2_19;
-		private final long f8g3_19;
-		private final long f8g4_19;
-		private final long f8g5_19;
-		private final long f8g6_19;
-		private final long f8g7_19;
-		private final long f8g8_19;
-		private final long f8g9_19;
-		private final long f9g0;
-		private final long f9g1_38;
-		private final long f9g2_19;
-		private final long f9g3_38;
-		private final long f9g4_19;
-		private final long f9g5_38;
-		private final long f9g6_19;
-		private final long f9g7_38;
-		private final long f9g8_19;
-		private final long f9g9_38;
-		public final long h0;
-		public final long h1;
-		public final long h2;
-		public final long h3;
-		public final long h4;
-		public final long h5;
-		public final long h6;
-		public final long h7;
-		public final long h8;
-		public final long h9;
-
-		public MultiplyHValuesCalculator(final int[] fValues, final int[] gValues) { // ok
-			g1_19 = 19 * gValues[1]; /* 1.959375*2^29 */
-			g2_19 = 19 * gValues[2]; /* 1.959375*2^30; still ok */
-			g3_19 = 19 * gValues[3];
-			g4_19 = 19 * gValues[4];
-			g5_19 = 19 * gValues[5];
-			g6_19 = 19 * gValues[6];
-			g7_19 = 19 * gValues[7];
-			g8_19 = 19 * gValues[8];
-			g9_19 = 19 * gValues[9];
-			f1_2 = 2 * fValues[1];
-			f3_2 = 2 * fValues[3];
-			f5_2 = 2 * fValues[5];
-			f7_2 = 2 * fValues[7];
-			f9_2 = 2 * fValues[9];
-			f0g0 = fValues[0] * (long) gValues[0];
-			f0g1 = fValues[0] * (long) gValues[1];
-			f0g2 = fValues[0] * (long) gValues[2];
-			f0g3 = fValues[0] * (long) gValues[3];
-			f0g4 = fValues[0] * (long) gValues[4];
-			f0g5 = fValues[0] * (long) gValues[5];
-			f0g6 = fValues[0] * (long) gValues[6];
-			f0g7 = fValues[0] * (long) gValues[7];
-			f0g8 = fValues[0] * (long) gValues[8];
-			f0g9 = fValues[0] * (long) gValues[9];
-			f1g0 = fValues[1] * (long) gValues[0];
-			f1g1_2 = f1_2 * (long) gValues[1];
-			f1g2 = fValues[1] * (long) gValues[2];
-			f1g3_2 = f1_2 * (long) gValues[3];
-			f1g4 = fValues[1] * (long) gValues[4];
-			f1g5_2 = f1_2 * (long) gValues[5];
-			f1g6 = fValues[1] * (long) gValues[6];
-			f1g7_2 = f1_2 * (long) gValues[7];
-			f1g8 = fValues[1] * (long) gValues[8];
-			f1g9_38 = f1_2 * (long) g9_19;
-			f2g0 = fValues[2] * (long) gValues[0];
-			f2g1 = fValues[2] * (long) gValues[1];
-			f2g2 = fValues[2] * (long) gValues[2];
-			f2g3 = fValues[2] * (long) gValues[3];
-			f2g4 = fValues[2] * (long) gValues[4];
-			f2g5 = fValues[2] * (long) gValues[5];
-			f2g6 = fValues[2] * (long) gValues[6];
-			f2g7 = fValues[2] * (long) gValues[7];
-			f2g8_19 = fValues[2] * (long) g8_19;
-			f2g9_19 = fValues[2] * (long) g9_19;
-			f3g0 = fValues[3] * (long) gValues[0];
-			f3g1_2 = f3_2 * (long) gValues[1];
-			f3g2 = fValues[3] * (long) gValues[2];
-			f3g3_2 = f3_2 * (long) gValues[3];
-			f3g4 = fValues[3] * (long) gValues[4];
-			f3g5_2 = f3_2 * (long) gValues[5];
-			f3g6 = fValues[3] * (long) gValues[6];
-			f3g7_38 = f3_2 * (long) g7_19;
-			f3g8_19 = fValues[3] * (long) g8_19;
-			f3g9_38 = f3_2 * (long) g9_19;
-			f4g0 = fValues[4] * (long) gValues[0];
-			f4g1 = fValues[4] * (long) gValues[1];
-			f4g2 = fValues[4] * (long) gValues[2];
-			f4g3 = fValues[4] * (long) gValues[3];
-			f4g4 = fValues[4] * (long) gValues[4];
-			f4g5 = fValues[4] * (long) gValues[5];
-			f4g6_19 = fValues[4] * (long) g6_19;
-			f4g7_19 = fValues[4] * (long) g7_19;
-			f4g8_19 = fValues[4] * (long) g8_19;
-			f4g9_19 = fValues[4] * (long) g9_19;
-			f5g0 = fValues[5] * (long) gValues[0];
-			f5g1_2 = f5_2 * (long) gValues[1];
-			f5g2 = fValues[5] * (long) gValues[2];
-			f5g3_2 = f5_2 * (long) gValues[3];
-			f5g4 = fValues[5] * (long) gValues[4];
-			f5g5_38 = f5_2 * (long) g5_19;
-			f5g6_19 = fValues[5] * (long) g6_19;
-			f5g7_38 = f5_2 * (long) g7_19;
-			f5g8_19 = fValues[5] * (long) g8_19;
-			f5g9_38 = f5_2 * (long) g9_19;
-			f6g0 = fValues[6] * (long) gValues[0];
-			f6g1 = fValues[6] * (long) gValues[1];
-			f6g2 = fValues[6] * (long) gValues[2];
-			f6g3 = fValues[6] * (long) gValues[3];
-			f6g4_19 = fValues[6] * (long) g4_19;
-			f6g5_19 = fValues[6] * (long) g5_19;
-			f6g6_19 = fValues[6] * (long) g6_19;
-			f6g7_19 = fValues[6] * (long) g7_19;
-			f6g8_19 = fValues[6] * (long) g8_19;
-			f6g9_19 = fValues[6] * (long) g9_19;
-			f7g0 = fValues[7] * (long) gValues[0];
-			f7g1_2 = f7_2 * (long) gValues[1];
-			f7g2 = fValues[7] * (long) gValues[2];
-			f7g3_38 = f7_2 * (long) g3_19;
-			f7g4_19 = fValues[7] * (long) g4_19;
-			f7g5_38 = f7_2 * (long) g5_19;
-			f7g6_19 = fValues[7] * (long) g6_19;
-			f7g7_38 = f7_2 * (long) g7_19;
-			f7g8_19 = fValues[7] * (long) g8_19;
-			f7g9_38 = f7_2 * (long) g9_19;
-			f8g0 = fValues[8] * (long) gValues[0];
-			f8g1 = fValues[8] * (long) gValues[1];
-			f8g2_19 = fValues[8] * (long) g2_19;
-			f8g3_19 = fValues[8] * (long) g3_19;
-			f8g4_19 = fValues[8] * (long) g4_19;
-			f8g5_19 = fValues[8] * (long) g5_19;
-			f8g6_19 = fValues[8] * (long) g6_19;
-			f8g7_19 = fValues[8] * (long) g7_19;
-			f8g8_19 = fValues[8] * (long) g8_19;
-			f8g9_19 = fValues[8] * (long) g9_19;
-			f9g0 = fValues[9] * (long) gValues[0];
-			f9g1_38 = f9_2 * (long) g1_19;
-			f9g2_19 = fValues[9] * (long) g2_19;
-			f9g3_38 = f9_2 * (long) g3_19;
-			f9g4_19 = fValues[9] * (long) g4_19;
-			f9g5_38 = f9_2 * (long) g5_19;
-			f9g6_19 = fValues[9] * (long) g6_19;
-			f9g7_38 = f9_2 * (long) g7_19;
-			f9g8_19 = fValues[9] * (long) g8_19;
-			f9g9_38 = f9_2 * (long) g9_19;
-			//calcHValues();
-			/**
-			 * Remember: 2^255 congruent 19 modulo p.
-			 * h = h0 * 2^0 + h1 * 2^26 + h2 * 2^(26+25) + h3 * 2^(26+25+26) + ... + h9 * 2^(5*26+5*25).
-			 * So to get the real number we would have to multiply the coefficients with the corresponding powers of 2.
-			 * To get an idea what is going on below, look at the calculation of h0:
-			 * h0 is the coefficient to the power 2^0 so it collects (sums) all products that have the power 2^0.
-			 * f0 * g0 really is f0 * 2^0 * g0 * 2^0 = (f0 * g0) * 2^0.
-			 * f1 * g9 really is f1 * 2^26 * g9 * 2^230 = f1 * g9 * 2^256 = 2 * f1 * g9 * 2^255 congruent 2 * 19 * f1 * g9 * 2^0 modulo p.
-			 * f2 * g8 really is f2 * 2^51 * g8 * 2^204 = f2 * g8 * 2^255 congruent 19 * f2 * g8 * 2^0 modulo p.
-			 * and so on...
-			 */
-			h0 = f0g0 + f1g9_38 + f2g8_19 + f3g7_38 + f4g6_19 + f5g5_38 + f6g4_19 + f7g3_38 + f8g2_19 + f9g1_38;
-			h1 = f0g1 + f1g0 + f2g9_19 + f3g8_19 + f4g7_19 + f5g6_19 + f6g5_19 + f7g4_19 + f8g3_19 + f9g2_19;
-			h2 = f0g2 + f1g1_2 + f2g0 + f3g9_38 + f4g8_19 + f5g7_38 + f6g6_19 + f7g5_38 + f8g4_19 + f9g3_38;
-			h3 = f0g3 + f1g2 + f2g1 + f3g0 + f4g9_19 + f5g8_19 + f6g7_19 + f7g6_19 + f8g5_19 + f9g4_19;
-			h4 = f0g4 + f1g3_2 + f2g2 + f3g1_2 + f4g0 + f5g9_38 + f6g8_19 + f7g7_38 + f8g6_19 + f9g5_38;
-			h5 = f0g5 + f1g4 + f2g3 + f3g2 + f4g1 + f5g0 + f6g9_19 + f7g8_19 + f8g7_19 + f9g6_19;
-			h6 = f0g6 + f1g5_2 + f2g4 + f3g3_2 + f4g2 + f5g1_2 + f6g0 + f7g9_38 + f8g8_19 + f9g7_38;
-			h7 = f0g7 + f1g6 + f2g5 + f3g4 + f4g3 + f5g2 + f6g1 + f7g0 + f8g9_19 + f9g8_19;
-			h8 = f0g8 + f1g7_2 + f2g6 + f3g5_2 + f4g4 + f5g3_2 + f6g2 + f7g1_2 + f8g0 + f9g9_38;
-			h9 = f0g9 + f1g8 + f2g7 + f3g6 + f4g5 + f5g4 + f6g3 + f7g2 + f8g1 + f9g0;
-		}
-	}
 }
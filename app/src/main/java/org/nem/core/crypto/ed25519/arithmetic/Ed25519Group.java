@@ -1,7 +1,5 @@
 package org.nem.core.crypto.ed25519.arithmetic;
 
-import android.util.Log;
-
 import org.nem.core.utils.HexEncoder;
 
 import java.math.BigInteger;
@@ -24,15 +22,10 @@ public class Ed25519Group {
 	public static Ed25519GroupElement BASE_POINT;
 
 	static {
-		try {
-			BASE_POINT = getBasePoint();
-			ZERO_P3 = Ed25519GroupElement.p3(Ed25519Field.ZERO, Ed25519Field.ONE, Ed25519Field.ONE, Ed25519Field.ZERO);
-			ZERO_P2 = Ed25519GroupElement.p2(Ed25519Field.ZERO, Ed25519Field.ONE, Ed25519Field.ONE);
-			ZERO_PRECOMPUTED = Ed25519GroupElement.precomputed(Ed25519Field.ONE, Ed25519Field.ONE, Ed25519Field.ZERO);
-		} catch (Throwable t) {
-			Log.e("E!", "Exception!", t);
-			throw t;
-		}
+		BASE_POINT = getBasePoint();
+		ZERO_P3 = Ed25519GroupElement.p3(Ed25519Field.ZERO, Ed25519Field.ONE, Ed25519Field.ONE, Ed25519Field.ZERO);
+		ZERO_P2 = Ed25519GroupElement.p2(Ed25519Field.ZERO, Ed25519Field.ONE, Ed25519Field.ONE);
+		ZERO_PRECOMPUTED = Ed25519GroupElement.precomputed(Ed25519Field.ONE, Ed25519Field.ONE, Ed25519Field.ZERO);
 	}
 
 	// different representations of zero
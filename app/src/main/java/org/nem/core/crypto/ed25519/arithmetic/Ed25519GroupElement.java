@@ -1,6 +1,6 @@
 package org.nem.core.crypto.ed25519.arithmetic;
 
-import org.nem.core.utils.ByteUtils;
+import org.nem.core.utils.HexEncoder;
 
 import java.io.Serializable;
 
@@ -17,6 +17,20 @@ import java.io.Serializable;
  * [6] Daniel J. Bernstein, Peter Birkner, Tanja Lange and Christiane Peters: Optimizing double-base elliptic-curve single-scalar multiplication
  */
 public class Ed25519GroupElement implements Serializable {
+	/**
+	 * Montgomery curve constant A of curve25519, v^2 = u^3 + A * u^2 + u.
+	 */
+	private static final Ed25519FieldElement MONTGOMERY_A = new Ed25519FieldElement(new int[] { 486662, 0, 0, 0, 0, 0, 0, 0, 0, 0 });
+
+	/**
+	 * 2 * c where c^2 = -(A + 2), maps affine (x, y) to (u, v) = ((1 + y) / (1 - y), c * u / x).
+	 */
+	private static final Ed25519FieldElement MONTGOMERY_TWO_C = decodeFieldElement("0cfc8afe5509dc980535fa96a2a7438bfd9ef807b811f6a4770d40c1e8db4d1e");
+
+	/**
+	 * k with k^2 = i * (A^2 - 4).
+	 */
+	private static final Ed25519FieldElement MONTGOMERY_K = decodeFieldElement("86634ba1ef8bbc00cc86a6c59ea1c66748a603cf9c1ecce7f0eb0e3b8b017f79");
 
 	private final CoordinateSystem coordinateSystem;
 	private final Ed25519FieldElement X;
@@ -34,6 +48,11 @@ public class Ed25519GroupElement implements Serializable {
 	 */
 	private Ed25519GroupElement[] precomputedForDouble;
 
+	/**
+	 * Result of isInPrimeOrderSubgroup(), null if not calculated yet.
+	 */
+	private volatile Boolean inPrimeOrderSubgroup;
+
 	//region constructors
 
 	/**
@@ -485,7 +504,7 @@ public class Ed25519GroupElement implements Serializable {
 	 * @param g The group element to add.
 	 * @return The resulting group element in the P x P coordinate system.
 	 */
-	private Ed25519GroupElement precomputedAdd(final Ed25519GroupElement g) { // ok
+	Ed25519GroupElement precomputedAdd(final Ed25519GroupElement g) { // ok
 		if (this.coordinateSystem != CoordinateSystem.P3) {
 			throw new UnsupportedOperationException();
 		}
@@ -520,7 +539,7 @@ public class Ed25519GroupElement implements Serializable {
 	 * @param g he group element to subtract.
 	 * @return The result in the P x P coordinate system.
 	 */
-	private Ed25519GroupElement precomputedSubtract(final Ed25519GroupElement g) {
+	Ed25519GroupElement precomputedSubtract(final Ed25519GroupElement g) {
 		if (this.coordinateSystem != CoordinateSystem.P3) {
 			throw new UnsupportedOperationException();
 		}
@@ -722,61 +741,6 @@ public class Ed25519GroupElement implements Serializable {
 		return e;
 	}
 
-	/**
-	 * Constant-time conditional move.
-	 * Replaces this with u if b == 1.
-	 * Replaces this with this if b == 0.
-	 *
-	 * @param u The group element to return if b == 1.
-	 * @param b in {0, 1}
-	 * @return u if b == 1; this if b == 0; null otherwise.
-	 */
-	private Ed25519GroupElement cmov(final Ed25519GroupElement u, final int b) { // ok
-		Ed25519GroupElement ret = null;
-		for (int i = 0; i < b; i++) {
-			// Only for b == 1
-			ret = u;
-		}
-		for (int i = 0; i < 1 - b; i++) {
-			// Only for b == 0
-			ret = this;
-		}
-		return ret;
-	}
-
-	/**
-	 * Look up 16^i r_i B in the precomputed table.
-	 * No secret array indices, no secret branching.
-	 * Constant time.
-	 * <br>
-	 * Must have previously precomputed.
-	 *
-	 * @param pos = i/2 for i in {0, 2, 4,..., 62}
-	 * @param b   = r_i
-	 * @return The Ed25519GroupElement
-	 */
-	private Ed25519GroupElement select(final int pos, final int b) { // ok
-		// Is r_i negative?
-		final int bNegative = ByteUtils.isNegativeConstantTime(b);
-		// |r_i|
-		final int bAbs = b - (((-bNegative) & b) << 1);
-
-		// 16^i |r_i| B
-		final Ed25519GroupElement t = Ed25519Group.ZERO_PRECOMPUTED
-				.cmov(this.precomputedForSingle[pos][0], ByteUtils.isEqualConstantTime(bAbs, 1))
-				.cmov(this.precomputedForSingle[pos][1], ByteUtils.isEqualConstantTime(bAbs, 2))
-				.cmov(this.precomputedForSingle[pos][2], ByteUtils.isEqualConstantTime(bAbs, 3))
-				.cmov(this.precomputedForSingle[pos][3], ByteUtils.isEqualConstantTime(bAbs, 4))
-				.cmov(this.precomputedForSingle[pos][4], ByteUtils.isEqualConstantTime(bAbs, 5))
-				.cmov(this.precomputedForSingle[pos][5], ByteUtils.isEqualConstantTime(bAbs, 6))
-				.cmov(this.precomputedForSingle[pos][6], ByteUtils.isEqualConstantTime(bAbs, 7))
-				.cmov(this.precomputedForSingle[pos][7], ByteUtils.isEqualConstantTime(bAbs, 8));
-		// -16^i |r_i| B
-		final Ed25519GroupElement tMinus = precomputed(t.Y, t.X, t.Z.negate());
-		// 16^i r_i B
-		return t.cmov(tMinus, bNegative);
-	}
-
 	/**
 	 * h = a * B where a = a[0]+256*a[1]+...+256^31 a[31] and
 	 * B is this point. If its lookup table has not been precomputed, it
@@ -787,33 +751,31 @@ public class Ed25519GroupElement implements Serializable {
 	 * @return The resulting group element.
 	 */
 	public Ed25519GroupElement scalarMultiply(final Ed25519EncodedFieldElement a) { // ok
-		Ed25519GroupElement g;
 		int i;
 		final byte[] e = toRadix16(a);
-		Ed25519GroupElement h = Ed25519Group.ZERO_P3;
+		final Ed25519MutableGroupElement h = new Ed25519MutableGroupElement();
 		synchronized (this) {
 			for (i = 1; i < 64; i += 2) {
-				g = this.select(i / 2, e[i]);
-				h = h.precomputedAdd(g);
-				h = h.toP3();
+				h.selectAndAdd(this.precomputedForSingle[i / 2], e[i]);
+				h.toP3();
 			}
 
-			h = h.dbl();
-			h = h.toP2();
-			h = h.dbl();
-			h = h.toP2();
-			h = h.dbl();
-			h = h.toP2();
-			h = h.dbl();
-			h = h.toP3();
+			h.dbl();
+			h.toP2();
+			h.dbl();
+			h.toP2();
+			h.dbl();
+			h.toP2();
+			h.dbl();
+			h.toP3();
 
 			for (i = 0; i < 64; i += 2) {
-				g = this.select(i / 2, e[i]);
-				h = h.precomputedAdd(g).toP3();
+				h.selectAndAdd(this.precomputedForSingle[i / 2], e[i]);
+				h.toP3();
 			}
 		}
 
-		return h;
+		return h.getP3();
 	}
 
 	/**
@@ -883,7 +845,7 @@ public class Ed25519GroupElement implements Serializable {
 			final Ed25519EncodedFieldElement b) {
 		final byte[] aSlide = slide(a);
 		final byte[] bSlide = slide(b);
-		Ed25519GroupElement r = Ed25519Group.ZERO_P2;
+		final Ed25519MutableGroupElement r = new Ed25519MutableGroupElement();
 
 		int i;
 		for (i = 255; i >= 0; --i) {
@@ -894,25 +856,218 @@ public class Ed25519GroupElement implements Serializable {
 
 		synchronized (this) {
 			for (; i >= 0; --i) {
-				Ed25519GroupElement t = r.dbl();
+				r.dbl();
 
 				if (aSlide[i] > 0) {
-					t = t.toP3().precomputedSubtract(A.precomputedForDouble[aSlide[i] / 2]);
+					r.toP3();
+					r.precomputedSubtract(A.precomputedForDouble[aSlide[i] / 2]);
 				} else if (aSlide[i] < 0) {
-					t = t.toP3().precomputedAdd(A.precomputedForDouble[(-aSlide[i]) / 2]);
+					r.toP3();
+					r.precomputedAdd(A.precomputedForDouble[(-aSlide[i]) / 2]);
 				}
 
 				if (bSlide[i] > 0) {
-					t = t.toP3().precomputedAdd(this.precomputedForDouble[bSlide[i] / 2]);
+					r.toP3();
+					r.precomputedAdd(this.precomputedForDouble[bSlide[i] / 2]);
 				} else if (bSlide[i] < 0) {
-					t = t.toP3().precomputedSubtract(this.precomputedForDouble[(-bSlide[i]) / 2]);
+					r.toP3();
+					r.precomputedSubtract(this.precomputedForDouble[(-bSlide[i]) / 2]);
 				}
 
-				r = t.toP2();
+				r.toP2();
 			}
 		}
 
-		return r;
+		return r.getP2();
+	}
+
+	/**
+	 * r = a_1 * A_1 + a_2 * A_2 + ... + a_n * A_n where
+	 * a_i are encoded field elements and
+	 * A_i are group elements in P3 coordinate system.
+	 * <br>
+	 * The sliding windows of all scalars are processed interleaved (Straus' method) so that
+	 * the 256 doublings are shared between all summands. The odd multiples of each A_i are
+	 * kept in CACHED coordinates which avoids the field inversions of precomputeForDoubleScalarMultiplication().
+	 * Not constant time, must only be used with public data.
+	 *
+	 * @param points  The group elements in P3 coordinate system.
+	 * @param scalars The encoded field elements (same length as points).
+	 * @return The resulting group element in P2 coordinate system.
+	 */
+	public static Ed25519GroupElement multiScalarMultiplyVariableTime(
+			final Ed25519GroupElement[] points,
+			final Ed25519EncodedFieldElement[] scalars) {
+		if (points.length != scalars.length) {
+			throw new IllegalArgumentException("points and scalars must have the same length");
+		}
+
+		final int n = points.length;
+		final byte[][] slides = new byte[n][];
+		final Ed25519GroupElement[][] tables = new Ed25519GroupElement[n][];
+		for (int k = 0; k < n; k++) {
+			slides[k] = slide(scalars[k]);
+			tables[k] = precomputeOddMultiplesCached(points[k]);
+		}
+
+		int i;
+		for (i = 255; i >= 0; --i) {
+			boolean isNonZero = false;
+			for (int k = 0; k < n && !isNonZero; k++) {
+				isNonZero = slides[k][i] != 0;
+			}
+
+			if (isNonZero) {
+				break;
+			}
+		}
+
+		final Ed25519MutableGroupElement r = new Ed25519MutableGroupElement();
+		for (; i >= 0; --i) {
+			r.dbl();
+			for (int k = 0; k < n; k++) {
+				final byte s = slides[k][i];
+				if (s > 0) {
+					r.toP3();
+					r.add(tables[k][s / 2]);
+				} else if (s < 0) {
+					r.toP3();
+					r.subtract(tables[k][(-s) / 2]);
+				}
+			}
+
+			r.toP2();
+		}
+
+		return r.getP2();
+	}
+
+	/**
+	 * Gets a value indicating whether or not this group element is in the subgroup of prime order,
+	 * i.e. it has no small order component.
+	 * The group is the product of the subgroup of prime order and a cyclic group of order 8,
+	 * so a point is in the subgroup of prime order if and only if it is 8 times some point (or the neutral element).
+	 * This is decided by halving the point twice on the birationally equivalent Montgomery curve
+	 * v^2 = u^3 + A * u^2 + u (p = field size):
+	 * <br>
+	 * P = (u, v) is 2 * Q for some Q if and only if u is a square. Set s = sqrt(u).
+	 * T = A + 2 * u + 2 * v / s or T' = A + 2 * u - 2 * v / s is a square since T * T' = A^2 - 4 is not.
+	 * For t = sqrt(T) the halves of P are Q = (u', t * u') with u' = (T - A - 2 * t * s) / 2.
+	 * Q is 2 * R for some R if and only if u' is a square. Set s' = sqrt(u').
+	 * R is 2 * S for some S if and only if T * (T - A + 2) is a square for T = A + 2 * u' + 2 * t * u' / s'.
+	 * <br>
+	 * Every root is calculated as (u * v^3) * (u * v^7)^((p - 5) / 8) like in decoding and all values are kept
+	 * as fractions, so the check needs four exponentiations and no inversion, which is about a third of
+	 * multiplying by the group order.
+	 * This must be in P2 or P3 coordinate system. Not constant time, must only be used with public data.
+	 *
+	 * @return true if this group element is in the subgroup of prime order.
+	 */
+	public boolean isInPrimeOrderSubgroup() {
+		// decoded public keys are cached, so the result is kept like the precomputed tables
+		if (null == this.inPrimeOrderSubgroup) {
+			this.inPrimeOrderSubgroup = this.isEightTimesSomePoint();
+		}
+
+		return this.inPrimeOrderSubgroup;
+	}
+
+	private boolean isEightTimesSomePoint() {
+		final Ed25519FieldElement zMinusY = this.Z.subtract(this.Y);
+		if (!zMinusY.isNonZero()) {
+			// neutral element
+			return true;
+		}
+
+		if (!this.X.isNonZero()) {
+			// (0, -1) has order 2
+			return false;
+		}
+
+		// s = sqrt(u) with u = (1 + y) / (1 - y) = (Z + Y) / (Z - Y)
+		final Ed25519FieldElement s = sqrtOrNull(this.Z.add(this.Y), zMinusY);
+		if (null == s) {
+			return false;
+		}
+
+		// T = A + 2 * u + 2 * v / s = A + 2 * s^2 + 2 * c * s / x = n / X
+		final Ed25519FieldElement n = this.X.multiply(s.squareAndDouble().add(MONTGOMERY_A))
+				.add(MONTGOMERY_TWO_C.multiply(s).multiply(this.Z));
+
+		// β^2 = +-(n / X) or β^2 = +-i * (n / X), in the latter case T' = (A^2 - 4) / T = +-i * (A^2 - 4) / β^2 is the square
+		final Ed25519FieldElement beta = Ed25519FieldElement.sqrt(n, this.X);
+		final Ed25519FieldElement xBetaSquare = beta.square().multiply(this.X);
+		final Ed25519FieldElement tNumerator;
+		final Ed25519FieldElement tDenominator;
+		if (!xBetaSquare.subtract(n).isNonZero()) {
+			tNumerator = beta;
+			tDenominator = Ed25519Field.ONE;
+		} else if (!xBetaSquare.add(n).isNonZero()) {
+			tNumerator = beta.multiply(Ed25519Field.I);
+			tDenominator = Ed25519Field.ONE;
+		} else if (!xBetaSquare.subtract(n.multiply(Ed25519Field.I)).isNonZero()) {
+			tNumerator = MONTGOMERY_K;
+			tDenominator = beta;
+		} else {
+			tNumerator = MONTGOMERY_K.multiply(Ed25519Field.I);
+			tDenominator = beta;
+		}
+
+		// s' = sqrt(u') with u' = (t^2 - A - 2 * t * s) / 2
+		final Ed25519FieldElement halfS = sqrtOrNull(
+				tNumerator.square().subtract(tDenominator.multiply(
+						tDenominator.multiply(MONTGOMERY_A).add(tNumerator.multiply(s).multiply(Ed25519Field.TWO)))),
+				tDenominator.squareAndDouble());
+		if (null == halfS) {
+			return false;
+		}
+
+		// T * (T - A + 2) with T = A + 2 * s'^2 + 2 * t * s'
+		final Ed25519FieldElement twoTS = tNumerator.multiply(halfS).multiply(Ed25519Field.TWO);
+		final Ed25519FieldElement twoSSquare = halfS.squareAndDouble();
+		final Ed25519FieldElement halfT = tDenominator.multiply(twoSSquare.add(MONTGOMERY_A)).add(twoTS);
+		final Ed25519FieldElement halfTMinusAPlusTwo = tDenominator.multiply(twoSSquare.add(Ed25519Field.TWO)).add(twoTS);
+		return null != sqrtOrNull(halfT.multiply(halfTMinusAPlusTwo), Ed25519Field.ONE);
+	}
+
+	/**
+	 * Calculates sqrt(u / v).
+	 *
+	 * @param u The nominator of the fraction.
+	 * @param v The denominator of the fraction.
+	 * @return The square root or null if u / v is not a square.
+	 */
+	private static Ed25519FieldElement sqrtOrNull(final Ed25519FieldElement u, final Ed25519FieldElement v) {
+		final Ed25519FieldElement x = Ed25519FieldElement.sqrt(u, v);
+		final Ed25519FieldElement vxSquare = x.square().multiply(v);
+		if (!vxSquare.subtract(u).isNonZero()) {
+			return x;
+		}
+
+		return vxSquare.add(u).isNonZero() ? null : x.multiply(Ed25519Field.I);
+	}
+
+	private static Ed25519FieldElement decodeFieldElement(final String hex) {
+		return new Ed25519EncodedFieldElement(HexEncoder.getBytes(hex)).decode();
+	}
+
+	/**
+	 * Calculates the odd multiples 1 * P, 3 * P, ..., 15 * P in CACHED coordinate system.
+	 *
+	 * @param P The group element in P3 coordinate system.
+	 * @return The table of odd multiples.
+	 */
+	private static Ed25519GroupElement[] precomputeOddMultiplesCached(final Ed25519GroupElement P) {
+		final Ed25519GroupElement[] table = new Ed25519GroupElement[8];
+		final Ed25519GroupElement twoP = P.dbl().toP3().toCached();
+		Ed25519GroupElement Pi = P;
+		table[0] = Pi.toCached();
+		for (int i = 1; i < 8; i++) {
+			Pi = Pi.add(twoP).toP3();
+			table[i] = Pi.toCached();
+		}
+
+		return table;
 	}
 
 	@Override
@@ -0,0 +1,246 @@
+package org.nem.core.crypto.ed25519.arithmetic;
+
+import org.nem.core.utils.ByteUtils;
+
+/**
+ * Mutable group element used as accumulator by the scalar multiplication loops.
+ * <br>
+ * Ed25519GroupElement is immutable, so every doubling or addition allocates a new group element
+ * and a handful of field elements. A scalar multiplication performs several hundred of these steps.
+ * This class performs the same steps with the same formulas on a fixed set of limb arrays,
+ * see Ed25519GroupElement for the derivation of the formulas.
+ * <br>
+ * The accumulator holds a point (X : Y : Z : T) in P2 or P3 coordinate system and a
+ * P x P result (X' : Y' : Z' : T'). dbl() and the add methods read the point and write the P x P result,
+ * toP2() and toP3() convert the P x P result back to the point.
+ * <br>
+ * Instances are not thread safe, each scalar multiplication uses its own instance.
+ */
+final class Ed25519MutableGroupElement {
+	private final int[] X = new int[10];
+	private final int[] Y = new int[10];
+	private final int[] Z = new int[10];
+	private final int[] T = new int[10];
+
+	// P x P result
+	private final int[] rX = new int[10];
+	private final int[] rY = new int[10];
+	private final int[] rZ = new int[10];
+	private final int[] rT = new int[10];
+
+	// scratch
+	private final int[] a = new int[10];
+	private final int[] b = new int[10];
+	private final int[] c = new int[10];
+	private final int[] d = new int[10];
+
+	// group element in PRECOMPUTED coordinate system selected from a table
+	private final int[] selectedYPlusX = new int[10];
+	private final int[] selectedYMinusX = new int[10];
+	private final int[] selectedXY2d = new int[10];
+
+	/**
+	 * Creates the neutral group element (0 : 1 : 1 : 0), which is valid in P2 and P3 coordinate system.
+	 */
+	Ed25519MutableGroupElement() {
+		this.Y[0] = 1;
+		this.Z[0] = 1;
+	}
+
+	/**
+	 * Doubles the point, which must be in P2 or P3 coordinate system.
+	 * The result is in the P x P coordinate system.
+	 */
+	void dbl() {
+		// XX = X^2, YY = Y^2, B = 2 * Z^2, AA = (X + Y)^2
+		Ed25519FieldElement.squareInto(this.X, this.a);
+		Ed25519FieldElement.squareInto(this.Y, this.b);
+		Ed25519FieldElement.squareAndDoubleInto(this.Z, this.c);
+		Ed25519FieldElement.addInto(this.X, this.Y, this.d);
+		Ed25519FieldElement.squareInto(this.d, this.d);
+
+		// (AA - (YY + XX), YY + XX, YY - XX, B - (YY - XX))
+		Ed25519FieldElement.addInto(this.b, this.a, this.rY);
+		Ed25519FieldElement.subtractInto(this.b, this.a, this.rZ);
+		Ed25519FieldElement.subtractInto(this.d, this.rY, this.rX);
+		Ed25519FieldElement.subtractInto(this.c, this.rZ, this.rT);
+	}
+
+	/**
+	 * Adds a group element in PRECOMPUTED coordinate system to the point, which must be in P3 coordinate system.
+	 * The result is in the P x P coordinate system.
+	 *
+	 * @param g The group element to add.
+	 */
+	void precomputedAdd(final Ed25519GroupElement g) {
+		this.precomputedAdd(g.getX().getRaw(), g.getY().getRaw(), g.getZ().getRaw());
+	}
+
+	/**
+	 * Subtracts a group element in PRECOMPUTED coordinate system from the point, which must be in P3 coordinate system.
+	 * The result is in the P x P coordinate system.
+	 *
+	 * @param g The group element to subtract.
+	 */
+	void precomputedSubtract(final Ed25519GroupElement g) {
+		// negating g swaps Y + X and Y - X and negates 2 * d * X * Y
+		this.precomputedAdd(g.getY().getRaw(), g.getX().getRaw(), g.getZ().getRaw());
+		this.swapZT();
+	}
+
+	private void precomputedAdd(final int[] yPlusX, final int[] yMinusX, final int[] xy2d) {
+		// A = (Y + X) * g.X, B = (Y - X) * g.Y, C = g.Z * T, D = 2 * Z
+		Ed25519FieldElement.addInto(this.Y, this.X, this.a);
+		Ed25519FieldElement.multiplyInto(this.a, yPlusX, this.a);
+		Ed25519FieldElement.subtractInto(this.Y, this.X, this.b);
+		Ed25519FieldElement.multiplyInto(this.b, yMinusX, this.b);
+		Ed25519FieldElement.multiplyInto(xy2d, this.T, this.c);
+		Ed25519FieldElement.addInto(this.Z, this.Z, this.d);
+		this.setP1xP1FromABCD();
+	}
+
+	/**
+	 * Adds a group element in CACHED coordinate system to the point, which must be in P3 coordinate system.
+	 * The result is in the P x P coordinate system.
+	 *
+	 * @param g The group element to add.
+	 */
+	void add(final Ed25519GroupElement g) {
+		this.add(g.getX().getRaw(), g.getY().getRaw(), g.getZ().getRaw(), g.getT().getRaw());
+	}
+
+	/**
+	 * Subtracts a group element in CACHED coordinate system from the point, which must be in P3 coordinate system.
+	 * The result is in the P x P coordinate system.
+	 *
+	 * @param g The group element to subtract.
+	 */
+	void subtract(final Ed25519GroupElement g) {
+		this.add(g.getY().getRaw(), g.getX().getRaw(), g.getZ().getRaw(), g.getT().getRaw());
+		this.swapZT();
+	}
+
+	private void add(final int[] yPlusX, final int[] yMinusX, final int[] z, final int[] t2d) {
+		// A = (Y + X) * g.X, B = (Y - X) * g.Y, C = g.T * T, D = 2 * Z * g.Z
+		Ed25519FieldElement.addInto(this.Y, this.X, this.a);
+		Ed25519FieldElement.multiplyInto(this.a, yPlusX, this.a);
+		Ed25519FieldElement.subtractInto(this.Y, this.X, this.b);
+		Ed25519FieldElement.multiplyInto(this.b, yMinusX, this.b);
+		Ed25519FieldElement.multiplyInto(t2d, this.T, this.c);
+		Ed25519FieldElement.multiplyInto(this.Z, z, this.d);
+		Ed25519FieldElement.addInto(this.d, this.d, this.d);
+		this.setP1xP1FromABCD();
+	}
+
+	private void setP1xP1FromABCD() {
+		// (A - B, A + B, D + C, D - C)
+		Ed25519FieldElement.subtractInto(this.a, this.b, this.rX);
+		Ed25519FieldElement.addInto(this.a, this.b, this.rY);
+		Ed25519FieldElement.addInto(this.d, this.c, this.rZ);
+		Ed25519FieldElement.subtractInto(this.d, this.c, this.rT);
+	}
+
+	private void swapZT() {
+		for (int i = 0; i < 10; i++) {
+			final int z = this.rZ[i];
+			this.rZ[i] = this.rT[i];
+			this.rT[i] = z;
+		}
+	}
+
+	/**
+	 * Looks up b * row[0] in a table row holding the multiples 1 * P, 2 * P, ..., n * P
+	 * in PRECOMPUTED coordinate system and adds it to the point, which must be in P3 coordinate system.
+	 * No secret array indices, no secret branching.
+	 * Constant time.
+	 *
+	 * @param row The table row.
+	 * @param b   The multiple, between -n and n.
+	 */
+	void selectAndAdd(final Ed25519GroupElement[] row, final int b) {
+		// Is b negative?
+		final int bNegative = ByteUtils.isNegativeConstantTime(b);
+		// |b|
+		final int bAbs = b - (((-bNegative) & b) << 1);
+
+		// start with the neutral element (1, 1, 0)
+		for (int i = 0; i < 10; i++) {
+			this.selectedYPlusX[i] = 0;
+			this.selectedYMinusX[i] = 0;
+			this.selectedXY2d[i] = 0;
+		}
+
+		this.selectedYPlusX[0] = 1;
+		this.selectedYMinusX[0] = 1;
+		for (int k = 0; k < row.length; k++) {
+			final int mask = -ByteUtils.isEqualConstantTime(bAbs, k + 1);
+			cmov(this.selectedYPlusX, row[k].getX().getRaw(), mask);
+			cmov(this.selectedYMinusX, row[k].getY().getRaw(), mask);
+			cmov(this.selectedXY2d, row[k].getZ().getRaw(), mask);
+		}
+
+		// -P = (Y - X, Y + X, -2 * d * X * Y)
+		final int mask = -bNegative;
+		for (int i = 0; i < 10; i++) {
+			final int swap = mask & (this.selectedYPlusX[i] ^ this.selectedYMinusX[i]);
+			this.selectedYPlusX[i] ^= swap;
+			this.selectedYMinusX[i] ^= swap;
+			this.selectedXY2d[i] ^= mask & (this.selectedXY2d[i] ^ -this.selectedXY2d[i]);
+		}
+
+		this.precomputedAdd(this.selectedYPlusX, this.selectedYMinusX, this.selectedXY2d);
+	}
+
+	/**
+	 * Constant-time conditional move, replaces f with g if mask is -1 and leaves f unchanged if mask is 0.
+	 */
+	private static void cmov(final int[] f, final int[] g, final int mask) {
+		for (int i = 0; i < 10; i++) {
+			f[i] ^= mask & (f[i] ^ g[i]);
+		}
+	}
+
+	/**
+	 * Converts the P x P result to the point in P2 coordinate system.
+	 */
+	void toP2() {
+		Ed25519FieldElement.multiplyInto(this.rX, this.rT, this.X);
+		Ed25519FieldElement.multiplyInto(this.rY, this.rZ, this.Y);
+		Ed25519FieldElement.multiplyInto(this.rZ, this.rT, this.Z);
+	}
+
+	/**
+	 * Converts the P x P result to the point in P3 coordinate system.
+	 */
+	void toP3() {
+		Ed25519FieldElement.multiplyInto(this.rX, this.rT, this.X);
+		Ed25519FieldElement.multiplyInto(this.rY, this.rZ, this.Y);
+		Ed25519FieldElement.multiplyInto(this.rZ, this.rT, this.Z);
+		Ed25519FieldElement.multiplyInto(this.rX, this.rY, this.T);
+	}
+
+	/**
+	 * Gets a copy of the point in P2 coordinate system.
+	 *
+	 * @return The group element in P2 coordinate system.
+	 */
+	Ed25519GroupElement getP2() {
+		return Ed25519GroupElement.p2(
+				new Ed25519FieldElement(this.X.clone()),
+				new Ed25519FieldElement(this.Y.clone()),
+				new Ed25519FieldElement(this.Z.clone()));
+	}
+
+	/**
+	 * Gets a copy of the point in P3 coordinate system.
+	 *
+	 * @return The group element in P3 coordinate system.
+	 */
+	Ed25519GroupElement getP3() {
+		return Ed25519GroupElement.p3(
+				new Ed25519FieldElement(this.X.clone()),
+				new Ed25519FieldElement(this.Y.clone()),
+				new Ed25519FieldElement(this.Z.clone()),
+				new Ed25519FieldElement(this.T.clone()));
+	}
+}
@@ -0,0 +1,82 @@
+package org.nem.core.utils;
+
+import org.nem.core.crypto.Hashes;
+
+/**
+ * Static class that contains utility functions for deriving and validating Base32 encoded NEM addresses.
+ * <br>
+ * The encoded address consists of the network version (1 byte), the RIPEMD160 hash of the SHA3-256 hash
+ * of the public key (20 bytes) and a checksum (the first 4 bytes of the SHA3-256 hash of the first 21 bytes).
+ */
+public class AddressEncoder {
+	private static final int NUM_CHECKSUM_BYTES = 4;
+	private static final int NUM_DECODED_BYTES_LENGTH = 40;
+	private static final int NUM_ENCODED_BYTES_LENGTH = 25;
+
+	/**
+	 * Derives the Base32 encoded address of a public key.
+	 *
+	 * @param version The network version.
+	 * @param publicKey The raw public key.
+	 * @return The Base32 encoded address.
+	 */
+	public static String getString(final byte version, final byte[] publicKey) {
+		// the hashes are written straight into the encoded bytes: version (1), ripemd160 hash (20), checksum (4)
+		final byte[] encodedBytes = new byte[NUM_ENCODED_BYTES_LENGTH];
+		final byte[] sha3Hash = new byte[Hashes.SHA3_256_LENGTH];
+
+		// step 1: sha3 hash of the public key
+		Hashes.sha3_256(publicKey, 0, publicKey.length, sha3Hash, 0);
+
+		// step 2: store version byte in front of the ripemd160 hash of (1)
+		encodedBytes[0] = version;
+		Hashes.ripemd160(sha3Hash, 0, sha3Hash.length, encodedBytes, 1);
+
+		// step 3: append the first bytes of the sha3 hash of (2) as checksum
+		final int checksumStartIndex = NUM_ENCODED_BYTES_LENGTH - NUM_CHECKSUM_BYTES;
+		Hashes.sha3_256(encodedBytes, 0, checksumStartIndex, sha3Hash, 0);
+		System.arraycopy(sha3Hash, 0, encodedBytes, checksumStartIndex, NUM_CHECKSUM_BYTES);
+
+		// step 4: base32 encode (3)
+		return Base32Encoder.getString(encodedBytes);
+	}
+
+	/**
+	 * Determines if a Base32 encoded address is valid for a network.
+	 *
+	 * @param address The Base32 encoded address.
+	 * @param version The network version.
+	 * @return true if the address is valid.
+	 */
+	public static boolean isValid(final String address, final byte version) {
+		if (null == address) {
+			return false;
+		}
+
+		// this check should prevent leading and trailing whitespace
+		if (NUM_DECODED_BYTES_LENGTH != address.length()) {
+			return false;
+		}
+
+		final byte[] encodedBytes;
+		try {
+			encodedBytes = Base32Encoder.getBytes(address);
+		} catch (final IllegalArgumentException e) {
+			return false;
+		}
+
+		if (NUM_ENCODED_BYTES_LENGTH != encodedBytes.length || version != encodedBytes[0]) {
+			return false;
+		}
+
+		final int checksumStartIndex = NUM_ENCODED_BYTES_LENGTH - NUM_CHECKSUM_BYTES;
+		final byte[] calculatedHash = Hashes.sha3_256(encodedBytes, 0, checksumStartIndex);
+		for (int i = 0; i < NUM_CHECKSUM_BYTES; i++) {
+			if (encodedBytes[checksumStartIndex + i] != calculatedHash[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
@@ -24,10 +24,23 @@ public final class AppConstants {
 	public static final int            SALT_SIZE_BYTES           = 256 / 8;
 	public static final int            DERIVE_KEY_ITERATIONS     = 2000;
 	public static final int            DERIVED_KEY_SIZE_BITS     = 256;
+	/**
+	 * Password check plus key derivation should take about this long, work factors are calibrated at password setup.
+	 */
+	public static final TimeSpan       KDF_TARGET_UNLOCK_TIME    = TimeSpan.fromMilliSeconds(BuildConfig.DEBUG ? 200 : 800);
+	/**
+	 * Calibration never goes below the pre-calibration cost, like the PBKDF2 iterations never go below the legacy count.
+	 */
+	public static final int            MIN_BCRYPT_LOG_ROUNDS     = BCRYPT_LOG_ROUNDS;
 	public static final int            MIN_PASSWORD_LENGTH       = 6;
 	public static final TimeSpan       DATA_AUTOREFRESH_INTERVAL = TimeSpan.fromSeconds(BuildConfig.DEBUG ? 10 : 30);
 	public static final String         DEFAULT_LANGUAGE          = initDEFAULT_LANGUAGE(); //"en";
 	public static final String         LOG_FILE_NAME             = "log.txt";
+	/**
+	 * Disk budget of the NIS response cache, least recently used responses are evicted above it.
+	 */
+	public static final long           HTTP_CACHE_SIZE_BYTES     = 10 * 1024 * 1024;
+	public static final String         HTTP_CACHE_DIR_NAME       = "http";
 
 	public static final String REGEX_ADDRESS_INPUT_STRIPPABLE_CHARACTERS = "[^0-9A-Za-z]";
 	public static final String NEM_CONTACT_TYPE                          = NacApplication.getAppContext()
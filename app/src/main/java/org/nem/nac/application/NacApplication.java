@@ -27,6 +27,7 @@ import org.nem.nac.log.LogTags;
 import org.nem.nac.models.network.Server;
 import org.nem.nac.notifications.AlarmsManager;
 import org.nem.nac.providers.EKeyProvider;
+import org.nem.nac.servers.ServerFinder;
 import org.nem.nac.servers.ServerManager;
 import org.nem.nac.ui.activities.NacBaseActivity;
 import org.nem.nac.ui.utils.Toaster;
@@ -87,6 +88,7 @@ public final class NacApplication extends Application {
 	private static final Runnable ON_APP_PAUSE = () -> {
 		LogUtils.conditional(Log.WARN, LogTags.EKEY_GET_SET.isLogged, LogTags.EKEY_GET_SET.name, "App Pause");
 		EKeyProvider.instance().setKey(null);
+		ServerFinder.pauseMonitoring();
 		System.gc();
 	};
 
@@ -171,6 +173,7 @@ public final class NacApplication extends Application {
 			@Override
 			public void onActivityResumed(final Activity a) {
 				getMainHandler().removeCallbacks(ON_APP_PAUSE);
+				ServerFinder.resumeMonitoring();
 				Timber.d(" => ACTIVITY RESUME next: %s", a.getClass().getSimpleName());
 				AlarmsManager.instance().disableUpdatesCheck();
 			}
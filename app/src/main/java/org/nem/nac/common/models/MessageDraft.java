@@ -3,6 +3,7 @@ package org.nem.nac.common.models;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import org.nem.core.crypto.KeyPair;
 import org.nem.nac.application.AppConstants;
 import org.nem.nac.common.enums.MessageType;
 import org.nem.nac.common.exceptions.NacRuntimeException;
@@ -64,6 +65,18 @@ public final class MessageDraft {
 		type = MessageType.ENCRYPTED;
 	}
 
+	public void encryptPayload(@NonNull final KeyPair keyPairAcc1, @NonNull final NacPublicKey publicKeyAcc2)
+			throws NacRuntimeException {
+		if (payload == null || payload.length() == 0) {
+			return;
+		}
+		if (type == MessageType.ENCRYPTED) {
+			throw new NacRuntimeException("Already encrypted");
+		}
+		payload = Ed25519Helper.Ed25519BlockCipherEncrypt(payload, keyPairAcc1, publicKeyAcc2);
+		type = MessageType.ENCRYPTED;
+	}
+
 	/**
 	 * Creates a non-encrypted message from data, or null if data is null or empty.
 	 */
@@ -1,30 +1,58 @@
 package org.nem.nac.common.utils;
 
-import android.util.Log;
-
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import timber.log.Timber;
 
+/**
+ * Json (de)serialization with a shared mapper.
+ * <br>
+ * Readers and writers are created once per model class and cached. They are immutable and thread safe,
+ * so no method takes a lock and concurrent callers parse in parallel.
+ */
 public final class JsonUtils {
-	private static final String LOG_TAG = JsonUtils.class.getSimpleName();
 
 	private static final ObjectMapper _mapper;
+	private static final ConcurrentMap<Class<?>, ObjectReader> _readers       = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<Class<?>, ObjectWriter> _writers       = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<Class<?>, ObjectWriter> _prettyWriters = new ConcurrentHashMap<>();
 
 	static {
 		_mapper = new ObjectMapper();
 		_mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 	}
 
-	public static synchronized <TModel> TModel fromJson(final String json, final Class<TModel> modelClass) throws ParseException {
-		Log.d(LOG_TAG, "Deserializing: " + json.substring(0, Math.min(json.length(), 150)) + "...");
+	public static <TModel> TModel fromJson(final String json, final Class<TModel> modelClass) throws ParseException {
+		Timber.d("Deserializing: %.150s...", json);
+		try {
+			return getReader(modelClass).readValue(json);
+		} catch (IOException e) {
+			Timber.e("Failed to parse json to object: %s", modelClass.getName());
+			throw new ParseException(e);
+		}
+	}
+
+	/**
+	 * Deserializes json read from the stream without buffering it into a String first.
+	 * The stream is read until the end of the json value and closed.
+	 *
+	 * @throws ParseException if the stream could not be read or does not contain a valid model.
+	 */
+	public static <TModel> TModel fromJson(final InputStream json, final Class<TModel> modelClass) throws ParseException {
+		Timber.d("Deserializing stream to: %s", modelClass.getName());
 		try {
-			return _mapper.readValue(json, modelClass);
+			return getReader(modelClass).readValue(json);
 		} catch (IOException e) {
-			Log.e(LOG_TAG, "Failed to parse json to object: " + modelClass.getName());
+			Timber.e("Failed to parse json to object: %s", modelClass.getName());
 			throw new ParseException(e);
 		}
 	}
@@ -34,7 +62,7 @@ public final class JsonUtils {
 	 *
 	 * @throws ParseException
 	 */
-	public static synchronized <TModel> String toJson(final TModel model) throws ParseException {
+	public static <TModel> String toJson(final TModel model) throws ParseException {
 		return toJson(model, false);
 	}
 
@@ -43,20 +71,49 @@ public final class JsonUtils {
 	 *
 	 * @throws ParseException
 	 */
-	public static synchronized <TModel> String toJson(final TModel model, final boolean genPrettyOutput) throws ParseException {
-		Log.d(LOG_TAG, "Serializing: " + (model != null ? model.getClass().getName() : "null"));
+	public static <TModel> String toJson(final TModel model, final boolean genPrettyOutput) throws ParseException {
+		Timber.d("Serializing: %s", model != null ? model.getClass().getName() : "null");
 		try {
-			ObjectWriter writer = _mapper.writer();
-			if (genPrettyOutput) {
-				writer = writer.withDefaultPrettyPrinter();
+			final ObjectWriter writer;
+			if (model == null) {
+				writer = genPrettyOutput ? _mapper.writerWithDefaultPrettyPrinter() : _mapper.writer();
+			}
+			else {
+				writer = getWriter(model.getClass(), genPrettyOutput);
 			}
 			return writer.writeValueAsString(model);
 		} catch (JsonProcessingException e) {
-			Log.e(LOG_TAG, "Failed to serialize");
+			Timber.e("Failed to serialize");
 			throw new ParseException(e);
 		}
 	}
 
+	private static ObjectReader getReader(final Class<?> modelClass) {
+		ObjectReader reader = _readers.get(modelClass);
+		if (reader == null) {
+			// readers are cheap to create, a racing thread may create a second one but only one is kept
+			reader = _mapper.readerFor(modelClass);
+			final ObjectReader existing = _readers.putIfAbsent(modelClass, reader);
+			if (existing != null) {
+				reader = existing;
+			}
+		}
+		return reader;
+	}
+
+	private static ObjectWriter getWriter(final Class<?> modelClass, final boolean pretty) {
+		final ConcurrentMap<Class<?>, ObjectWriter> writers = pretty ? _prettyWriters : _writers;
+		ObjectWriter writer = writers.get(modelClass);
+		if (writer == null) {
+			writer = pretty ? _mapper.writerFor(modelClass).withDefaultPrettyPrinter() : _mapper.writerFor(modelClass);
+			final ObjectWriter existing = writers.putIfAbsent(modelClass, writer);
+			if (existing != null) {
+				writer = existing;
+			}
+		}
+		return writer;
+	}
+
 	public static class ParseException extends IOException {
 
 		public ParseException(Throwable throwable) {
@@ -0,0 +1,124 @@
+package org.nem.nac.crypto;
+
+import android.support.annotation.NonNull;
+
+import com.annimon.stream.function.Consumer;
+
+import org.nem.core.crypto.KeyPair;
+import org.nem.core.crypto.ed25519.Ed25519KeyGenerator;
+import org.nem.nac.application.AppConstants;
+import org.nem.nac.common.exceptions.NacRuntimeException;
+import org.nem.nac.models.NacPrivateKey;
+import org.nem.nac.models.NacPublicKey;
+import org.nem.nac.models.primitives.AddressValue;
+
+import java.util.concurrent.ExecutionException;
+
+import timber.log.Timber;
+
+/**
+ * Generates many accounts (private key, public key, address) at once on all cores.
+ * <br>
+ * Worker threads take chunks of CHUNK_SIZE accounts from a shared counter until all accounts are generated.
+ * Every account is handed to the consumer as soon as it is generated and is not kept by the generator,
+ * so memory use does not grow with the number of accounts.
+ */
+public final class BulkAccountGenerator {
+	private static final int CHUNK_SIZE = 16;
+
+	private final byte _version;
+	private final int  _parallelism;
+
+	/**
+	 * Creates a generator for the current network that uses all available processors.
+	 */
+	public BulkAccountGenerator() {
+		this(AppConstants.NETWORK_VERSION.get(), Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a generator.
+	 *
+	 * @param version The network version of the generated addresses.
+	 * @param parallelism The maximum number of worker threads.
+	 */
+	public BulkAccountGenerator(final byte version, final int parallelism) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism must be positive");
+		}
+		_version = version;
+		_parallelism = parallelism;
+	}
+
+	/**
+	 * Generates count accounts and blocks until all of them have been passed to the consumer.
+	 * The consumer is called from the worker threads, but never concurrently, so it does not need to be thread-safe.
+	 * The order of the accounts is random.
+	 *
+	 * @param count The number of accounts to generate.
+	 * @param consumer Receives the generated accounts.
+	 * @throws InterruptedException if the calling thread was interrupted, the remaining accounts are not generated.
+	 * @throws NacRuntimeException if generating an account or the consumer failed, the remaining accounts are not generated.
+	 */
+	public void generate(final int count, @NonNull final Consumer<GeneratedAccount> consumer)
+			throws InterruptedException {
+		if (count < 0) {
+			throw new IllegalArgumentException("count must not be negative");
+		}
+		if (count == 0) {
+			return;
+		}
+
+		final ParallelChunks chunks = new ParallelChunks(count, CHUNK_SIZE, _parallelism);
+		final Object consumerLock = new Object();
+		// one key generator per thread, SecureRandom is synchronized
+		final ThreadLocal<Ed25519KeyGenerator> keyGenerators = new ThreadLocal<Ed25519KeyGenerator>() {
+			@Override
+			protected Ed25519KeyGenerator initialValue() {
+				return new Ed25519KeyGenerator();
+			}
+		};
+		try {
+			chunks.run((start, end) -> {
+				final Ed25519KeyGenerator keyGenerator = keyGenerators.get();
+				for (int index = start; index < end && !chunks.isStopped(); index++) {
+					final GeneratedAccount account = generateAccount(keyGenerator);
+					synchronized (consumerLock) {
+						// a failed consumer call stops all workers, accounts generated meanwhile are dropped
+						if (!chunks.isStopped()) {
+							consumer.accept(account);
+						}
+					}
+				}
+			});
+		} catch (ExecutionException e) {
+			Timber.e(e.getCause(), "Bulk account generation failed");
+			throw new NacRuntimeException("Bulk account generation failed", e.getCause());
+		}
+	}
+
+	private GeneratedAccount generateAccount(final Ed25519KeyGenerator keyGenerator) {
+		final KeyPair keyPair = keyGenerator.generateKeyPair();
+		final NacPrivateKey privateKey = new NacPrivateKey(keyPair.getPrivateKey().getRaw().toByteArray());
+		final NacPublicKey publicKey = new NacPublicKey(keyPair.getPublicKey().getRaw());
+		return new GeneratedAccount(privateKey, publicKey, AddressValue.fromPublicKey(_version, publicKey));
+	}
+
+	/**
+	 * An account created by BulkAccountGenerator.
+	 */
+	public static final class GeneratedAccount {
+		@NonNull
+		public final NacPrivateKey privateKey;
+		@NonNull
+		public final NacPublicKey  publicKey;
+		@NonNull
+		public final AddressValue  address;
+
+		GeneratedAccount(@NonNull final NacPrivateKey privateKey, @NonNull final NacPublicKey publicKey, @NonNull final AddressValue address) {
+			this.privateKey = privateKey;
+			this.publicKey = publicKey;
+			this.address = address;
+		}
+	}
+}
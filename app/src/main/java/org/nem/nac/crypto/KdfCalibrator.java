@@ -0,0 +1,77 @@
+package org.nem.nac.crypto;
+
+import org.nem.nac.application.AppConstants;
+import org.nem.nac.common.TimeSpan;
+import org.nem.nac.models.BinaryData;
+
+import timber.log.Timber;
+
+/**
+ * Picks app password work factors for this device.
+ * <br>
+ * Both functions are measured with small work factors and the results are scaled so that the password check and
+ * the key derivation each take about half of the target unlock time. Neither falls below the pre-calibration
+ * values of {@link KdfParameters#LEGACY_DERIVE_KEY_ITERATIONS} and {@link AppConstants#MIN_BCRYPT_LOG_ROUNDS}.
+ */
+public final class KdfCalibrator {
+	private static final int PROBE_ITERATIONS          = 1000;
+	private static final int PROBE_LOG_ROUNDS          = 4;
+	private static final int PROBE_RUNS                = 5;
+	private static final int ITERATIONS_STEP           = 1000;
+	private static final int MAX_DERIVE_KEY_ITERATIONS = 1_000_000;
+	private static final int MAX_BCRYPT_LOG_ROUNDS     = 14;
+
+	/**
+	 * Measures the device and picks work factors for {@link AppConstants#KDF_TARGET_UNLOCK_TIME}.
+	 * Takes a few dozen milliseconds.
+	 */
+	public static KdfParameters calibrate()
+			throws NacCryptoException {
+		final BinaryData salt = KeyProvider.generateSalt();
+		final String probePassword = salt.toHexStr();
+		long iterationNanos = Long.MAX_VALUE;
+		long bcryptNanos = Long.MAX_VALUE;
+		// the fastest run is the least disturbed one
+		for (int i = 0; i < PROBE_RUNS; i++) {
+			long start = System.nanoTime();
+			KeyProvider.deriveKey(probePassword, salt, PROBE_ITERATIONS);
+			iterationNanos = Math.min(iterationNanos, (System.nanoTime() - start) / PROBE_ITERATIONS);
+
+			start = System.nanoTime();
+			PasswordHasher.hash(probePassword, PROBE_LOG_ROUNDS);
+			bcryptNanos = Math.min(bcryptNanos, System.nanoTime() - start);
+		}
+
+		final KdfParameters parameters = choose(AppConstants.KDF_TARGET_UNLOCK_TIME, AppConstants.MIN_BCRYPT_LOG_ROUNDS, iterationNanos, bcryptNanos);
+		Timber.d("KDF calibrated: %s (%d ns per iteration, %d ns per bcrypt cost %d)",
+				parameters, iterationNanos, bcryptNanos, PROBE_LOG_ROUNDS);
+		return parameters;
+	}
+
+	/**
+	 * Picks work factors from measurements.
+	 *
+	 * @param targetUnlockTime Time the password check and the key derivation should take together.
+	 * @param minLogRounds Lowest acceptable bcrypt cost.
+	 * @param nanosPerIteration Time of one PBKDF2 iteration.
+	 * @param nanosAtProbeRounds Time of one bcrypt hash with cost 4.
+	 */
+	static KdfParameters choose(final TimeSpan targetUnlockTime, final int minLogRounds, final long nanosPerIteration, final long nanosAtProbeRounds) {
+		final long budgetNanos = targetUnlockTime.getNanos() / 2;
+
+		long iterations = budgetNanos / Math.max(1, nanosPerIteration);
+		iterations -= iterations % ITERATIONS_STEP;
+		iterations = Math.max(KdfParameters.LEGACY_DERIVE_KEY_ITERATIONS, Math.min(MAX_DERIVE_KEY_ITERATIONS, iterations));
+
+		// each additional round doubles the bcrypt time
+		int logRounds = PROBE_LOG_ROUNDS;
+		long bcryptNanos = Math.max(1, nanosAtProbeRounds);
+		while (logRounds < MAX_BCRYPT_LOG_ROUNDS && bcryptNanos * 2 <= budgetNanos) {
+			bcryptNanos *= 2;
+			logRounds++;
+		}
+		logRounds = Math.max(minLogRounds, logRounds);
+
+		return new KdfParameters((int)iterations, logRounds);
+	}
+}
@@ -0,0 +1,61 @@
+package org.nem.nac.crypto;
+
+import org.nem.nac.application.AppConstants;
+
+/**
+ * Work factors of the app password: PBKDF2 iterations of the key derivation and bcrypt cost of the password hash.
+ */
+public final class KdfParameters {
+
+	/**
+	 * Iteration count of passwords created before calibration. Exported account QR codes always use it.
+	 */
+	public static final int LEGACY_DERIVE_KEY_ITERATIONS = AppConstants.DERIVE_KEY_ITERATIONS;
+
+	public final int deriveKeyIterations;
+	public final int bcryptLogRounds;
+
+	public KdfParameters(final int deriveKeyIterations, final int bcryptLogRounds) {
+		if (deriveKeyIterations <= 0) {
+			throw new IllegalArgumentException("deriveKeyIterations must be positive");
+		}
+		if (bcryptLogRounds < 4 || bcryptLogRounds > 30) {
+			throw new IllegalArgumentException("bcryptLogRounds must be between 4 and 30");
+		}
+		this.deriveKeyIterations = deriveKeyIterations;
+		this.bcryptLogRounds = bcryptLogRounds;
+	}
+
+	/**
+	 * Parameters of a password created before calibration, the bcrypt cost is taken from the hash.
+	 */
+	public static KdfParameters legacy(final String passwordHash) {
+		return new KdfParameters(LEGACY_DERIVE_KEY_ITERATIONS, PasswordHasher.getLogRounds(passwordHash));
+	}
+
+	/**
+	 * @return true if keys derived with these parameters can be used for exported account QR codes.
+	 */
+	public boolean isExportCompatible() {
+		return deriveKeyIterations == LEGACY_DERIVE_KEY_ITERATIONS;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (this == o) { return true; }
+		if (o == null || getClass() != o.getClass()) { return false; }
+
+		final KdfParameters that = (KdfParameters)o;
+		return deriveKeyIterations == that.deriveKeyIterations && bcryptLogRounds == that.bcryptLogRounds;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * deriveKeyIterations + bcryptLogRounds;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("PBKDF2 %d iterations, bcrypt cost %d", deriveKeyIterations, bcryptLogRounds);
+	}
+}
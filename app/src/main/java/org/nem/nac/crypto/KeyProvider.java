@@ -33,18 +33,29 @@ public final class KeyProvider {
 		return new BinaryData(Hashes.sha3_256(key.getRaw()));
 	}
 
+	/**
+	 * Derives a key with the legacy iteration count, as used by exported account QR codes.
+	 */
 	public static BinaryData deriveKey(final String password, final BinaryData salt)
 			throws NacCryptoException {
-		return deriveKey(password, salt, AppConstants.DERIVED_KEY_SIZE_BITS);
+		return deriveKey(password, salt, KdfParameters.LEGACY_DERIVE_KEY_ITERATIONS);
 	}
 
-	private static BinaryData deriveKey(final String password, final BinaryData salt, final int keySizeBits)
+	/**
+	 * Derives a key with the iteration count of the app password, see {@link KdfParameters}.
+	 */
+	public static BinaryData deriveKey(final String password, final BinaryData salt, final int iterations)
+			throws NacCryptoException {
+		return deriveKey(password, salt, iterations, AppConstants.DERIVED_KEY_SIZE_BITS);
+	}
+
+	private static BinaryData deriveKey(final String password, final BinaryData salt, final int iterations, final int keySizeBits)
 			throws NacCryptoException {
 		AssertUtils.notNull(password);
 		if(password.isEmpty()) {
 			throw new IllegalArgumentException("password cannot be empty");
 		}
-		KeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt.getRaw(), AppConstants.DERIVE_KEY_ITERATIONS, keySizeBits);
+		KeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt.getRaw(), iterations, keySizeBits);
 		try {
 			SecretKeyFactory keyFactory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA1");
 			byte[] keyBytes = keyFactory.generateSecret(keySpec).getEncoded();
@@ -0,0 +1,105 @@
+package org.nem.nac.crypto;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.annimon.stream.function.Consumer;
+
+import org.nem.nac.models.BinaryData;
+import org.nem.nac.models.EncryptedNacPrivateKey;
+import org.nem.nac.models.NacPrivateKey;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Re-encrypts account keys with a new encryption key on all cores.
+ * <br>
+ * Worker threads take chunks of CHUNK_SIZE keys from a shared counter. Decrypted keys are wiped as soon as
+ * they are encrypted again. Either all keys are re-encrypted or an exception is thrown, once all workers have stopped.
+ */
+public final class KeyReencryptor {
+	private static final int CHUNK_SIZE = 16;
+
+	private final int _parallelism;
+
+	/**
+	 * Creates a re-encryptor that uses all available processors.
+	 */
+	public KeyReencryptor() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param parallelism The maximum number of worker threads.
+	 */
+	public KeyReencryptor(final int parallelism) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism must be positive");
+		}
+		_parallelism = parallelism;
+	}
+
+	/**
+	 * Decrypts the keys with oldKey and encrypts them with newKey. Blocks until all keys are done.
+	 *
+	 * @param keys The encrypted keys.
+	 * @param oldKey The key the keys are currently encrypted with.
+	 * @param newKey The key to encrypt the keys with.
+	 * @param progress Receives the number of keys done so far, called from the worker threads but never concurrently.
+	 * @return The re-encrypted keys, in the order of keys.
+	 * @throws NacCryptoException if a key could not be decrypted or encrypted.
+	 * @throws InterruptedException if the calling thread was interrupted.
+	 */
+	@NonNull
+	public List<EncryptedNacPrivateKey> reencrypt(
+			@NonNull final List<EncryptedNacPrivateKey> keys,
+			@NonNull final BinaryData oldKey, @NonNull final BinaryData newKey,
+			@Nullable final Consumer<Integer> progress)
+			throws NacCryptoException, InterruptedException {
+		final int count = keys.size();
+		final EncryptedNacPrivateKey[] result = new EncryptedNacPrivateKey[count];
+		if (count == 0) {
+			return Arrays.asList(result);
+		}
+
+		final ParallelChunks chunks = new ParallelChunks(count, CHUNK_SIZE, _parallelism);
+		final Object progressLock = new Object();
+		final int[] done = { 0 };
+		try {
+			chunks.run((start, end) -> {
+				for (int index = start; index < end; index++) {
+					if (chunks.isStopped()) {
+						return;
+					}
+					result[index] = reencrypt(keys.get(index), oldKey, newKey);
+				}
+				if (progress != null) {
+					synchronized (progressLock) {
+						if (!chunks.isStopped()) {
+							done[0] += end - start;
+							progress.accept(done[0]);
+						}
+					}
+				}
+			});
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof NacCryptoException) {
+				throw (NacCryptoException)e.getCause();
+			}
+			throw new NacCryptoException("Key re-encryption failed", e.getCause());
+		}
+		return Arrays.asList(result);
+	}
+
+	private static EncryptedNacPrivateKey reencrypt(final EncryptedNacPrivateKey key, final BinaryData oldKey, final BinaryData newKey)
+			throws NacCryptoException {
+		final NacPrivateKey decrypted = key.decryptKey(oldKey);
+		try {
+			return decrypted.encryptKey(newKey);
+		} finally {
+			Arrays.fill(decrypted.getRaw(), (byte)0);
+		}
+	}
+}
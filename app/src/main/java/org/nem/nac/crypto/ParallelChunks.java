@@ -0,0 +1,116 @@
+package org.nem.nac.crypto;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processes the indices 0 .. count - 1 in chunks on several worker threads.
+ * <br>
+ * Worker threads take chunks from a shared counter until all indices are done. When a chunk fails or the calling
+ * thread is interrupted, all workers stop before their next chunk, and tasks should check {@link #isStopped()}
+ * within a chunk as well. {@link #run(Task)} returns or throws only after all workers have finished,
+ * so no task runs anymore once it has thrown.
+ */
+final class ParallelChunks {
+
+	interface Task {
+		/**
+		 * Processes the indices from start (inclusive) to end (exclusive).
+		 */
+		void run(int start, int end)
+				throws Exception;
+	}
+
+	private final int           _count;
+	private final int           _chunkSize;
+	private final int           _numThreads;
+	private final AtomicInteger _nextIndex = new AtomicInteger(0);
+	private final AtomicBoolean _stopped   = new AtomicBoolean(false);
+
+	/**
+	 * @param count The number of indices, must be positive.
+	 * @param chunkSize The maximum number of indices per chunk.
+	 * @param parallelism The maximum number of worker threads.
+	 */
+	ParallelChunks(final int count, final int chunkSize, final int parallelism) {
+		_count = count;
+		_chunkSize = chunkSize;
+		_numThreads = Math.min(parallelism, (count + chunkSize - 1) / chunkSize);
+	}
+
+	/**
+	 * @return true if a chunk failed or the calling thread was interrupted, the remaining indices are skipped then.
+	 */
+	boolean isStopped() {
+		return _stopped.get();
+	}
+
+	/**
+	 * Runs the task for all chunks and blocks until all workers have finished.
+	 *
+	 * @throws ExecutionException with the first failure of a chunk.
+	 * @throws InterruptedException if the calling thread was interrupted.
+	 */
+	void run(@NonNull final Task task)
+			throws ExecutionException, InterruptedException {
+		final ExecutorService executor = Executors.newFixedThreadPool(_numThreads);
+		final List<Future<Void>> futures = new ArrayList<>(_numThreads);
+		for (int i = 0; i < _numThreads; i++) {
+			futures.add(executor.submit(() -> {
+				try {
+					int start;
+					while (!_stopped.get() && (start = _nextIndex.getAndAdd(_chunkSize)) < _count) {
+						task.run(start, Math.min(_count, start + _chunkSize));
+					}
+				} catch (Throwable throwable) {
+					_stopped.set(true);
+					throw throwable;
+				}
+				return null;
+			}));
+		}
+		executor.shutdown();
+
+		ExecutionException failure = null;
+		try {
+			for (final Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					if (failure == null) {
+						failure = e;
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			_stopped.set(true);
+			executor.shutdownNow();
+			awaitTermination(executor);
+			throw e;
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private static void awaitTermination(final ExecutorService executor) {
+		while (true) {
+			try {
+				if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+					return;
+				}
+			} catch (InterruptedException ignored) {
+				// the interruption is already reported by the caller
+			}
+		}
+	}
+}
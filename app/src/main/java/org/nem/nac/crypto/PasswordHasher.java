@@ -5,7 +5,21 @@ import org.nem.nac.application.AppConstants;
 
 public final class PasswordHasher {
 	public static String hash(final String password) {
-		return BCrypt.hashpw(password, BCrypt.gensalt(AppConstants.BCRYPT_LOG_ROUNDS));
+		return hash(password, AppConstants.BCRYPT_LOG_ROUNDS);
+	}
+
+	public static String hash(final String password, final int logRounds) {
+		return BCrypt.hashpw(password, BCrypt.gensalt(logRounds));
+	}
+
+	/**
+	 * @return the cost stored in a hash ("$2a$10$..." has cost 10).
+	 */
+	public static int getLogRounds(final String hash) {
+		if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$' || hash.charAt(6) != '$') {
+			throw new IllegalArgumentException("Not a bcrypt hash");
+		}
+		return Integer.parseInt(hash.substring(4, 6));
 	}
 
 	public static boolean check(final String password, final String hash) {
@@ -0,0 +1,161 @@
+package org.nem.nac.crypto;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import org.nem.core.crypto.KeyPair;
+import org.nem.core.crypto.ed25519.Ed25519SigningKey;
+import org.nem.nac.models.BinaryData;
+import org.nem.nac.models.EncryptedNacPrivateKey;
+import org.nem.nac.models.NacPrivateKey;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decrypted account keys of the current session.
+ * <p>
+ * Each account key is decrypted at most once while the vault is open. The vault hands out a signing key
+ * and a key pair for ECDH (message encryption), both are derived on first use and shared by all threads.
+ * Callers must not destroy the handed out keys, they are wiped by {@link #close()}.
+ */
+public final class SessionKeyVault {
+
+	private final Map<EncryptedNacPrivateKey, Entry> _entries = new HashMap<>();
+	private BinaryData _sessionKey;
+	private long _decryptCount;
+	private long _hitCount;
+
+	/**
+	 * Opens the vault for a session. Keys of a previous session are wiped.
+	 *
+	 * @param sessionKey key the account keys are encrypted with, null closes the vault.
+	 */
+	public synchronized void open(@Nullable final BinaryData sessionKey) {
+		close();
+		_sessionKey = sessionKey;
+	}
+
+	/**
+	 * Wipes all decrypted keys and locks the vault until it is opened again.
+	 */
+	public synchronized void close() {
+		for (final Entry entry : _entries.values()) {
+			entry.destroy();
+		}
+		_entries.clear();
+		_sessionKey = null;
+	}
+
+	public synchronized boolean isOpen() {
+		return _sessionKey != null;
+	}
+
+	/**
+	 * Gets the signing key of an account.
+	 *
+	 * @throws NacCryptoException if the vault is closed or the key cannot be decrypted.
+	 */
+	@NonNull
+	public Ed25519SigningKey getSigningKey(@NonNull final EncryptedNacPrivateKey encryptedKey)
+			throws NacCryptoException {
+		return getEntry(encryptedKey).getSigningKey();
+	}
+
+	/**
+	 * Gets the key pair of an account, to be used for ECDH.
+	 *
+	 * @throws NacCryptoException if the vault is closed or the key cannot be decrypted.
+	 */
+	@NonNull
+	public KeyPair getKeyPair(@NonNull final EncryptedNacPrivateKey encryptedKey)
+			throws NacCryptoException {
+		return getEntry(encryptedKey).getKeyPair();
+	}
+
+	/**
+	 * @return number of account keys decrypted since the vault was created.
+	 */
+	public synchronized long getDecryptCount() {
+		return _decryptCount;
+	}
+
+	/**
+	 * @return number of requests served without decrypting since the vault was created.
+	 */
+	public synchronized long getHitCount() {
+		return _hitCount;
+	}
+
+	/**
+	 * @return number of decrypted account keys.
+	 */
+	public synchronized int size() {
+		return _entries.size();
+	}
+
+	private synchronized Entry getEntry(final EncryptedNacPrivateKey encryptedKey)
+			throws NacCryptoException {
+		if (_sessionKey == null) {
+			throw new NacCryptoException("Key vault is closed", null);
+		}
+
+		Entry entry = _entries.get(encryptedKey);
+		if (entry != null) {
+			_hitCount++;
+			return entry;
+		}
+		// AES decryption is cheap, the expensive derivations are done by the entry outside of this lock
+		entry = new Entry(encryptedKey.decryptKey(_sessionKey));
+		_decryptCount++;
+		_entries.put(encryptedKey, entry);
+		return entry;
+	}
+
+	private static final class Entry {
+		private final NacPrivateKey     _privateKey;
+		private       Ed25519SigningKey _signingKey;
+		private       KeyPair           _keyPair;
+		private       boolean           _destroyed;
+
+		Entry(final NacPrivateKey privateKey) {
+			_privateKey = privateKey;
+		}
+
+		synchronized Ed25519SigningKey getSigningKey()
+				throws NacCryptoException {
+			ensureNotDestroyed();
+			if (_signingKey == null) {
+				_signingKey = new Ed25519SigningKey(_privateKey.toPrivateKey());
+			}
+			return _signingKey;
+		}
+
+		synchronized KeyPair getKeyPair()
+				throws NacCryptoException {
+			ensureNotDestroyed();
+			if (_keyPair == null) {
+				// the public key comes with the signing key, deriving it again would cost another scalar multiplication
+				_keyPair = new KeyPair(_privateKey.toPrivateKey(), getSigningKey().getPublicKey());
+			}
+			return _keyPair;
+		}
+
+		synchronized void destroy() {
+			if (_signingKey != null) {
+				_signingKey.destroy();
+			}
+			Arrays.fill(_privateKey.getRaw(), (byte)0);
+			_keyPair = null;
+			_destroyed = true;
+		}
+
+		private void ensureNotDestroyed()
+				throws NacCryptoException {
+			if (_destroyed) {
+				throw new NacCryptoException("Key vault was closed", null);
+			}
+		}
+	}
+}
@@ -25,7 +25,7 @@ import timber.log.Timber;
 public final class NemSQLiteHelper extends SQLiteOpenHelper {
 
 	private static final String LOG_TAG    = NemSQLiteHelper.class.getSimpleName();
-	private static final int    DB_VERSION = 4;
+	private static final int    DB_VERSION = 7;
 	private static final String DB_NAME    = "nem_database.db";
 
 	private static NemSQLiteHelper _instance;
@@ -72,10 +72,13 @@ public final class NemSQLiteHelper extends SQLiteOpenHelper {
 	@Override
 	public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
 		Log.i(LOG_TAG, "Upgrading DB from version " + oldVersion + " to version " + newVersion);
-		if (oldVersion < 4 && newVersion == 4) {
+		if (oldVersion < 4) {
 			// Version 4 is mainnet version
 			_cupboard.withDatabase(db).dropAllTables();
 		}
+		// Version 5 adds the work factors of the app password, they are 0 in existing rows (see AppPasswordMapper)
+		// Version 6 adds the server statistics, 0 in existing rows means never contacted (see ServerMapper)
+		// Version 7 adds the auto-discovered flag of servers, existing rows were not auto-discovered
 		// this line will upgrade database, adding columns and new tables.
 		// Note that existing columns will not be converted from what they originally were
 		_cupboard.withDatabase(db).upgradeTables();
@@ -120,6 +123,13 @@ public final class NemSQLiteHelper extends SQLiteOpenHelper {
 		return new PersistentEntity<T>(id, entity);
 	}
 
+	/**
+	 * Inserts or updates all entities in a single transaction. Ids of inserted entities are set on the entities.
+	 */
+	public <T> void insertOrUpdateAll(Collection<T> entities) {
+		getWritableDbCompartment().put(entities);
+	}
+
 	public <T> boolean delete(Class<T> entityClass, long id) {
 		return getWritableDbCompartment().delete(entityClass, id);
 	}
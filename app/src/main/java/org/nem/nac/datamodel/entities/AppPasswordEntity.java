@@ -5,11 +5,18 @@ import org.nem.nac.models.BinaryData;
 public final class AppPasswordEntity extends PersistentEntity {
 	public String passwordHash;
 	public byte[] salt;
+	/**
+	 * 0 for passwords set before work factors were calibrated (DB version 4).
+	 */
+	public int    deriveKeyIterations;
+	public int    bcryptLogRounds;
 
 	public AppPasswordEntity() { }
 
-	public AppPasswordEntity(final String passwordHash, final BinaryData salt) {
+	public AppPasswordEntity(final String passwordHash, final BinaryData salt, final int deriveKeyIterations, final int bcryptLogRounds) {
 		this.passwordHash = passwordHash;
 		this.salt = salt.getRaw();
+		this.deriveKeyIterations = deriveKeyIterations;
+		this.bcryptLogRounds = bcryptLogRounds;
 	}
 }
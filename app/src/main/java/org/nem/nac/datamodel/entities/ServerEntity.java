@@ -5,6 +5,12 @@ public final class ServerEntity extends PersistentEntity {
 	public String protocol;
 	public String host;
 	public int    port;
+	public boolean autoDiscovered;
+	// Health statistics, 0 in all columns when the server was never contacted
+	public long   latencyNanos;
+	public double successRatio;
+	public long   lastSeenMs;
+	public int    sampleCount;
 
 	@SuppressWarnings("unused")
 	public ServerEntity() {}
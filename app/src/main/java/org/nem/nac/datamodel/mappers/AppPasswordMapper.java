@@ -2,6 +2,7 @@ package org.nem.nac.datamodel.mappers;
 
 import android.support.annotation.Nullable;
 
+import org.nem.nac.crypto.KdfParameters;
 import org.nem.nac.datamodel.entities.AppPasswordEntity;
 import org.nem.nac.models.AppPassword;
 import org.nem.nac.models.BinaryData;
@@ -12,7 +13,10 @@ public final class AppPasswordMapper {
 		if (null == src) {
 			return null;
 		}
-		return new AppPassword(src.passwordHash, new BinaryData(src.salt));
+		final KdfParameters kdfParameters = src.deriveKeyIterations > 0
+				? new KdfParameters(src.deriveKeyIterations, src.bcryptLogRounds)
+				: null;
+		return new AppPassword(src.passwordHash, new BinaryData(src.salt), kdfParameters);
 	}
 
 	@Nullable
@@ -20,6 +24,9 @@ public final class AppPasswordMapper {
 		if (null == src) {
 			return null;
 		}
-		return new AppPasswordEntity(src.passwordHash, src.salt);
+		if (src.kdfParameters == null) {
+			return new AppPasswordEntity(src.passwordHash, src.salt, 0, 0);
+		}
+		return new AppPasswordEntity(src.passwordHash, src.salt, src.kdfParameters.deriveKeyIterations, src.kdfParameters.bcryptLogRounds);
 	}
 }
@@ -2,9 +2,11 @@ package org.nem.nac.datamodel.mappers;
 
 import android.support.annotation.Nullable;
 
+import org.nem.nac.common.TimeSpan;
 import org.nem.nac.datamodel.entities.ServerEntity;
 import org.nem.nac.models.network.Port;
 import org.nem.nac.models.network.Server;
+import org.nem.nac.models.network.ServerStats;
 
 public final class ServerMapper {
 
@@ -15,14 +17,38 @@ public final class ServerMapper {
 		}
 		final Server model = new Server(src.protocol, src.host, new Port(src.port));
 		model.id = src._id != null ? src._id : 0;
+		model.autoDiscovered = src.autoDiscovered;
 		return model;
 	}
 
+	/**
+	 * Statistics are not part of the model, a saved server starts them over.
+	 */
 	@Nullable
 	public static ServerEntity toEntity(Server src) {
 		if (null == src) {
 			return null;
 		}
-		return new ServerEntity(src.id, src.protocol, src.host, src.port.getValue());
+		final ServerEntity entity = new ServerEntity(src.id, src.protocol, src.host, src.port.getValue());
+		entity.autoDiscovered = src.autoDiscovered;
+		return entity;
+	}
+
+	/**
+	 * @return the statistics of the server, or null if it was never contacted.
+	 */
+	@Nullable
+	public static ServerStats toStats(ServerEntity src) {
+		if (null == src || src.sampleCount == 0) {
+			return null;
+		}
+		return new ServerStats(TimeSpan.fromNanoSeconds(src.latencyNanos), src.successRatio, src.lastSeenMs, src.sampleCount);
+	}
+
+	public static void setStats(ServerEntity dst, ServerStats src) {
+		dst.latencyNanos = src.latency.getNanos();
+		dst.successRatio = src.successRatio;
+		dst.lastSeenMs = src.lastSeenMs;
+		dst.sampleCount = src.sampleCount;
 	}
 }
@@ -6,6 +6,7 @@ import android.support.annotation.NonNull;
 import com.annimon.stream.Optional;
 
 import org.nem.nac.common.enums.AccountType;
+import org.nem.nac.common.exceptions.NacException;
 import org.nem.nac.datamodel.NacPersistenceRuntimeException;
 import org.nem.nac.datamodel.NemSQLiteHelper;
 import org.nem.nac.datamodel.entities.AccountEntity;
@@ -20,8 +21,32 @@ import java.util.List;
 
 public final class AccountRepository {
 
+	/**
+	 * Rows of all accounts, loaded on first use and dropped on every write. Models are mapped per call,
+	 * so callers can still modify the returned accounts.
+	 */
+	private static       List<AccountEntity> _entitiesCache;
+	private static final Object              CACHE_LOCK = new Object();
+
+	/**
+	 * Loads all accounts into the cache, so that the next {@link #getAll()} does not hit the database.
+	 */
+	public static void prewarm()
+			throws NacPersistenceRuntimeException {
+		try {
+			getAllEntities();
+		} catch (Exception e) {
+			throw new NacPersistenceRuntimeException("Persistence operation failed", e);
+		}
+	}
+
 	public synchronized boolean any()
 			throws NacPersistenceRuntimeException {
+		synchronized (CACHE_LOCK) {
+			if (_entitiesCache != null) {
+				return !_entitiesCache.isEmpty();
+			}
+		}
 		Cursor cursor = null;
 		try {
 			cursor = NemSQLiteHelper.getInstance()
@@ -38,7 +63,7 @@ public final class AccountRepository {
 
 	public synchronized List<Account> getAll() {
 		try {
-			final List<AccountEntity> entities = NemSQLiteHelper.getInstance().getAll(AccountEntity.class);
+			final List<AccountEntity> entities = getAllEntities();
 			List<Account> models = new ArrayList<>(entities.size());
 			for (AccountEntity entity : entities) {
 				models.add(AccountMapper.toModel(entity));
@@ -88,6 +113,41 @@ public final class AccountRepository {
 			return model;
 		} catch (Exception e) {
 			throw new NacPersistenceRuntimeException("Persistence operation failed", e);
+		} finally {
+			invalidateCache();
+		}
+	}
+
+	/**
+	 * Saves all accounts in one transaction. New accounts are appended in list order.
+	 */
+	public synchronized void saveAll(final List<Account> models)
+			throws NacPersistenceRuntimeException {
+		try {
+			final List<AccountEntity> entities = new ArrayList<>(models.size());
+			int maxSortIndex = -1;
+			for (Account model : models) {
+				final AccountEntity entity = AccountMapper.toEntity(model);
+				if (entity._id == null) {
+					if (maxSortIndex < 0) {
+						maxSortIndex = 0;
+						for (AccountEntity acc : NemSQLiteHelper.getInstance().getAll(AccountEntity.class)) {
+							maxSortIndex = Math.max(maxSortIndex, acc.sortIndex);
+						}
+					}
+					entity.sortIndex = ++maxSortIndex;
+				}
+				entities.add(entity);
+			}
+			NemSQLiteHelper.getInstance().insertOrUpdateAll(entities);
+			for (int i = 0; i < models.size(); i++) {
+				models.get(i).id = entities.get(i)._id;
+				models.get(i).sortIndex = entities.get(i).sortIndex;
+			}
+		} catch (Exception e) {
+			throw new NacPersistenceRuntimeException("Persistence operation failed", e);
+		} finally {
+			invalidateCache();
 		}
 	}
 
@@ -112,12 +172,29 @@ public final class AccountRepository {
 				sqLiteHelper.commitTransaction();
 			} finally {
 				if (sqLiteHelper != null) { sqLiteHelper.endTransaction(); }
+				invalidateCache();
 			}
 		} catch (Exception e) {
 			throw new NacPersistenceRuntimeException("Persistence operation failed", e);
 		}
 	}
 
+	private static List<AccountEntity> getAllEntities()
+			throws NacException {
+		synchronized (CACHE_LOCK) {
+			if (_entitiesCache == null) {
+				_entitiesCache = Collections.unmodifiableList(NemSQLiteHelper.getInstance().getAll(AccountEntity.class));
+			}
+			return _entitiesCache;
+		}
+	}
+
+	private static void invalidateCache() {
+		synchronized (CACHE_LOCK) {
+			_entitiesCache = null;
+		}
+	}
+
 	@NonNull
 	public synchronized Optional<Account> find(final AddressValue address)
 			throws NacPersistenceRuntimeException {
@@ -160,6 +237,7 @@ public final class AccountRepository {
 			if (entity != null) {
 				entity.type = type.id;
 				NemSQLiteHelper.getInstance().insertOrUpdate(entity);
+				invalidateCache();
 			}
 		} catch (Exception e) {
 			throw new NacPersistenceRuntimeException("Persistence operation failed", e);
@@ -5,10 +5,13 @@ import org.nem.nac.datamodel.NemSQLiteHelper;
 import org.nem.nac.datamodel.entities.ServerEntity;
 import org.nem.nac.datamodel.mappers.ServerMapper;
 import org.nem.nac.models.network.Server;
+import org.nem.nac.models.network.ServerStats;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public final class ServerRepository {
 
@@ -62,6 +65,51 @@ public final class ServerRepository {
 		}
 	}
 
+	/**
+	 * @return statistics of the servers that were contacted, by server id.
+	 */
+	public synchronized Map<Long, ServerStats> getAllStats()
+			throws NacPersistenceRuntimeException {
+		try {
+			final List<ServerEntity> entities = NemSQLiteHelper.getInstance().getAll(ServerEntity.class);
+			final Map<Long, ServerStats> stats = new HashMap<>(entities.size());
+			for (ServerEntity entity : entities) {
+				final ServerStats entityStats = ServerMapper.toStats(entity);
+				if (entityStats != null) {
+					stats.put(entity._id, entityStats);
+				}
+			}
+			return stats;
+		} catch (Exception e) {
+			throw new NacPersistenceRuntimeException("Persistence operation failed", e);
+		}
+	}
+
+	/**
+	 * Updates the statistics of the given servers in a single transaction. Unknown ids are skipped.
+	 */
+	public synchronized void saveStats(final Map<Long, ServerStats> statsById)
+			throws NacPersistenceRuntimeException {
+		NemSQLiteHelper sqLiteHelper = null;
+		try {
+			sqLiteHelper = NemSQLiteHelper.getInstance();
+			sqLiteHelper.beginTransaction();
+			for (Map.Entry<Long, ServerStats> stats : statsById.entrySet()) {
+				final ServerEntity entity = sqLiteHelper.get(ServerEntity.class, stats.getKey());
+				if (entity == null) {
+					continue;
+				}
+				ServerMapper.setStats(entity, stats.getValue());
+				sqLiteHelper.insertOrUpdate(entity);
+			}
+			sqLiteHelper.commitTransaction();
+		} catch (Exception e) {
+			throw new NacPersistenceRuntimeException("Persistence operation failed", e);
+		} finally {
+			if (sqLiteHelper != null) { sqLiteHelper.endTransaction(); }
+		}
+	}
+
 	public synchronized void delete(long id)
 			throws NacPersistenceRuntimeException {
 		try {
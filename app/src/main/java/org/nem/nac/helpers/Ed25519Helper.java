@@ -9,6 +9,7 @@ import org.nem.core.crypto.ed25519.Ed25519BlockCipher;
 import org.nem.nac.models.BinaryData;
 import org.nem.nac.models.NacPrivateKey;
 import org.nem.nac.models.NacPublicKey;
+import org.nem.nac.providers.EKeyProvider;
 
 public final class Ed25519Helper {
 
@@ -18,20 +19,40 @@ public final class Ed25519Helper {
 	public static BinaryData Ed25519BlockCipherEncrypt(
 			@NonNull final BinaryData input,
 			@NonNull final NacPrivateKey account1, @NonNull final NacPublicKey account2) {
-		final KeyPair senderKeyPair = new KeyPair(account1.toPrivateKey());
+		return Ed25519BlockCipherEncrypt(input, new KeyPair(account1.toPrivateKey()), account2);
+	}
+
+	/**
+	 * Encrypts with the key pair of account1, e.g. one handed out by {@link org.nem.nac.crypto.SessionKeyVault}.
+	 */
+	public static BinaryData Ed25519BlockCipherEncrypt(
+			@NonNull final BinaryData input,
+			@NonNull final KeyPair account1, @NonNull final NacPublicKey account2) {
 		final KeyPair recipientKeyPair = new KeyPair(null, account2.toPublicKey());
 		final byte[] inputBytes = input.getRaw();
-		final byte[] encryptedBytes = new Ed25519BlockCipher(senderKeyPair, recipientKeyPair).encrypt(inputBytes);
+		final Ed25519BlockCipher blockCipher =
+				new Ed25519BlockCipher(account1, recipientKeyPair, EKeyProvider.instance().getSharedPointCache());
+		final byte[] encryptedBytes = blockCipher.encrypt(inputBytes);
 		return new BinaryData(encryptedBytes);
 	}
 
 	public static Optional<BinaryData> Ed25519BlockCipherDecrypt(
 			@NonNull final BinaryData cipher,
 			@NonNull final NacPrivateKey account1, @NonNull final NacPublicKey account2) {
+		return Ed25519BlockCipherDecrypt(cipher, new KeyPair(account1.toPrivateKey()), account2);
+	}
+
+	/**
+	 * Decrypts with the key pair of account1, e.g. one handed out by {@link org.nem.nac.crypto.SessionKeyVault}.
+	 */
+	public static Optional<BinaryData> Ed25519BlockCipherDecrypt(
+			@NonNull final BinaryData cipher,
+			@NonNull final KeyPair account1, @NonNull final NacPublicKey account2) {
 		final KeyPair senderKeyPair = new KeyPair(null, account2.toPublicKey());
-		final KeyPair recipientKeyPair = new KeyPair(account1.toPrivateKey());
 		final byte[] cipherBytes = cipher.getRaw();
-		final byte[] decryptedBytes = new Ed25519BlockCipher(senderKeyPair, recipientKeyPair).decrypt(cipherBytes);
+		final Ed25519BlockCipher blockCipher =
+				new Ed25519BlockCipher(senderKeyPair, account1, EKeyProvider.instance().getSharedPointCache());
+		final byte[] decryptedBytes = blockCipher.decrypt(cipherBytes);
 		return decryptedBytes != null ? Optional.of(new BinaryData(decryptedBytes)) : Optional.<BinaryData>empty();
 	}
 
@@ -0,0 +1,121 @@
+package org.nem.nac.http;
+
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import timber.log.Timber;
+
+/**
+ * Counts requests answered by the HTTP cache and the body bytes read from the cache and from the network.
+ * Bytes read from the cache are the bytes saved.
+ */
+public final class HttpCacheStats {
+
+	private final AtomicLong _requestCount     = new AtomicLong();
+	private final AtomicLong _hitCount         = new AtomicLong();
+	private final AtomicLong _bytesFromCache   = new AtomicLong();
+	private final AtomicLong _bytesFromNetwork = new AtomicLong();
+
+	public long getRequestCount() {
+		return _requestCount.get();
+	}
+
+	/**
+	 * @return the number of requests answered from the cache without contacting the server.
+	 */
+	public long getHitCount() {
+		return _hitCount.get();
+	}
+
+	public double getHitRate() {
+		final long requests = _requestCount.get();
+		return requests > 0 ? (double)_hitCount.get() / requests : 0;
+	}
+
+	public long getBytesFromCache() {
+		return _bytesFromCache.get();
+	}
+
+	public long getBytesFromNetwork() {
+		return _bytesFromNetwork.get();
+	}
+
+	/**
+	 * @return an application interceptor that feeds these stats.
+	 */
+	Interceptor interceptor() {
+		return chain -> {
+			final Response response = chain.proceed(chain.request());
+			_requestCount.incrementAndGet();
+			final boolean hit = response.cacheResponse() != null && response.networkResponse() == null;
+			if (hit) {
+				_hitCount.incrementAndGet();
+			}
+			return response.newBuilder()
+					.body(new CountingResponseBody(response.body(), hit ? _bytesFromCache : _bytesFromNetwork))
+					.build();
+		};
+	}
+
+	@Override
+	public String toString() {
+		return String.format(Locale.US, "%d of %d requests from cache (%.0f%%), %.1f KB saved, %.1f KB downloaded",
+				getHitCount(), getRequestCount(), getHitRate() * 100, getBytesFromCache() / 1024.0, getBytesFromNetwork() / 1024.0);
+	}
+
+	private final class CountingResponseBody extends ResponseBody {
+		private final MediaType      _contentType;
+		private final long           _contentLength;
+		private final BufferedSource _source;
+
+		CountingResponseBody(final ResponseBody body, final AtomicLong counter)
+				throws IOException {
+			_contentType = body.contentType();
+			_contentLength = body.contentLength();
+			_source = Okio.buffer(new ForwardingSource(body.source()) {
+				@Override
+				public long read(final Buffer sink, final long byteCount)
+						throws IOException {
+					final long read = super.read(sink, byteCount);
+					if (read > 0) {
+						counter.addAndGet(read);
+					}
+					return read;
+				}
+
+				@Override
+				public void close()
+						throws IOException {
+					super.close();
+					Timber.d("HTTP cache: %s", HttpCacheStats.this);
+				}
+			});
+		}
+
+		@Override
+		public MediaType contentType() {
+			return _contentType;
+		}
+
+		@Override
+		public long contentLength() {
+			return _contentLength;
+		}
+
+		@Override
+		public BufferedSource source() {
+			return _source;
+		}
+	}
+}
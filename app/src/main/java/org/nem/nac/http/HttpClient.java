@@ -2,6 +2,7 @@ package org.nem.nac.http;
 
 import android.util.Log;
 
+import com.squareup.okhttp.Cache;
 import com.squareup.okhttp.Interceptor;
 import com.squareup.okhttp.OkHttpClient;
 import com.squareup.okhttp.Request;
@@ -9,8 +10,11 @@ import com.squareup.okhttp.Response;
 import com.squareup.okhttp.ResponseBody;
 
 import org.nem.nac.BuildConfig;
+import org.nem.nac.application.AppConstants;
+import org.nem.nac.application.NacApplication;
 import org.nem.nac.common.utils.LogUtils;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
@@ -20,7 +24,8 @@ public final class HttpClient {
 
 	private static final String LOG_TAG = HttpClient.class.getSimpleName();
 	private static HttpClient _instance;
-	private final OkHttpClient _httpClient = new OkHttpClient();
+	private final OkHttpClient   _httpClient = new OkHttpClient();
+	private final HttpCacheStats _cacheStats = new HttpCacheStats();
 
 	public static HttpClient instance() {
 		if (_instance == null) {
@@ -37,10 +42,18 @@ public final class HttpClient {
 		return _httpClient;
 	}
 
+	public HttpCacheStats getCacheStats() {
+		return _cacheStats;
+	}
+
 	private HttpClient() {
 		_httpClient.setConnectTimeout(10, TimeUnit.SECONDS);
 		_httpClient.setReadTimeout(10, TimeUnit.SECONDS);
 		_httpClient.setWriteTimeout(10, TimeUnit.SECONDS);
+		final File cacheDir = new File(NacApplication.getAppContext().getCacheDir(), AppConstants.HTTP_CACHE_DIR_NAME);
+		_httpClient.setCache(new Cache(cacheDir, AppConstants.HTTP_CACHE_SIZE_BYTES));
+		_httpClient.networkInterceptors().add(new NisCacheInterceptor());
+		_httpClient.interceptors().add(_cacheStats.interceptor());
 		if (BuildConfig.DEBUG) {
 			_httpClient.interceptors().add(new LoggingInterceptor());
 		}
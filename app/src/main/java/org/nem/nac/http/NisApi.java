@@ -6,9 +6,11 @@ import android.support.annotation.Nullable;
 import com.annimon.stream.Stream;
 import com.squareup.okhttp.Call;
 import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
 
 import org.nem.nac.application.AppHost;
 import org.nem.nac.common.Stopwatch;
+import org.nem.nac.common.ThreadPoolExecutorFactory;
 import org.nem.nac.common.TimeSpan;
 import org.nem.nac.common.exceptions.NoNetworkException;
 import org.nem.nac.common.utils.AssertUtils;
@@ -18,21 +20,93 @@ import org.nem.nac.models.api.HarvestingInfoArrayApiDto;
 import org.nem.nac.models.api.RequestAnnounceApiDto;
 import org.nem.nac.models.api.RequestResultApiDto;
 import org.nem.nac.models.api.account.AccountMetaDataPairApiDto;
+import org.nem.nac.models.api.chain.BlockHeightApiDto;
+import org.nem.nac.models.api.node.NodeCollectionApiDto;
 import org.nem.nac.models.api.transactions.AnnounceRequestResultApiDto;
 import org.nem.nac.models.api.transactions.TransactionMetaDataPairArrayApiDto;
 import org.nem.nac.models.api.transactions.UnconfirmedTransactionMetaDataPairArrayApiDto;
 import org.nem.nac.models.network.Server;
 import org.nem.nac.models.primitives.AddressValue;
 import org.nem.nac.servers.ServerFinder;
+import org.nem.nac.servers.ServerHealthMonitor;
+import org.nem.nac.servers.ServerLatencyTracker;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import timber.log.Timber;
 
 public final class NisApi {
 
+	/**
+	 * Shared by all instances, so that screens and background checks asking for the same data at the same time
+	 * cause one request.
+	 */
+	private static final SingleFlight<String, ServerResponse<?>> _getRequests = new SingleFlight<>();
+
+	/**
+	 * Used when a server has too few recent requests for a p95 latency.
+	 */
+	private static final TimeSpan           DEFAULT_HEDGE_DELAY = TimeSpan.fromSeconds(1);
+	private static final int                HEDGE_THREADS       = 8;
+	private static final ThreadPoolExecutor _hedgeExecutor      = ThreadPoolExecutorFactory.createExecutor(HEDGE_THREADS, HEDGE_THREADS, 30000);
+	private static final AtomicLong         _hedgedCount        = new AtomicLong();
+	private static final AtomicLong         _hedgeWonCount      = new AtomicLong();
+	/**
+	 * Query parameter anchoring a transfers page at a transaction id.
+	 */
+	private static final String             ID_PARAM            = "id";
+
+	static {
+		_hedgeExecutor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * @return the number of GET requests that were answered by an identical request already in flight.
+	 */
+	public static long getCoalescedRequestCount() {
+		return _getRequests.getCoalescedCount();
+	}
+
+	/**
+	 * @return the number of GET requests that were also sent to a second server because the first one was slow.
+	 */
+	public static long getHedgedRequestCount() {
+		return _hedgedCount.get();
+	}
+
+	/**
+	 * @return the number of hedged GET requests the second server answered first.
+	 */
+	public static long getHedgeWonCount() {
+		return _hedgeWonCount.get();
+	}
+
+	private final boolean _hedgedReads;
+
+	public NisApi() {
+		this(false);
+	}
+
+	/**
+	 * @param hedgedReads If true, a GET request the server has not answered within its p95 latency is also sent
+	 *                    to the next server of the {@link ServerFinder#getRanking() ranking}, and the first answer is used.
+	 *                    Announces are never hedged.
+	 */
+	public NisApi(final boolean hedgedReads) {
+		_hedgedReads = hedgedReads;
+	}
+
 	/**
 	 * returns true if successful heartbeat, false otherwise.
 	 *
@@ -53,6 +127,22 @@ public final class NisApi {
 		}
 	}
 
+	/**
+	 * Returns the height of the last block of the server's chain.
+	 */
+	public ServerResponse<BlockHeightApiDto> getChainHeight(final Server server)
+			throws ServerErrorException, NoNetworkException, IOException {
+		return performGetRequest(server, Paths.CHAIN_HEIGHT, BlockHeightApiDto.class, Paths.CHAIN_HEIGHT, null, true);
+	}
+
+	/**
+	 * Returns the peers the server can reach.
+	 */
+	public ServerResponse<NodeCollectionApiDto> getReachablePeers(final Server server)
+			throws ServerErrorException, NoNetworkException, IOException {
+		return performGetRequest(server, Paths.PEERS_REACHABLE, NodeCollectionApiDto.class, Paths.PEERS_REACHABLE, null, true);
+	}
+
 	public ServerResponse<AccountMetaDataPairApiDto> getAccountInfo(final Server server, final AddressValue account)
 			throws ServerErrorException, NoNetworkException, IOException {
 		AssertUtils.notNull(account);
@@ -67,7 +157,7 @@ public final class NisApi {
 		Map<String, String> query = new HashMap<>();
 		query.put("address", account.getRaw());
 		if (upToId != null) {
-			query.put("id", String.valueOf(upToId));
+			query.put(ID_PARAM, String.valueOf(upToId));
 		}
 		return performGetRequest(server, Paths.TRANSACTIONS_ALL, TransactionMetaDataPairArrayApiDto.class, Paths.TRANSACTIONS_ALL, query, true);
 	}
@@ -95,12 +185,143 @@ public final class NisApi {
 		return performPostRequest(server, Paths.ANNOUNCE_TRANSACTION, requestAnnounce, AnnounceRequestResultApiDto.class, Paths.ANNOUNCE_TRANSACTION, null, true);
 	}
 
+	/**
+	 * Performs the GET request, or waits for an identical one (same server, path and query) that is already running
+	 * and returns its response.
+	 */
+	@SuppressWarnings("unchecked")
 	private <TResponse> ServerResponse<TResponse> performGetRequest(final @NonNull Server server, final @NonNull String path,
 		@NonNull final Class<? extends TResponse> modelClass, final Object tag, final @Nullable Map<String, String> queryParams, final boolean parseErrorObject)
 			throws NoNetworkException, IOException, ServerErrorException, ResponseParsingRuntimeException {
 		AssertUtils.notNull(server, "server is null");
 		AssertUtils.notNull(path, "path is null");
 
+		final String key = getRequestKey(server, path, queryParams);
+		try {
+			// a heartbeat or chain height is about its server, another server answering it would be wrong.
+			// An id anchor is a database id of the server that returned it, other servers number differently.
+			final boolean hedge = _hedgedReads && !Paths.HEARTBEAT.equals(path) && !Paths.CHAIN_HEIGHT.equals(path)
+				&& (queryParams == null || !queryParams.containsKey(ID_PARAM));
+			return (ServerResponse<TResponse>)_getRequests.execute(key, () -> hedge
+				? executeHedgedGetRequest(server, path, modelClass, tag, queryParams, parseErrorObject)
+				: executeGetRequest(server, path, modelClass, tag, queryParams, parseErrorObject, null));
+		} catch (NoNetworkException | IOException | ServerErrorException | RuntimeException e) {
+			throw e;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for " + key);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String getRequestKey(final Server server, final String path, final @Nullable Map<String, String> queryParams) {
+		final StringBuilder key = new StringBuilder()
+			.append(server.protocol).append("://").append(server.host).append(':').append(server.port)
+			.append(path);
+		if (queryParams != null) {
+			// sorted, so that the order parameters were added in does not matter
+			char separator = '?';
+			for (Map.Entry<String, String> param : new TreeMap<>(queryParams).entrySet()) {
+				key.append(separator).append(param.getKey()).append('=').append(param.getValue());
+				separator = '&';
+			}
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Sends the request to the server and, if it has not answered within its p95 latency, to the next server
+	 * of the ranking too. Returns the first successful answer and cancels the other request.
+	 * If the server fails before the hedge is sent, its failure is thrown as usual.
+	 */
+	private <TResponse> ServerResponse<TResponse> executeHedgedGetRequest(final @NonNull Server server, final @NonNull String path,
+		@NonNull final Class<? extends TResponse> modelClass, final Object tag, final @Nullable Map<String, String> queryParams, final boolean parseErrorObject)
+			throws NoNetworkException, IOException, ServerErrorException, ResponseParsingRuntimeException {
+		final Server backup = Stream.of(ServerFinder.instance().getRanking())
+			.filter(x -> !x.equals(server))
+			.findFirst()
+			.orElse(null);
+		if (backup == null) {
+			return executeGetRequest(server, path, modelClass, tag, queryParams, parseErrorObject, null);
+		}
+
+		final TimeSpan delay = ServerLatencyTracker.instance().getP95(server).orElse(DEFAULT_HEDGE_DELAY);
+		final CompletionService<ServerResponse<TResponse>> completionService = new ExecutorCompletionService<>(_hedgeExecutor);
+		final CallSlot primarySlot = new CallSlot();
+		final CallSlot backupSlot = new CallSlot();
+		final Future<ServerResponse<TResponse>> primary =
+			completionService.submit(() -> executeGetRequest(server, path, modelClass, tag, queryParams, parseErrorObject, primarySlot));
+		Future<ServerResponse<TResponse>> hedge = null;
+		try {
+			Future<ServerResponse<TResponse>> done = completionService.poll(delay.getNanos(), TimeUnit.NANOSECONDS);
+			if (done != null) {
+				return getResult(done);
+			}
+
+			_hedgedCount.incrementAndGet();
+			Timber.d("%s did not answer %s in %s, hedging to %s", server, path, delay, backup);
+			hedge = completionService.submit(() -> executeGetRequest(backup, path, modelClass, tag, queryParams, parseErrorObject, backupSlot));
+			done = completionService.take();
+			try {
+				final ServerResponse<TResponse> result = getResult(done);
+				if (done == hedge) {
+					_hedgeWonCount.incrementAndGet();
+				}
+				return result;
+			} catch (NoNetworkException | IOException | ServerErrorException | RuntimeException e) {
+				// the first to finish failed, the other one may still succeed
+				Timber.d("Hedged request to %s failed, waiting for the other one: %s", done == hedge ? backup : server, e.getMessage());
+				final Future<ServerResponse<TResponse>> other = completionService.take();
+				final ServerResponse<TResponse> result = getResult(other);
+				if (other == hedge) {
+					_hedgeWonCount.incrementAndGet();
+				}
+				return result;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for " + path);
+		} finally {
+			// the loser, if still running, is not needed anymore
+			primarySlot.cancel();
+			backupSlot.cancel();
+			primary.cancel(true);
+			if (hedge != null) {
+				hedge.cancel(true);
+			}
+		}
+	}
+
+	private static <TResponse> ServerResponse<TResponse> getResult(final Future<ServerResponse<TResponse>> future)
+			throws NoNetworkException, IOException, ServerErrorException, InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof NoNetworkException) {
+				throw (NoNetworkException)cause;
+			}
+			if (cause instanceof IOException) {
+				throw (IOException)cause;
+			}
+			if (cause instanceof ServerErrorException) {
+				throw (ServerErrorException)cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException)cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * @param callSlot If not null, receives the call, so that another thread can cancel it.
+	 */
+	private <TResponse> ServerResponse<TResponse> executeGetRequest(final @NonNull Server server, final @NonNull String path,
+		@NonNull final Class<? extends TResponse> modelClass, final Object tag, final @Nullable Map<String, String> queryParams, final boolean parseErrorObject,
+		final @Nullable CallSlot callSlot)
+			throws NoNetworkException, IOException, ServerErrorException, ResponseParsingRuntimeException {
 		if (!AppHost.Network.isAvailable()) {
 			throw new NoNetworkException();
 		}
@@ -109,28 +330,42 @@ public final class NisApi {
 			Stream.of(queryParams).forEach(x -> request.addQueryParameter(x.getKey(), x.getValue()));
 		}
 		final Call call = request.getCall(HttpClient.instance());
+		if (callSlot != null) {
+			callSlot.set(call);
+		}
 		final Stopwatch stopwatch = new Stopwatch(true);
 		final Response response;
 		try {
 			response = call.execute();
+		} catch (IOException e) {
+			// a cancelled hedge is not the server's fault
+			if (callSlot == null || !callSlot.isCancelled()) {
+				ServerHealthMonitor.instance().recordFailure(server);
+			}
+			throw e;
 		} finally {
 			stopwatch.stop();
 		}
 
 		if (response.isSuccessful()) {
 			try {
-				final TResponse model = JsonUtils.fromJson(response.body().string(), modelClass);
+				final TResponse model = readBody(response, modelClass);
+				if (response.networkResponse() != null) {
+					// cache hits say nothing about the server
+					ServerLatencyTracker.instance().record(server, stopwatch.getTimeSpan());
+					ServerHealthMonitor.instance().recordSuccess(server, stopwatch.getTimeSpan());
+				}
 				return new ServerResponse<>(server, model, stopwatch.getTimeSpan());
 			} catch (JsonUtils.ParseException e) {
 				throw new ResponseParsingRuntimeException(e, response.isSuccessful());
 			}
 		}
 		else if (response.code() >= 500 && response.code() < 600) {
-			ServerFinder.instance().clearBest();
+			ServerHealthMonitor.instance().recordFailure(server);
 		}
 		if (parseErrorObject) {
 			try {
-				final ErrorObjectApiDto error = JsonUtils.fromJson(response.body().string(), ErrorObjectApiDto.class);
+				final ErrorObjectApiDto error = readBody(response, ErrorObjectApiDto.class);
 				throw new ServerErrorException(response.code(), response.message(), error);
 			} catch (JsonUtils.ParseException e) {
 				throw new ResponseParsingRuntimeException(e, response.isSuccessful());
@@ -160,25 +395,28 @@ public final class NisApi {
 		final Response response;
 		try {
 			response = call.execute();
+		} catch (IOException e) {
+			ServerHealthMonitor.instance().recordFailure(server);
+			throw e;
 		} finally {
 			stopwatch.stop();
 		}
 
 		if (response.isSuccessful()) {
 			try {
-				final TResponse model = JsonUtils.fromJson(response.body().string(), responseModelClass);
+				final TResponse model = readBody(response, responseModelClass);
 				return new ServerResponse<>(server, model, stopwatch.getTimeSpan());
 			} catch (JsonUtils.ParseException e) {
 				throw new ResponseParsingRuntimeException(e, response.isSuccessful());
 			}
 		}
 		else if (response.code() >= 500 && response.code() < 600) {
-			ServerFinder.instance().clearBest();
+			ServerHealthMonitor.instance().recordFailure(server);
 		}
 
 		if (parseErrorObject) {
 			try {
-				final ErrorObjectApiDto error = JsonUtils.fromJson(response.body().string(), ErrorObjectApiDto.class);
+				final ErrorObjectApiDto error = readBody(response, ErrorObjectApiDto.class);
 				throw new ServerErrorException(response.code(), response.message(), error);
 			} catch (JsonUtils.ParseException e) {
 				throw new ResponseParsingRuntimeException(e, response.isSuccessful());
@@ -189,12 +427,53 @@ public final class NisApi {
 		}
 	}
 
-	private static final class Paths {
+	/**
+	 * Parses the response body straight from the network stream, so the body is never held as a String.
+	 */
+	private static <TModel> TModel readBody(final Response response, final Class<TModel> modelClass)
+			throws IOException {
+		final ResponseBody body = response.body();
+		try {
+			return JsonUtils.fromJson(body.byteStream(), modelClass);
+		} finally {
+			body.close();
+		}
+	}
+
+	/**
+	 * Holds a call that may be cancelled from another thread, also before it is created.
+	 */
+	private static final class CallSlot {
+		private Call    _call;
+		private boolean _cancelled;
+
+		synchronized void set(final Call call) {
+			_call = call;
+			if (_cancelled) {
+				call.cancel();
+			}
+		}
+
+		synchronized boolean isCancelled() {
+			return _cancelled;
+		}
+
+		synchronized void cancel() {
+			_cancelled = true;
+			if (_call != null) {
+				_call.cancel();
+			}
+		}
+	}
+
+	static final class Paths {
 		public static final String HEARTBEAT                = "/heartbeat";
 		public static final String TRANSACTIONS_ALL         = "/account/transfers/all";
 		public static final String TRANSACTIONS_UNCONFIRMED = "/account/unconfirmedTransactions";
 		public static final String ACCOUNT_GET              = "/account/get";
 		public static final String ANNOUNCE_TRANSACTION = "/transaction/announce";
 		public static final String HARVEST_INFO_GET     = "/account/harvests";
+		public static final String CHAIN_HEIGHT         = "/chain/height";
+		public static final String PEERS_REACHABLE      = "/node/peer-list/reachable";
 	}
 }
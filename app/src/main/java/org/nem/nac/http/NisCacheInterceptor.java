@@ -0,0 +1,82 @@
+package org.nem.nac.http;
+
+import android.net.Uri;
+
+import com.annimon.stream.Optional;
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import org.nem.nac.common.TimeSpan;
+import org.nem.nac.common.utils.JsonUtils;
+import org.nem.nac.models.api.transactions.TransactionMetaDataPairApiDto;
+import org.nem.nac.models.api.transactions.TransactionMetaDataPairArrayApiDto;
+import org.nem.nac.models.network.Port;
+import org.nem.nac.models.network.Server;
+import org.nem.nac.servers.ServerHealthMonitor;
+
+import java.io.IOException;
+
+import okio.BufferedSource;
+import timber.log.Timber;
+
+/**
+ * Network interceptor that adds the Cache-Control header chosen by {@link NisCachePolicy} to successful NIS responses,
+ * so that the OkHttp cache stores them. Anchored transfers pages are read to tell whether they are final.
+ */
+final class NisCacheInterceptor implements Interceptor {
+
+	@Override
+	public Response intercept(final Chain chain)
+			throws IOException {
+		final Request request = chain.request();
+		final Response response = chain.proceed(request);
+		if (!"GET".equals(request.method()) || !response.isSuccessful()) {
+			return response;
+		}
+
+		final Uri uri = Uri.parse(request.urlString());
+		final String id = uri.getQueryParameter("id");
+		TimeSpan maxAge = NisCachePolicy.getMaxAge(uri.getPath(), id);
+		if (NisApi.Paths.TRANSACTIONS_ALL.equals(uri.getPath()) && id != null && isFinalTransfersPage(uri, response)) {
+			maxAge = NisCachePolicy.FINAL_PAGE_MAX_AGE;
+		}
+		final String cacheControl = maxAge != null ? "max-age=" + (long)maxAge.toSeconds() : "no-store";
+		return response.newBuilder()
+				.removeHeader("Pragma")
+				.header("Cache-Control", cacheControl)
+				.build();
+	}
+
+	/**
+	 * Compares the newest transaction of the page with the chain height last fetched from the server.
+	 * The page is buffered and a copy is parsed, the body stays readable for {@link NisApi}.
+	 */
+	private static boolean isFinalTransfersPage(final Uri uri, final Response response)
+			throws IOException {
+		final Server server = new Server(uri.getScheme(), uri.getHost(), new Port(uri.getPort()));
+		final Optional<Long> chainHeight = ServerHealthMonitor.instance().getEstimatedHeight(server);
+		if (!chainHeight.isPresent()) {
+			return false;
+		}
+
+		final BufferedSource source = response.body().source();
+		source.request(Long.MAX_VALUE);
+		final TransactionMetaDataPairArrayApiDto page;
+		try {
+			page = JsonUtils.fromJson(source.buffer().clone().inputStream(), TransactionMetaDataPairArrayApiDto.class);
+		} catch (JsonUtils.ParseException e) {
+			// NisApi parses the body again and reports the error
+			Timber.d("Failed to parse transfers page: %s", e.getMessage());
+			return false;
+		}
+		if (page.data == null) {
+			return false;
+		}
+		long newestHeight = 0;
+		for (final TransactionMetaDataPairApiDto pair : page.data) {
+			newestHeight = Math.max(newestHeight, pair.meta.height);
+		}
+		return NisCachePolicy.isFinalTransfersPage(page.data.length, newestHeight, chainHeight.get());
+	}
+}
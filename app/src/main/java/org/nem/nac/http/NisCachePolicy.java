@@ -0,0 +1,65 @@
+package org.nem.nac.http;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import org.nem.nac.common.TimeSpan;
+
+/**
+ * Decides how long a NIS response may be served from the HTTP cache. NIS sends no caching headers itself.
+ */
+final class NisCachePolicy {
+
+	/**
+	 * Transactions per transfers page returned by NIS.
+	 */
+	static final int      TRANSFERS_PAGE_SIZE              = 25;
+	/**
+	 * NIS does not roll back more blocks than this, transactions deeper in the chain are final.
+	 */
+	static final long     REWRITE_LIMIT_BLOCKS             = 360;
+	/**
+	 * A transfers page anchored with an id only contains transactions older than that id. A rollback can still
+	 * drop its transactions, and the anchor id is only valid on one node, so the page is only kept for about a block.
+	 */
+	static final TimeSpan ANCHORED_PAGE_MAX_AGE            = TimeSpan.fromSeconds(60);
+	/**
+	 * A full anchored page whose transactions are all final never changes, see {@link #isFinalTransfersPage}.
+	 */
+	static final TimeSpan FINAL_PAGE_MAX_AGE               = TimeSpan.fromHours(365 * 24);
+	static final TimeSpan ACCOUNT_INFO_MAX_AGE             = TimeSpan.fromSeconds(10);
+	static final TimeSpan UNCONFIRMED_TRANSACTIONS_MAX_AGE = TimeSpan.fromSeconds(5);
+
+	/**
+	 * @param path Request path.
+	 * @param id The id query parameter, if any.
+	 * @return How long the response stays fresh, or null if it must not be cached.
+	 */
+	@Nullable
+	static TimeSpan getMaxAge(@NonNull final String path, @Nullable final String id) {
+		switch (path) {
+			case NisApi.Paths.TRANSACTIONS_ALL:
+				// the newest page changes with every incoming transaction
+				return id != null ? ANCHORED_PAGE_MAX_AGE : null;
+			case NisApi.Paths.ACCOUNT_GET:
+				return ACCOUNT_INFO_MAX_AGE;
+			case NisApi.Paths.TRANSACTIONS_UNCONFIRMED:
+				return UNCONFIRMED_TRANSACTIONS_MAX_AGE;
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * @param transactionCount Number of transactions on the anchored page.
+	 * @param newestHeight Highest block height of the transactions on the page.
+	 * @param chainHeight Chain height of the server that returned the page, 0 if unknown.
+	 * @return true if the page is full and all its transactions are deeper than the rewrite limit,
+	 * so that it may be cached for {@link #FINAL_PAGE_MAX_AGE}.
+	 */
+	static boolean isFinalTransfersPage(final int transactionCount, final long newestHeight, final long chainHeight) {
+		return transactionCount >= TRANSFERS_PAGE_SIZE
+				&& chainHeight > 0
+				&& chainHeight - newestHeight > REWRITE_LIMIT_BLOCKS;
+	}
+}
@@ -0,0 +1,77 @@
+package org.nem.nac.http;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs at most one execution per key at a time.
+ * <br>
+ * A caller that asks for a key which is already being executed does not start its own execution,
+ * it waits for the running one and gets the same result or the same exception.
+ * Nothing is cached: once an execution finishes, the next call for its key starts a new one.
+ */
+final class SingleFlight<TKey, TValue> {
+
+	interface Execution<TValue> {
+		TValue execute() throws Exception;
+	}
+
+	private final ConcurrentMap<TKey, Flight<TValue>> _flights        = new ConcurrentHashMap<>();
+	private final AtomicLong                          _coalescedCount = new AtomicLong();
+
+	/**
+	 * Runs the execution, or joins the one already running for the key.
+	 *
+	 * @throws InterruptedException if the thread was interrupted while waiting for another caller's execution.
+	 */
+	TValue execute(@NonNull final TKey key, @NonNull final Execution<TValue> execution)
+			throws Exception {
+		final Flight<TValue> flight = new Flight<>();
+		final Flight<TValue> running = _flights.putIfAbsent(key, flight);
+		if (running != null) {
+			_coalescedCount.incrementAndGet();
+			return running.await();
+		}
+
+		try {
+			flight.value = execution.execute();
+			return flight.value;
+		} catch (Exception | Error e) {
+			flight.error = e;
+			throw e;
+		} finally {
+			_flights.remove(key, flight);
+			flight.done.countDown();
+		}
+	}
+
+	/**
+	 * @return the number of calls that joined an execution instead of starting one.
+	 */
+	long getCoalescedCount() {
+		return _coalescedCount.get();
+	}
+
+	private static final class Flight<TValue> {
+		final CountDownLatch done = new CountDownLatch(1);
+		// written before done is counted down, so await() sees them without volatile
+		TValue    value;
+		Throwable error;
+
+		TValue await()
+				throws Exception {
+			done.await();
+			if (error instanceof Error) {
+				throw (Error)error;
+			}
+			if (error != null) {
+				throw (Exception)error;
+			}
+			return value;
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package org.nem.nac.http;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import org.nem.nac.common.exceptions.NoNetworkException;
+import org.nem.nac.models.api.transactions.TransactionMetaDataPairApiDto;
+import org.nem.nac.models.api.transactions.TransactionMetaDataPairArrayApiDto;
+import org.nem.nac.models.network.Server;
+import org.nem.nac.models.primitives.AddressValue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the newest confirmed transfers of an account, the first two pages NIS returns.
+ * <br>
+ * The second page is anchored with the id of the last transaction of the first one. Transaction ids are database ids
+ * of one node, so the second page is requested from the server that answered the first one. If the first request was
+ * hedged, that is not necessarily the server it was sent to.
+ */
+public final class TransferPages {
+
+	interface PageSource {
+		ServerResponse<TransactionMetaDataPairArrayApiDto> getTransactions(Server server, AddressValue account, @Nullable Integer upToId)
+				throws NoNetworkException, ServerErrorException, IOException;
+	}
+
+	/**
+	 * @return the transfers of both pages, newest first.
+	 */
+	@NonNull
+	public static List<TransactionMetaDataPairApiDto> getNewest(@NonNull final NisApi api, @NonNull final Server server, @NonNull final AddressValue account)
+			throws NoNetworkException, ServerErrorException, IOException {
+		return getNewest(api::getTransactions, server, account);
+	}
+
+	static List<TransactionMetaDataPairApiDto> getNewest(final PageSource source, final Server server, final AddressValue account)
+			throws NoNetworkException, ServerErrorException, IOException {
+		final ServerResponse<TransactionMetaDataPairArrayApiDto> first = source.getTransactions(server, account, null);
+		final List<TransactionMetaDataPairApiDto> transactions = new ArrayList<>(first.model.data.length * 2);
+		Collections.addAll(transactions, first.model.data);
+		if (!transactions.isEmpty()) {
+			final TransactionMetaDataPairApiDto last = transactions.get(transactions.size() - 1);
+			final ServerResponse<TransactionMetaDataPairArrayApiDto> second = source.getTransactions(first.server, account, last.meta.id);
+			Collections.addAll(transactions, second.model.data);
+		}
+		return transactions;
+	}
+}
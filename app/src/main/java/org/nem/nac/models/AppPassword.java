@@ -1,18 +1,37 @@
 package org.nem.nac.models;
 
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import org.nem.nac.crypto.KdfParameters;
+
 public final class AppPassword {
 
 	/**
 	 * Password hash.
 	 */
-	public String     passwordHash;
+	public String        passwordHash;
 	/**
 	 * Application salt for deriving keys
 	 */
-	public BinaryData salt;
+	public BinaryData    salt;
+	/**
+	 * Work factors of hash and key, null for passwords set before work factors were calibrated.
+	 */
+	@Nullable
+	public KdfParameters kdfParameters;
 
-	public AppPassword(final String passwordHash, final BinaryData salt) {
+	public AppPassword(final String passwordHash, final BinaryData salt, @Nullable final KdfParameters kdfParameters) {
 		this.passwordHash = passwordHash;
 		this.salt = salt;
+		this.kdfParameters = kdfParameters;
+	}
+
+	/**
+	 * @return stored work factors or the ones used before calibration.
+	 */
+	@NonNull
+	public KdfParameters getKdfParameters() {
+		return kdfParameters != null ? kdfParameters : KdfParameters.legacy(passwordHash);
 	}
 }
@@ -0,0 +1,5 @@
+package org.nem.nac.models.api.chain;
+
+public final class BlockHeightApiDto {
+	public long height;
+}
@@ -0,0 +1,7 @@
+package org.nem.nac.models.api.node;
+
+import java.util.List;
+
+public final class NodeCollectionApiDto {
+	public List<NodeApiDto> data;
+}
@@ -11,6 +11,10 @@ public final class Server {
 	public String protocol;
 	public String host;
 	public Port   port;
+	/**
+	 * Added by peer discovery rather than by the user or as a predefined server.
+	 */
+	public boolean autoDiscovered;
 
 	public Server(String protocol, String host, Port port) {
 		this.protocol = protocol;
@@ -0,0 +1,30 @@
+package org.nem.nac.models.network;
+
+import org.nem.nac.common.TimeSpan;
+
+/**
+ * Health statistics of a server, kept across app restarts.
+ */
+public final class ServerStats {
+
+	/**
+	 * Moving average of the response time of successful requests.
+	 */
+	public final TimeSpan latency;
+	/**
+	 * Moving average of the share of successful requests, between 0 and 1.
+	 */
+	public final double   successRatio;
+	/**
+	 * Wall clock time of the last successful request in milliseconds, 0 if there was none.
+	 */
+	public final long     lastSeenMs;
+	public final int      sampleCount;
+
+	public ServerStats(final TimeSpan latency, final double successRatio, final long lastSeenMs, final int sampleCount) {
+		this.latency = latency;
+		this.successRatio = successRatio;
+		this.lastSeenMs = lastSeenMs;
+		this.sampleCount = sampleCount;
+	}
+}
@@ -313,10 +313,8 @@ public final class TransactionUpdatesChecker {
 //						.collect(Collectors.toList());
 				//return new KeyValuePair<>(_publicKey, Optional.of(transactions));
 			} catch (IOException | NoNetworkException | ServerErrorException e) {
+				// a failed request is recorded by NisApi, the next check ranks the servers again
 				Timber.w("Failed to check for updates %s", _publicKey);
-				if (e instanceof IOException) {
-					ServerFinder.instance().clearBest();
-				}
 				return null;
 			}
 		}
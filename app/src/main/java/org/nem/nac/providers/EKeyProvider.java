@@ -4,7 +4,9 @@ import android.util.Log;
 
 import com.annimon.stream.Optional;
 
+import org.nem.core.crypto.ed25519.Ed25519SharedPointCache;
 import org.nem.nac.common.utils.LogUtils;
+import org.nem.nac.crypto.SessionKeyVault;
 import org.nem.nac.log.LogTags;
 import org.nem.nac.models.BinaryData;
 
@@ -18,7 +20,17 @@ public final class EKeyProvider {
 		return _instance;
 	}
 
+	private static final int SHARED_POINTS_CAPACITY = 256;
+
 	private BinaryData _key;
+	/**
+	 * ECDH points of the current session, only valid while the key is set.
+	 */
+	private final Ed25519SharedPointCache _sharedPointCache = new Ed25519SharedPointCache(SHARED_POINTS_CAPACITY);
+	/**
+	 * Account keys decrypted with the current key, opened and wiped together with it.
+	 */
+	private final SessionKeyVault _keyVault = new SessionKeyVault();
 
 	private EKeyProvider() {
 	}
@@ -28,8 +40,18 @@ public final class EKeyProvider {
 		return Optional.ofNullable(_key);
 	}
 
+	public Ed25519SharedPointCache getSharedPointCache() {
+		return _sharedPointCache;
+	}
+
+	public SessionKeyVault getKeyVault() {
+		return _keyVault;
+	}
+
 	public synchronized void setKey(final BinaryData key) {
 		_key = key;
+		_sharedPointCache.clear();
+		_keyVault.open(key);
 		LogUtils.conditional(Log.WARN, LogTags.EKEY_GET_SET.isLogged, LogTags.EKEY_GET_SET.name, "Key set to: %s", key);
 	}
 }
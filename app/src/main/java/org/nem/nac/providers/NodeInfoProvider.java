@@ -3,6 +3,7 @@ package org.nem.nac.providers;
 import com.annimon.stream.Optional;
 import com.squareup.okhttp.Call;
 import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
 
 import org.nem.nac.common.exceptions.NacException;
 import org.nem.nac.common.models.TimeValue;
@@ -46,14 +47,19 @@ public final class NodeInfoProvider extends AbstractProvider<NodeInfo> {
 			.getCall(HttpClient.instance());
 
 		final Response response = call.execute();
-		if (response.isSuccessful()) {
-			final NisNodeInfoApiDto apiDto = JsonUtils.fromJson(response.body().string(), NisNodeInfoApiDto.class);
-			data.set(new NodeInfo(apiDto.nisInfo.currentTime));
-		}
-		else {
-			final ErrorObjectApiDto error = JsonUtils.fromJson(response.body().string(), ErrorObjectApiDto.class);
-			final ApiError apiError = new ApiError(error.status, error.error, error.message);
-			throw new IOException(apiError.toString());
+		final ResponseBody body = response.body();
+		try {
+			if (response.isSuccessful()) {
+				final NisNodeInfoApiDto apiDto = JsonUtils.fromJson(body.byteStream(), NisNodeInfoApiDto.class);
+				data.set(new NodeInfo(apiDto.nisInfo.currentTime));
+			}
+			else {
+				final ErrorObjectApiDto error = JsonUtils.fromJson(body.byteStream(), ErrorObjectApiDto.class);
+				final ApiError apiError = new ApiError(error.status, error.error, error.message);
+				throw new IOException(apiError.toString());
+			}
+		} finally {
+			body.close();
 		}
 	}
 }
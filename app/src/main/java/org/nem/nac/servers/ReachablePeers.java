@@ -0,0 +1,40 @@
+package org.nem.nac.servers;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import org.nem.nac.common.enums.NetworkVersion;
+import org.nem.nac.models.api.node.NodeApiDto;
+import org.nem.nac.models.api.node.NodeCollectionApiDto;
+import org.nem.nac.models.network.Server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns the /node/peer-list/reachable answer of a server into servers the app can use.
+ */
+final class ReachablePeers {
+
+	/**
+	 * Nodes without endpoint or metadata, and nodes of another network, are left out.
+	 *
+	 * @return the servers of the nodes, in the order NIS listed them.
+	 */
+	@NonNull
+	static List<Server> toServers(@Nullable final NodeCollectionApiDto nodes, @NonNull final NetworkVersion network) {
+		final List<Server> peers = new ArrayList<>();
+		if (nodes == null || nodes.data == null) {
+			return peers;
+		}
+		for (NodeApiDto node : nodes.data) {
+			// NIS reports the network id as a signed byte, e.g. -104 for the test network
+			if (node == null || node.endpoint == null || node.metaData == null
+					|| (byte)node.metaData.networkId != network.get()) {
+				continue;
+			}
+			peers.add(new Server(node.endpoint.protocol, node.endpoint.host, node.endpoint.port));
+		}
+		return peers;
+	}
+}
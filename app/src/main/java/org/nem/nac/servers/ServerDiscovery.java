@@ -0,0 +1,263 @@
+package org.nem.nac.servers;
+
+import android.support.annotation.NonNull;
+
+import org.nem.nac.application.AppConstants;
+import org.nem.nac.common.ThreadPoolExecutorFactory;
+import org.nem.nac.common.TimeSpan;
+import org.nem.nac.common.exceptions.NoNetworkException;
+import org.nem.nac.http.NisApi;
+import org.nem.nac.models.network.Server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import timber.log.Timber;
+
+/**
+ * Grows the server pool with peers of the healthy servers.
+ * <br>
+ * A run asks the best few servers for the peers they can reach, probes the unknown ones in parallel batches
+ * of bounded size and adds the best of them to {@link ServerManager} as auto-discovered. Auto-discovered servers
+ * that fail their probe and are unhealthy are removed. Predefined and user added servers are never removed.
+ */
+public final class ServerDiscovery {
+
+	static final int MAX_SOURCES         = 3;
+	static final int MAX_CANDIDATES      = 64;
+	static final int BATCH_SIZE          = 8;
+	static final int MAX_AUTO_DISCOVERED = 5;
+
+	private static final TimeSpan PROBE_TIMEOUT         = TimeSpan.fromSeconds(10);
+	private static final TimeSpan FIRST_DISCOVERY_DELAY = TimeSpan.fromMinutes(1);
+	private static final TimeSpan DISCOVERY_INTERVAL    = TimeSpan.fromMinutes(30);
+
+	private static ServerDiscovery _instance;
+
+	public static synchronized ServerDiscovery instance() {
+		if (_instance == null) {
+			final ServerHealthMonitor health = ServerHealthMonitor.instance();
+			_instance = new ServerDiscovery(health, new ServerManagerPool(),
+					server -> ReachablePeers.toServers(new NisApi().getReachablePeers(server).model, AppConstants.NETWORK_VERSION),
+					health::probe);
+		}
+		return _instance;
+	}
+
+	/**
+	 * Lists the peers a server can reach, of this app's network.
+	 */
+	interface PeerSource {
+		@NonNull
+		List<Server> getPeers(@NonNull Server server)
+				throws Exception;
+	}
+
+	/**
+	 * The servers the app chooses from.
+	 */
+	interface Pool {
+		@NonNull
+		Collection<Server> getAll();
+
+		void add(@NonNull Server server);
+
+		void remove(@NonNull Server server);
+	}
+
+	private final ServerHealthMonitor   _health;
+	private final Pool                  _pool;
+	private final PeerSource            _peers;
+	private final ServerFinder.Heartbeat _prober;
+	private final ThreadPoolExecutor    _probeExecutor;
+	private ScheduledExecutorService _scheduler;
+	private long                     _lastDiscoveryMs;
+
+	ServerDiscovery(final ServerHealthMonitor health, final Pool pool, final PeerSource peers, final ServerFinder.Heartbeat prober) {
+		_health = health;
+		_pool = pool;
+		_peers = peers;
+		_prober = prober;
+		_probeExecutor = ThreadPoolExecutorFactory.createExecutor(BATCH_SIZE, BATCH_SIZE, 1000);
+		_probeExecutor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Starts periodic discovery, if not started yet. After a {@link #stop()} the next discovery is due
+	 * one interval after the last one, but not earlier than the first delay.
+	 */
+	public synchronized void start() {
+		if (_scheduler != null) {
+			return;
+		}
+		long delayMs = (long)FIRST_DISCOVERY_DELAY.toMilliSeconds();
+		if (_lastDiscoveryMs > 0) {
+			final long dueMs = _lastDiscoveryMs + (long)DISCOVERY_INTERVAL.toMilliSeconds();
+			delayMs = Math.max(delayMs, dueMs - System.currentTimeMillis());
+		}
+		_scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "ServerDiscovery");
+			thread.setDaemon(true);
+			return thread;
+		});
+		_scheduler.scheduleWithFixedDelay(() -> {
+			synchronized (this) {
+				_lastDiscoveryMs = System.currentTimeMillis();
+			}
+			try {
+				discover();
+			} catch (NoNetworkException e) {
+				Timber.d("No network, discovery skipped");
+			} catch (InterruptedException e) {
+				Timber.d("Discovery stopped");
+			} catch (Throwable throwable) {
+				// an exception would end the scheduled discovery
+				Timber.e(throwable, "Server discovery failed");
+			}
+		}, delayMs, (long)DISCOVERY_INTERVAL.toMilliSeconds(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops periodic discovery, a running discovery is interrupted.
+	 */
+	public synchronized void stop() {
+		if (_scheduler == null) {
+			return;
+		}
+		_scheduler.shutdownNow();
+		_scheduler = null;
+	}
+
+	/**
+	 * Runs one discovery.
+	 *
+	 * @return the servers added.
+	 * @throws NoNetworkException when the device is offline, nothing is removed then.
+	 */
+	@NonNull
+	List<Server> discover()
+			throws NoNetworkException, InterruptedException {
+		final List<Server> pool = new ArrayList<>(_pool.getAll());
+
+		final List<Server> autoDiscovered = new ArrayList<>();
+		for (Server server : pool) {
+			if (server.autoDiscovered) {
+				autoDiscovered.add(server);
+			}
+		}
+		final Map<Server, TimeSpan> autoAnswered = probeAll(autoDiscovered);
+		int kept = 0;
+		for (Server server : autoDiscovered) {
+			// one failed probe is not enough, the server must be failing for a while
+			if (!autoAnswered.containsKey(server) && _health.isKnownUnhealthy(server)) {
+				Timber.i("Removing dead auto-discovered server %s", server);
+				_pool.remove(server);
+			}
+			else {
+				kept++;
+			}
+		}
+		if (kept >= MAX_AUTO_DISCOVERED) {
+			return new ArrayList<>();
+		}
+
+		final Set<Server> known = new HashSet<>(pool);
+		final Set<Server> candidates = new LinkedHashSet<>();
+		final List<Server> sources = _health.rank(pool);
+		for (Server source : sources.subList(0, Math.min(MAX_SOURCES, sources.size()))) {
+			try {
+				for (Server peer : _peers.getPeers(source)) {
+					if (candidates.size() < MAX_CANDIDATES && !known.contains(peer)) {
+						candidates.add(peer);
+					}
+				}
+			} catch (InterruptedException e) {
+				throw e;
+			} catch (Exception e) {
+				Timber.w("Failed to get peers of %s: %s", source, e.toString());
+			}
+		}
+		Timber.d("Discovery found %d candidates at %d servers", candidates.size(), sources.size());
+
+		// ranking the answered candidates also leaves out the ones lagging the chain of the pool
+		final List<Server> best = _health.rank(probeAll(new ArrayList<>(candidates)).keySet(), pool);
+		final List<Server> added = new ArrayList<>(best.subList(0, Math.min(MAX_AUTO_DISCOVERED - kept, best.size())));
+		for (Server server : added) {
+			Timber.i("Adding auto-discovered server %s", server);
+			server.autoDiscovered = true;
+			_pool.add(server);
+		}
+		return added;
+	}
+
+	/**
+	 * Probes the servers, at most {@link #BATCH_SIZE} at a time.
+	 *
+	 * @return the response times of the servers that answered.
+	 */
+	private Map<Server, TimeSpan> probeAll(final List<Server> servers)
+			throws NoNetworkException, InterruptedException {
+		final Map<Server, TimeSpan> answered = new HashMap<>();
+		for (int from = 0; from < servers.size(); from += BATCH_SIZE) {
+			final List<Server> batch = servers.subList(from, Math.min(servers.size(), from + BATCH_SIZE));
+			final List<Future<TimeSpan>> futures = new ArrayList<>(batch.size());
+			for (final Server server : batch) {
+				futures.add(_probeExecutor.submit(() -> _prober.heartbeat(server)));
+			}
+			final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos((long)PROBE_TIMEOUT.toMilliSeconds());
+			try {
+				for (int i = 0; i < batch.size(); i++) {
+					try {
+						final TimeSpan responseTime = futures.get(i).get(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+						if (responseTime != null) {
+							answered.put(batch.get(i), responseTime);
+						}
+					} catch (ExecutionException e) {
+						if (e.getCause() instanceof NoNetworkException) {
+							throw (NoNetworkException)e.getCause();
+						}
+						Timber.d("Probe of %s failed: %s", batch.get(i), e.getCause());
+					} catch (TimeoutException e) {
+						Timber.d("Probe of %s timed out", batch.get(i));
+					}
+				}
+			} finally {
+				for (Future<TimeSpan> future : futures) {
+					future.cancel(true);
+				}
+			}
+		}
+		return answered;
+	}
+
+	private static final class ServerManagerPool implements Pool {
+		@NonNull
+		@Override
+		public Collection<Server> getAll() {
+			return ServerManager.instance().getAllServers().values();
+		}
+
+		@Override
+		public void add(@NonNull final Server server) {
+			ServerManager.instance().addServer(server);
+		}
+
+		@Override
+		public void remove(@NonNull final Server server) {
+			ServerManager.instance().remove(server.id);
+		}
+	}
+}
@@ -1,270 +1,441 @@
 package org.nem.nac.servers;
 
-import android.os.ConditionVariable;
-import android.os.Looper;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.annotation.WorkerThread;
 
 import com.annimon.stream.Optional;
-import com.annimon.stream.Stream;
+import com.annimon.stream.function.Consumer;
+import com.annimon.stream.function.Supplier;
 
 import org.nem.nac.common.ThreadPoolExecutorFactory;
 import org.nem.nac.common.TimeSpan;
-import org.nem.nac.http.NisApi;
-import org.nem.nac.http.ServerResponse;
 import org.nem.nac.models.network.Server;
+import org.nem.nac.models.network.ServerStats;
 import org.nem.nac.providers.NodeInfoProvider;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
-import java.util.concurrent.Callable;
-import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReentrantLock;
 
 import timber.log.Timber;
 
+/**
+ * Picks the NIS server to talk to.
+ * <br>
+ * The ranking comes from {@link ServerHealthMonitor}, which keeps it current in the background,
+ * so the best server is normally known without waiting. Callers get the last known good server at once,
+ * when it is stale a scan of all servers is started on the refresh thread and its result serves later calls.
+ * The best server of the previous app run is the first last known good one, so callers have to wait for
+ * the scan only when no server was ever found.
+ */
 public final class ServerFinder {
 
-	private static final int SERVER_SEARCH_VALIDITY_TIME_MS = 300000;
-	private static final int                        FIND_SERVER_TIMEOUT_MS         = 20000;
-	private static final int                        WAITERS_TIMEOUT_MS             = 25000;
-	private static final int                        HEARTBEATS_TIMEOUT_MS          = 10000;
-	private static final Comparator<ServerResponse> SMALLER_TIME_FIRST_COMPARATOR  =
-			(lhs, rhs) -> lhs.responseTime.isLessThan(rhs.responseTime) ? 1 : -1;
+	private static final int                  FIND_SERVER_TIMEOUT_MS        = 20000;
+	private static final int                  HEARTBEATS_TIMEOUT_MS         = 10000;
+	private static final int                  HEARTBEAT_THREADS             = 8;
+	private static final TimeSpan             VERY_FAST                     = TimeSpan.fromSeconds(1);
+	/**
+	 * The best server not seen for this long is still used, but a scan is started.
+	 */
+	static final         TimeSpan             STALE_AFTER                   = TimeSpan.fromMinutes(2);
+	// never returns 0, so that servers with equal times are all kept in a sorted set
+	private static final Comparator<Answer>   SMALLER_TIME_FIRST_COMPARATOR =
+			(lhs, rhs) -> lhs.responseTime.isLessThan(rhs.responseTime) ? -1 : 1;
 
 	private static ServerFinder _instance;
 
 	public static synchronized ServerFinder instance() {
 		if (_instance == null) {
-			_instance = new ServerFinder();
+			final ServerHealthMonitor health = ServerHealthMonitor.instance();
+			_instance = new ServerFinder(health, () -> ServerManager.instance().getAllServers().values(), health::probe);
+			_instance.restore(ServerManager.instance().getStats());
+			health.startProbing();
+			ServerDiscovery.instance().start();
 		}
 		return _instance;
 	}
 
-	private final AtomicReference<Server> _best              = new AtomicReference<>(null);
-	private final AtomicReference<Long>   _lastFoundNanoTime = new AtomicReference<>(0L);
-	private final ConditionVariable       _findConditionVar  = new ConditionVariable(true);
-	private final ReentrantLock           _lock              = new ReentrantLock(true);
+	/**
+	 * Stops the background probing and discovery, if they were started.
+	 */
+	public static synchronized void pauseMonitoring() {
+		if (_instance != null) {
+			ServerHealthMonitor.instance().stopProbing();
+			ServerDiscovery.instance().stop();
+		}
+	}
 
-	private ServerFinder() {
+	/**
+	 * Restarts the background probing and discovery, if they were started before.
+	 */
+	public static synchronized void resumeMonitoring() {
+		if (_instance != null) {
+			ServerHealthMonitor.instance().startProbing();
+			ServerDiscovery.instance().start();
+		}
 	}
 
-	public void clearBest() {
-		final Thread thread = Thread.currentThread();
-		try {
-			Timber.d("Thread %d wants to clear server", thread.getId());
-			if (!_lock.tryLock(WAITERS_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
-				Timber.e("Clear waiter %d timeout!", thread.getId());
-				return;
-			}
-			_best.set(null);
-			_lock.unlock();
-		} catch (InterruptedException e) {
-			Timber.e("Clear waiter %d interrupted!", thread.getId());
-			_lock.unlock();
+	/**
+	 * Contacts a server. Implementations record the outcome in the health monitor.
+	 */
+	interface Heartbeat {
+		/**
+		 * @return the response time, or null if the server answered it is not ready.
+		 */
+		@Nullable
+		TimeSpan heartbeat(@NonNull Server server)
+				throws Exception;
+	}
+
+	private final ServerHealthMonitor          _health;
+	private final Supplier<Collection<Server>> _servers;
+	private final Heartbeat                    _heartbeat;
+	/**
+	 * Server chosen by the user, preferred while it is not known to fail.
+	 */
+	private final AtomicReference<Server>      _pinned   = new AtomicReference<>(null);
+	/**
+	 * Server returned last, given out while a scan looks for a better one.
+	 */
+	private final AtomicReference<Server>      _lastGood = new AtomicReference<>(null);
+	private final ExecutorService              _refresher;
+	private final ThreadPoolExecutor           _heartbeatExecutor;
+	private final Object                       _refreshLock = new Object();
+	/**
+	 * The scan in progress, null if none. Guarded by _refreshLock.
+	 */
+	private Refresh _refresh;
+
+	ServerFinder(final ServerHealthMonitor health, final Supplier<Collection<Server>> servers, final Heartbeat heartbeat) {
+		_health = health;
+		_servers = servers;
+		_heartbeat = heartbeat;
+		_refresher = Executors.newSingleThreadExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "ServerFinder");
+			thread.setDaemon(true);
+			return thread;
+		});
+		_heartbeatExecutor = ThreadPoolExecutorFactory.createExecutor(HEARTBEAT_THREADS, HEARTBEAT_THREADS, 1000);
+		_heartbeatExecutor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Takes over persisted statistics. The best server among them is used until a scan finds a better one.
+	 */
+	void restore(final Map<Server, ServerStats> stats) {
+		final Optional<Server> lastBest = _health.restore(stats);
+		if (lastBest.isPresent()) {
+			Timber.d("Best server of the last run: %s", lastBest.get());
+			_lastGood.compareAndSet(null, lastBest.get());
 		}
 	}
 
+	/**
+	 * Reports that a request to the server failed, so that it is not given out as the last good server anymore.
+	 * <br>
+	 * NisApi has recorded the failure in the health monitor already, which moves the server down the ranking
+	 * and starts a scan when no healthy server is left. This records nothing and starts no scan itself.
+	 */
+	public void reportFailure(@NonNull final Server server) {
+		Timber.d("Server %s reported failing", server);
+		_lastGood.compareAndSet(server, null);
+	}
+
 	public void setBest(final Server server) {
-		final Thread thread = Thread.currentThread();
-		try {
-			Timber.d("Thread %d wants to set server %s", thread.getId(), server);
-			if (!_lock.tryLock(WAITERS_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
-				Timber.e("Set waiter %d timeout!", thread.getId());
-				return;
-			}
-			_best.set(server);
-			NodeInfoProvider.instance().clearData();
-			_lock.unlock();
-		} catch (InterruptedException e) {
-			Timber.e("Set waiter %d interrupted!", thread.getId());
-			_lock.unlock();
-		}
+		Timber.d("Server %s chosen", server);
+		_pinned.set(server);
+		_lastGood.set(server);
+		NodeInfoProvider.instance().clearData();
 	}
 
 	/**
 	 * Returns immediate best server value, or empty if not exist. No scanning involved.
 	 */
 	public Optional<Server> peekBest() {
-		return Optional.ofNullable(_best.get());
+		final List<Server> ranking = getRanking();
+		return ranking.isEmpty() ? Optional.<Server>empty() : Optional.of(ranking.get(0));
 	}
 
+	/**
+	 * Returns the healthy servers, best first, without scanning.
+	 * The first one is the best server, the others can take over requests the best one is slow to answer.
+	 */
+	public List<Server> getRanking() {
+		final List<Server> ranking = _health.rank(new ArrayList<>(_servers.get()));
+		final Server pinned = _pinned.get();
+		if (pinned != null && !_health.isKnownUnhealthy(pinned)) {
+			ranking.remove(pinned);
+			ranking.add(0, pinned);
+		}
+		return ranking;
+	}
+
+	/**
+	 * Starts a scan if no server is known yet.
+	 */
 	public void getBestAsync() {
-		new Thread(this::getBest).start();
+		getBestAsync(server -> { });
+	}
+
+	/**
+	 * Calls back with the best server, or empty if none answered. The callback runs at once on this thread
+	 * if a server is known, otherwise on a background thread when the scan finds one.
+	 */
+	public void getBestAsync(@NonNull final Consumer<Optional<Server>> callback) {
+		final Optional<Server> best = getKnownBest();
+		if (best.isPresent()) {
+			callback.accept(best);
+			return;
+		}
+		startRefresh().whenDone(callback);
 	}
 
 	/**
-	 * Returns best server if already exists. Finds new best if not.
+	 * Returns the last known good server without waiting. Waits for a scan only if no server was found yet.
 	 */
 	@WorkerThread
 	public Optional<Server> getBest() {
-		Timber.d("getBest()");
-		final Thread thread = Thread.currentThread();
-		if (Looper.getMainLooper().equals(Looper.myLooper())) {
-			Timber.e("Called from main thread!");
+		final Optional<Server> best = getKnownBest();
+		if (best.isPresent()) {
+			return best;
 		}
 
+		Timber.d("getBest(), no server known, waiting for the scan");
 		try {
-			Timber.d("Thread %d comes for server", thread.getId());
-			if (!_lock.tryLock(WAITERS_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
-				Timber.e("Waiter %d timeout!", thread.getId());
-				return Optional.empty();
+			final Optional<Server> found = startRefresh().await(FIND_SERVER_TIMEOUT_MS);
+			if (!found.isPresent()) {
+				Timber.e("Best server not found!");
 			}
+			return found;
 		} catch (InterruptedException e) {
-			Timber.e("Waiter %d interrupted!", thread.getId());
+			Timber.e("Waiter %d interrupted!", Thread.currentThread().getId());
+			Thread.currentThread().interrupt();
 			return Optional.empty();
 		}
+	}
 
-		// Only one thread here
-		try {
-			Timber.d("Lock acquired by %d", thread.getId());
-			final Server best = _best.get();
-			final long lastFoundNanoTime = _lastFoundNanoTime.get();
-			if (best != null
-					&& TimeSpan.fromNanoSeconds(System.nanoTime())
-					.subtract(TimeSpan.fromNanoSeconds(lastFoundNanoTime))
-					.isLessThan(TimeSpan.fromMilliSeconds(SERVER_SEARCH_VALIDITY_TIME_MS))) {
-				Timber.d("Server exists and still valid, returning: %s", best);
-				return Optional.of(best);
+	/**
+	 * Returns the ranking head, or the last good server if the ranking is empty. Starts a scan if the
+	 * returned server is stale.
+	 */
+	private Optional<Server> getKnownBest() {
+		final Optional<Server> best = peekBest();
+		if (best.isPresent()) {
+			_lastGood.set(best.get());
+			final ServerHealthMonitor.Health health = _health.getHealth(best.get());
+			if (health == null
+					|| System.currentTimeMillis() - health.getLastSeenMs() > STALE_AFTER.toMilliSeconds()) {
+				startRefresh();
 			}
-			NodeInfoProvider.instance().clearData();
+			return best;
+		}
+		final Server lastGood = _lastGood.get();
+		if (lastGood != null) {
+			Timber.d("No healthy server known, returning last good %s", lastGood);
+			startRefresh();
+			return Optional.of(lastGood);
+		}
+		return Optional.empty();
+	}
 
-			Timber.d("%d/%s finding server...", thread.getId(), thread.getName());
+	/**
+	 * Starts a scan on the refresh thread, unless one is in progress.
+	 *
+	 * @return the scan in progress.
+	 */
+	private Refresh startRefresh() {
+		synchronized (_refreshLock) {
+			if (_refresh == null) {
+				final Refresh refresh = new Refresh();
+				_refresh = refresh;
+				_refresher.execute(() -> runRefresh(refresh));
+			}
+			return _refresh;
+		}
+	}
 
-			_findConditionVar.close();
-			Timber.d("Find condition close");
-			final Thread findThread = new Thread(() -> {
-				try {
-					Timber.d("Find server thread started.");
-					final Optional<Server> newBest = find();
-					_lastFoundNanoTime.set(System.nanoTime());
-					_best.set(newBest.isPresent() ? newBest.get() : null);
-					Timber.d("New best found and set: %s", newBest);
-				} catch (Throwable throwable) {
-					Timber.e(throwable, "Server finder thread failed!");
-				} finally {
-					Timber.d("Find condition open");
-					_findConditionVar.open();
-				}
+	private void runRefresh(final Refresh refresh) {
+		Timber.d("Server scan started");
+		try {
+			// heartbeats are recorded by the health monitor, so the ranking fills as they come in
+			final List<Server> answered = find(fast -> {
+				// release the waiters now, the other heartbeats only complete the ranking
+				Timber.d("Very fast server found: %s", fast);
+				refresh.complete(bestOr(fast));
 			});
-			findThread.start();
-
-			if (!_findConditionVar.block(FIND_SERVER_TIMEOUT_MS)) {
-				Timber.e("Find server timeout!");
-				return Optional.empty();
-			}
-			if (_best.get() == null) {
-				Timber.e("Best server not found!");
-				return Optional.empty();
-			}
-			Timber.d("Best server found: %s", _best.get());
-			return Optional.of(_best.get());
+			Timber.d("Scan finished, servers answered: %s", answered);
+		} catch (Throwable throwable) {
+			Timber.e(throwable, "Server scan failed!");
 		} finally {
-			// Release others
-			_lock.unlock();
-			Timber.d("Lock released by %d", thread.getId());
+			synchronized (_refreshLock) {
+				_refresh = null;
+			}
+			refresh.complete(bestOr(null));
 		}
 	}
 
+	private Optional<Server> bestOr(@Nullable final Server fallback) {
+		final Optional<Server> best = peekBest();
+		if (best.isPresent()) {
+			_lastGood.set(best.get());
+			return best;
+		}
+		return Optional.ofNullable(fallback);
+	}
+
 	/**
-	 * Finds best server
+	 * Heartbeats all servers and ranks the ones that answered, fastest first.
+	 *
+	 * @param onVeryFast Called once with the first server that answers very fast, it is put first in the ranking.
 	 */
 	@NonNull
-	private Optional<Server> find() {
-		final ServerManager serverManager = ServerManager.instance();
-		final Map<Long, Server> servers = serverManager.getAllServers();
+	private List<Server> find(@NonNull final Consumer<Server> onVeryFast) {
+		final List<Server> servers = new ArrayList<>(_servers.get());
 
-		if (servers.size() == 1) {
-			Timber.d("Found one server in list, returning");
-			return Optional.of(servers.values().iterator().next());
-		}
+		// a single server is heartbeated too, the health monitor only ranks servers that answered
 		if (servers.isEmpty()) {
 			Timber.d("No servers in list");
-			return Optional.empty();
+			return Collections.emptyList();
 		}
 
-		final ThreadPoolExecutor executor = ThreadPoolExecutorFactory.createDefaultExecutor();
-
-		final NisApi api = new NisApi();
-		List<Callable<ServerResponse<Boolean>>> tasks = new ArrayList<>(servers.size());
-		SortedSet<ServerResponse> successfulResponses = new TreeSet<>(SMALLER_TIME_FIRST_COMPARATOR);
-		Stream.of(servers)
-				.forEach(x -> tasks.add(() -> {
-					Timber.d("Heartbeat task started: %s", x.getValue());
-					final ServerResponse<Boolean> response = api.heartbeat(x.getValue());
-					Timber.d("Heartbeat task ended: %s", x.getValue());
-					return response;
-				}));
-
-		Timber.d("Invoking futures");
-		//final List<Future<ServerResponse<Boolean>>> finishedFutures = executor.invokeAll(tasks, HEARTBEATS_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-		final CompletionService<ServerResponse<Boolean>> completionService =
-				new ExecutorCompletionService<ServerResponse<Boolean>>(executor);
-
-		List<Future<ServerResponse<Boolean>>> futures = new ArrayList<>();
-		for (Callable<ServerResponse<Boolean>> task : tasks) {
-			futures.add(completionService.submit(task));
+		final CompletionService<Answer> completionService = new ExecutorCompletionService<>(_heartbeatExecutor);
+		final List<Future<Answer>> futures = new ArrayList<>(servers.size());
+		for (final Server server : servers) {
+			futures.add(completionService.submit(() -> new Answer(server, _heartbeat.heartbeat(server))));
 		}
-		executor.shutdown();
-
-		final TimeSpan start = TimeSpan.now();
-		final TimeSpan timeout = TimeSpan.fromMilliSeconds(HEARTBEATS_TIMEOUT_MS);
-		final TimeSpan veryFast = TimeSpan.fromSeconds(1);
 
-		while (true) {
-			try {
-				if (TimeSpan.now().subtract(start).isGreaterThan(timeout)) {
-					break;
-				}
-				//
-				final Future<ServerResponse<Boolean>> future = completionService.poll(10L, TimeUnit.MILLISECONDS);
+		final SortedSet<Answer> successfulAnswers = new TreeSet<>(SMALLER_TIME_FIRST_COMPARATOR);
+		final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(HEARTBEATS_TIMEOUT_MS);
+		Server veryFastServer = null;
+		try {
+			for (int completed = 0; completed < futures.size(); completed++) {
+				final Future<Answer> future = completionService.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
 				if (future == null) {
-					continue;
+					Timber.w("Heartbeats timeout, %d of %d servers answered", completed, futures.size());
+					break;
 				}
-				//
-				final ServerResponse<Boolean> response = future.get();
-				final boolean isSuccessful = response.model;
-				Timber.d("Response \"%s\" from server %s in %s", (isSuccessful ? "Success" : "Failure"), response.server, response.responseTime);
-
-				if (isSuccessful) {
-					if (response.responseTime.isLessThan(veryFast)) {
-						for (Future<ServerResponse<Boolean>> f : futures) {
-							if (!f.equals(future)) {
-								f.cancel(true);
-							}
+				try {
+					final Answer answer = future.get();
+					final boolean isSuccessful = answer.responseTime != null;
+					Timber.d("Response \"%s\" from server %s in %s", (isSuccessful ? "Success" : "Failure"), answer.server, answer.responseTime);
+
+					if (isSuccessful) {
+						// keep collecting after a very fast answer, the slower servers are the hedging candidates
+						if (veryFastServer == null && answer.responseTime.isLessThan(VERY_FAST)) {
+							veryFastServer = answer.server;
+							onVeryFast.accept(veryFastServer);
 						}
-						return Optional.of(response.server);
+						successfulAnswers.add(answer);
 					}
-					successfulResponses.add(response);
+				} catch (ExecutionException e) {
+					Timber.w(e, "Failed to heartbeat server");
 				}
-			} catch (CancellationException | InterruptedException e) {
-				Timber.d(e, "Find server canceled");
-			} catch (ExecutionException e) {
-				Timber.w(e, "Failed to heartbeat server");
-			} catch (Throwable throwable) {
-				Timber.e(throwable, "Fatal error");
+			}
+		} catch (InterruptedException e) {
+			Timber.d(e, "Find server canceled");
+			Thread.currentThread().interrupt();
+		} finally {
+			for (Future<Answer> f : futures) {
+				f.cancel(true);
 			}
 		}
 
-		Timber.d("Futures finished");
-
-		if (successfulResponses.isEmpty()) {
+		if (successfulAnswers.isEmpty()) {
 			Timber.e("No successful responses!");
-			return Optional.empty();
+			return Collections.emptyList();
+		}
+		final List<Server> ranking = new ArrayList<>(successfulAnswers.size());
+		if (veryFastServer != null) {
+			ranking.add(veryFastServer);
+		}
+		for (Answer answer : successfulAnswers) {
+			if (!answer.server.equals(veryFastServer)) {
+				ranking.add(answer.server);
+			}
+		}
+		Timber.i("Best server selected: %s", ranking.get(0));
+		return Collections.unmodifiableList(ranking);
+	}
+
+	private static final class Answer {
+		final Server   server;
+		final TimeSpan responseTime;
+
+		Answer(final Server server, @Nullable final TimeSpan responseTime) {
+			this.server = server;
+			this.responseTime = responseTime;
+		}
+	}
+
+	/**
+	 * Result of one scan, set by the first very fast answer or by the end of the scan.
+	 */
+	private static final class Refresh {
+		private final CountDownLatch                    _done      = new CountDownLatch(1);
+		private final List<Consumer<Optional<Server>>>  _callbacks = new ArrayList<>();
+		private       Optional<Server>                  _result;
+
+		void complete(final Optional<Server> result) {
+			final List<Consumer<Optional<Server>>> callbacks;
+			synchronized (this) {
+				if (_result != null) {
+					return;
+				}
+				_result = result;
+				callbacks = new ArrayList<>(_callbacks);
+				_callbacks.clear();
+			}
+			_done.countDown();
+			for (Consumer<Optional<Server>> callback : callbacks) {
+				deliver(callback, result);
+			}
+		}
+
+		void whenDone(final Consumer<Optional<Server>> callback) {
+			final Optional<Server> result;
+			synchronized (this) {
+				if (_result == null) {
+					_callbacks.add(callback);
+					return;
+				}
+				result = _result;
+			}
+			deliver(callback, result);
+		}
+
+		Optional<Server> await(final long timeoutMs)
+				throws InterruptedException {
+			if (!_done.await(timeoutMs, TimeUnit.MILLISECONDS)) {
+				Timber.e("Find server timeout!");
+				return Optional.empty();
+			}
+			synchronized (this) {
+				return _result;
+			}
+		}
+
+		private static void deliver(final Consumer<Optional<Server>> callback, final Optional<Server> result) {
+			try {
+				callback.accept(result);
+			} catch (Throwable throwable) {
+				Timber.e(throwable, "Server callback failed");
+			}
 		}
-		final ServerResponse fastest = successfulResponses.first();
-		Timber.i("Best server selected: %s", fastest.server);
-		return Optional.of(fastest.server);
 	}
 }
@@ -0,0 +1,473 @@
+package org.nem.nac.servers;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.annimon.stream.Optional;
+
+import org.nem.nac.common.ThreadPoolExecutorFactory;
+import org.nem.nac.common.TimeSpan;
+import org.nem.nac.common.exceptions.NoNetworkException;
+import org.nem.nac.http.NisApi;
+import org.nem.nac.http.ServerResponse;
+import org.nem.nac.models.api.chain.BlockHeightApiDto;
+import org.nem.nac.models.network.Server;
+import org.nem.nac.models.network.ServerStats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import timber.log.Timber;
+
+/**
+ * Keeps the health of each NIS server up to date, so that the best server is known without scanning.
+ * <br>
+ * Health is updated passively by every request {@link NisApi} makes and actively by a slow probe loop that
+ * heartbeats one server at a time, the one probed longest ago first. Per server it keeps an EWMA of the response time,
+ * an EWMA of the success ratio and the time of the last success. Servers are ranked by response time divided
+ * by success ratio. Servers with a low success ratio or not seen for a while are not ranked.
+ * <br>
+ * Probes also fetch the chain height. Servers lagging the median height of the servers ranked with them by more
+ * than {@link #setMaxHeightLag(long) a few blocks} are not ranked either: they would serve stale balances.
+ * <br>
+ * The statistics are persisted with the servers, so that the next app start knows the server to begin with.
+ */
+public final class ServerHealthMonitor {
+
+	/**
+	 * Weight of a new observation in the moving averages.
+	 */
+	static final double   ALPHA             = 0.2;
+	static final double   MIN_SUCCESS_RATIO = 0.5;
+	static final TimeSpan MAX_UNSEEN        = TimeSpan.fromMinutes(10);
+	/**
+	 * Time between NEM blocks, to compare heights fetched at different times.
+	 */
+	static final TimeSpan BLOCK_TIME        = TimeSpan.fromSeconds(60);
+
+	public static final long DEFAULT_MAX_HEIGHT_LAG = 5;
+
+	private static final TimeSpan PROBE_INTERVAL   = TimeSpan.fromSeconds(15);
+	private static final TimeSpan PERSIST_INTERVAL = TimeSpan.fromMinutes(1);
+	private static final TimeSpan HEIGHT_TIMEOUT   = TimeSpan.fromSeconds(5);
+
+	private static ServerHealthMonitor _instance;
+
+	public static synchronized ServerHealthMonitor instance() {
+		if (_instance == null) {
+			_instance = new ServerHealthMonitor();
+		}
+		return _instance;
+	}
+
+	private final ConcurrentMap<Server, Health> _health      = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Server, Long>   _lastProbeMs = new ConcurrentHashMap<>();
+	private final AtomicBoolean                 _changed     = new AtomicBoolean(false);
+	private final ThreadPoolExecutor            _heightExecutor;
+	private volatile long                       _maxHeightLag = DEFAULT_MAX_HEIGHT_LAG;
+	private ScheduledExecutorService _prober;
+
+	ServerHealthMonitor() {
+		_heightExecutor = ThreadPoolExecutorFactory.createExecutor(4, 4, 1000);
+		_heightExecutor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Starts the probe loop and the periodic persisting of the statistics, if not started yet.
+	 */
+	public synchronized void startProbing() {
+		if (_prober != null) {
+			return;
+		}
+		_prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "ServerHealthProbe");
+			thread.setDaemon(true);
+			return thread;
+		});
+		final long intervalMs = (long)PROBE_INTERVAL.toMilliSeconds();
+		_prober.scheduleWithFixedDelay(this::probeNext, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+		final long persistIntervalMs = (long)PERSIST_INTERVAL.toMilliSeconds();
+		_prober.scheduleWithFixedDelay(this::persist, persistIntervalMs, persistIntervalMs, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops the probe loop, after persisting the statistics one last time. A running probe is completed.
+	 */
+	public synchronized void stopProbing() {
+		if (_prober == null) {
+			return;
+		}
+		// runs before the shutdown takes effect, the periodic tasks are cancelled by it
+		_prober.execute(this::persist);
+		_prober.shutdown();
+		_prober = null;
+	}
+
+	/**
+	 * Sets how many blocks a server may lag the reference height and still be ranked.
+	 */
+	public void setMaxHeightLag(final long blocks) {
+		_maxHeightLag = blocks;
+	}
+
+	/**
+	 * Heartbeats the server and fetches its chain height in parallel, and records both.
+	 *
+	 * @return the heartbeat response time, or null if the server failed the heartbeat.
+	 */
+	@Nullable
+	public TimeSpan probe(@NonNull final Server server)
+			throws NoNetworkException, InterruptedException {
+		final NisApi api = new NisApi();
+		final Future<ServerResponse<BlockHeightApiDto>> height = _heightExecutor.submit(() -> api.getChainHeight(server));
+		try {
+			final ServerResponse<Boolean> heartbeat = api.heartbeat(server);
+			if (!heartbeat.model) {
+				// the request itself is recorded by NisApi, only a NIS level failure is left to record
+				if (!TimeSpan.ZERO.equals(heartbeat.responseTime)) {
+					recordFailure(server);
+				}
+				return null;
+			}
+			try {
+				recordHeight(server, height.get((long)HEIGHT_TIMEOUT.toMilliSeconds(), TimeUnit.MILLISECONDS).model.height);
+			} catch (ExecutionException | TimeoutException e) {
+				Timber.d("No chain height from %s: %s", server, e.toString());
+			}
+			return heartbeat.responseTime;
+		} finally {
+			height.cancel(true);
+		}
+	}
+
+	/**
+	 * Takes over statistics persisted by an earlier run, for servers not contacted in this one yet.
+	 *
+	 * @return the restored server that was best when last seen, however long ago that was.
+	 */
+	@NonNull
+	public Optional<Server> restore(@NonNull final Map<Server, ServerStats> stats) {
+		Server best = null;
+		double bestScore = Double.MAX_VALUE;
+		for (Map.Entry<Server, ServerStats> entry : stats.entrySet()) {
+			final Health health = new Health(entry.getValue());
+			if (_health.putIfAbsent(entry.getKey(), health) != null) {
+				continue;
+			}
+			if (health.isHealthy(health.getLastSeenMs()) && health.getScore() < bestScore) {
+				best = entry.getKey();
+				bestScore = health.getScore();
+			}
+		}
+		return Optional.ofNullable(best);
+	}
+
+	/**
+	 * @return statistics of the contacted servers.
+	 */
+	@NonNull
+	public Map<Server, ServerStats> getStats() {
+		final Map<Server, ServerStats> stats = new HashMap<>();
+		for (Map.Entry<Server, Health> entry : _health.entrySet()) {
+			stats.put(entry.getKey(), entry.getValue().toStats());
+		}
+		return stats;
+	}
+
+	public void recordSuccess(@NonNull final Server server, @NonNull final TimeSpan responseTime) {
+		recordSuccess(server, responseTime, System.currentTimeMillis());
+	}
+
+	public void recordFailure(@NonNull final Server server) {
+		getOrCreate(server).addFailure();
+		_changed.set(true);
+	}
+
+	public void recordHeight(@NonNull final Server server, final long height) {
+		recordHeight(server, height, System.currentTimeMillis());
+	}
+
+	/**
+	 * @param servers The servers the server is compared with, see {@link #rank(Collection)}.
+	 * @return how many blocks the server lags the reference height of the servers,
+	 * or empty if its height is unknown.
+	 */
+	@NonNull
+	public Optional<Long> getHeightLag(@NonNull final Server server, @NonNull final Collection<Server> servers) {
+		return getHeightLag(server, servers, System.currentTimeMillis());
+	}
+
+	/**
+	 * @return the chain height last fetched from the server plus the blocks expected since,
+	 * or empty if its height is unknown.
+	 */
+	@NonNull
+	public Optional<Long> getEstimatedHeight(@NonNull final Server server) {
+		final Health health = _health.get(server);
+		final long height = health != null ? health.estimateHeight(System.currentTimeMillis()) : 0;
+		return height > 0 ? Optional.of(height) : Optional.<Long>empty();
+	}
+
+	/**
+	 * @return the health of the server, or null if it was never contacted.
+	 */
+	@Nullable
+	public Health getHealth(@NonNull final Server server) {
+		return _health.get(server);
+	}
+
+	/**
+	 * @return true if the server was contacted and is failing or was not seen for a while.
+	 */
+	public boolean isKnownUnhealthy(@NonNull final Server server) {
+		final Health health = _health.get(server);
+		return health != null && !health.isHealthy(System.currentTimeMillis());
+	}
+
+	/**
+	 * Servers lagging the reference height of the given ones by more than the allowed blocks are left out.
+	 * The reference is the median of their known heights, so that a single node ahead of the others,
+	 * on a fork or with a wrong clock, cannot push all of them out.
+	 *
+	 * @return the healthy servers among the given ones, best first.
+	 */
+	@NonNull
+	public List<Server> rank(@NonNull final Collection<Server> servers) {
+		return rank(servers, servers, System.currentTimeMillis());
+	}
+
+	/**
+	 * Like {@link #rank(Collection)}, but takes the reference height from other servers, for servers
+	 * not trusted yet.
+	 *
+	 * @return the healthy servers among the given ones, best first.
+	 */
+	@NonNull
+	public List<Server> rank(@NonNull final Collection<Server> servers, @NonNull final Collection<Server> referenceServers) {
+		return rank(servers, referenceServers, System.currentTimeMillis());
+	}
+
+	void recordSuccess(final Server server, final TimeSpan responseTime, final long nowMs) {
+		getOrCreate(server).addSuccess(responseTime.getNanos(), nowMs);
+		_changed.set(true);
+	}
+
+	void recordHeight(final Server server, final long height, final long nowMs) {
+		getOrCreate(server).setHeight(height, nowMs);
+	}
+
+	Optional<Long> getHeightLag(final Server server, final Collection<Server> servers, final long nowMs) {
+		final Health health = _health.get(server);
+		final long height = health != null ? health.estimateHeight(nowMs) : 0;
+		if (height == 0) {
+			return Optional.empty();
+		}
+		return Optional.of(Math.max(0, getReferenceHeight(servers, nowMs) - height));
+	}
+
+	List<Server> rank(final Collection<Server> servers, final long nowMs) {
+		return rank(servers, servers, nowMs);
+	}
+
+	List<Server> rank(final Collection<Server> servers, final Collection<Server> referenceServers, final long nowMs) {
+		final long referenceHeight = getReferenceHeight(referenceServers, nowMs);
+		// scores are taken once, so that concurrent updates cannot change them while sorting
+		final Map<Server, Double> scores = new HashMap<>();
+		for (final Server server : servers) {
+			final Health health = _health.get(server);
+			if (health == null || !health.isHealthy(nowMs)) {
+				continue;
+			}
+			final long height = health.estimateHeight(nowMs);
+			// a server of unknown height is not held back
+			if (height > 0 && referenceHeight - height > _maxHeightLag) {
+				continue;
+			}
+			scores.put(server, health.getScore());
+		}
+		final List<Server> healthy = new ArrayList<>(scores.keySet());
+		Collections.sort(healthy, (lhs, rhs) -> Double.compare(scores.get(lhs), scores.get(rhs)));
+		return healthy;
+	}
+
+	/**
+	 * @return the median of the estimated chain heights of the healthy servers among the given ones,
+	 * the lower one of the two middle heights for an even count, 0 if none is known.
+	 */
+	private long getReferenceHeight(final Collection<Server> servers, final long nowMs) {
+		final List<Long> heights = new ArrayList<>(servers.size());
+		for (final Server server : servers) {
+			final Health health = _health.get(server);
+			if (health == null || !health.isHealthy(nowMs)) {
+				continue;
+			}
+			final long height = health.estimateHeight(nowMs);
+			if (height > 0) {
+				heights.add(height);
+			}
+		}
+		if (heights.isEmpty()) {
+			return 0;
+		}
+		Collections.sort(heights);
+		return heights.get((heights.size() - 1) / 2);
+	}
+
+	private Health getOrCreate(final Server server) {
+		Health health = _health.get(server);
+		if (health == null) {
+			health = new Health();
+			final Health existing = _health.putIfAbsent(server, health);
+			if (existing != null) {
+				health = existing;
+			}
+		}
+		return health;
+	}
+
+	private void probeNext() {
+		try {
+			Server next = null;
+			long oldestProbeMs = Long.MAX_VALUE;
+			for (final Server server : new ArrayList<>(ServerManager.instance().getAllServers().values())) {
+				final Long lastProbeMs = _lastProbeMs.get(server);
+				final long probeMs = lastProbeMs != null ? lastProbeMs : 0;
+				if (probeMs < oldestProbeMs) {
+					oldestProbeMs = probeMs;
+					next = server;
+				}
+			}
+			if (next == null) {
+				return;
+			}
+			_lastProbeMs.put(next, System.currentTimeMillis());
+			probe(next);
+			Timber.d("Probed %s: %s", next, _health.get(next));
+		} catch (NoNetworkException e) {
+			Timber.d("No network, probe skipped");
+		} catch (Throwable throwable) {
+			// an exception would end the scheduled probes
+			Timber.e(throwable, "Server probe failed");
+		}
+	}
+
+	private void persist() {
+		if (!_changed.getAndSet(false)) {
+			return;
+		}
+		try {
+			ServerManager.instance().saveStats(getStats());
+		} catch (Throwable throwable) {
+			// an exception would end the scheduled persisting
+			Timber.e(throwable, "Failed to persist server statistics");
+		}
+	}
+
+	/**
+	 * Health of one server.
+	 */
+	public static final class Health {
+		private double _latencyNanos;
+		private double _successRatio;
+		private long   _lastSeenMs;
+		private int    _sampleCount;
+		private long   _height;
+		private long   _heightSeenMs;
+
+		Health() {
+		}
+
+		Health(final ServerStats stats) {
+			_latencyNanos = stats.latency.getNanos();
+			_successRatio = stats.successRatio;
+			_lastSeenMs = stats.lastSeenMs;
+			_sampleCount = stats.sampleCount;
+		}
+
+		synchronized void addSuccess(final long latencyNanos, final long nowMs) {
+			// the first success starts the latency average, even after failures
+			_latencyNanos = _lastSeenMs == 0 ? latencyNanos : _latencyNanos + ALPHA * (latencyNanos - _latencyNanos);
+			_successRatio = _sampleCount == 0 ? 1 : _successRatio + ALPHA * (1 - _successRatio);
+			_lastSeenMs = nowMs;
+			_sampleCount++;
+		}
+
+		synchronized void addFailure() {
+			_successRatio = _sampleCount == 0 ? 0 : _successRatio * (1 - ALPHA);
+			_sampleCount++;
+		}
+
+		/**
+		 * @return moving average of the response time of successful requests.
+		 */
+		public synchronized TimeSpan getLatency() {
+			return TimeSpan.fromNanoSeconds((long)_latencyNanos);
+		}
+
+		/**
+		 * @return moving average of the share of successful requests, between 0 and 1.
+		 */
+		public synchronized double getSuccessRatio() {
+			return _successRatio;
+		}
+
+		/**
+		 * @return wall clock time of the last successful request in milliseconds, 0 if there was none.
+		 */
+		public synchronized long getLastSeenMs() {
+			return _lastSeenMs;
+		}
+
+		synchronized boolean isHealthy(final long nowMs) {
+			return _lastSeenMs > 0
+					&& _successRatio >= MIN_SUCCESS_RATIO
+					&& nowMs - _lastSeenMs <= MAX_UNSEEN.toMilliSeconds();
+		}
+
+		synchronized void setHeight(final long height, final long nowMs) {
+			_height = height;
+			_heightSeenMs = nowMs;
+		}
+
+		/**
+		 * @return the fetched chain height plus the blocks expected since, 0 if unknown.
+		 */
+		synchronized long estimateHeight(final long nowMs) {
+			if (_height == 0) {
+				return 0;
+			}
+			return _height + Math.max(0, nowMs - _heightSeenMs) / (long)BLOCK_TIME.toMilliSeconds();
+		}
+
+		synchronized ServerStats toStats() {
+			return new ServerStats(getLatency(), _successRatio, _lastSeenMs, _sampleCount);
+		}
+
+		/**
+		 * Lower is better: the expected time to a successful answer.
+		 */
+		synchronized double getScore() {
+			return _latencyNanos / Math.max(_successRatio, 0.01);
+		}
+
+		@Override
+		public synchronized String toString() {
+			return String.format("latency %.0f ms, success %.0f%%, seen %d ms ago",
+					_latencyNanos / 1e6, _successRatio * 100, System.currentTimeMillis() - _lastSeenMs);
+		}
+	}
+}
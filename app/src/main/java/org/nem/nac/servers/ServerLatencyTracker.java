@@ -0,0 +1,88 @@
+package org.nem.nac.servers;
+
+import android.support.annotation.NonNull;
+
+import com.annimon.stream.Optional;
+
+import org.nem.nac.common.TimeSpan;
+import org.nem.nac.models.network.Server;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the latest response times of each server, to tell a slow answer from a normal one.
+ */
+public final class ServerLatencyTracker {
+
+	static final int WINDOW_SIZE = 32;
+	static final int MIN_SAMPLES = 5;
+
+	private static ServerLatencyTracker _instance;
+
+	public static synchronized ServerLatencyTracker instance() {
+		if (_instance == null) {
+			_instance = new ServerLatencyTracker();
+		}
+		return _instance;
+	}
+
+	private final ConcurrentMap<Server, Window> _windows = new ConcurrentHashMap<>();
+
+	ServerLatencyTracker() {
+	}
+
+	/**
+	 * Records the response time of a successful request.
+	 */
+	public void record(@NonNull final Server server, @NonNull final TimeSpan responseTime) {
+		Window window = _windows.get(server);
+		if (window == null) {
+			window = new Window();
+			final Window existing = _windows.putIfAbsent(server, window);
+			if (existing != null) {
+				window = existing;
+			}
+		}
+		window.add(responseTime.getNanos());
+	}
+
+	/**
+	 * @return the response time 95% of the recent requests to the server were faster than,
+	 * or empty if there are too few recent requests to tell.
+	 */
+	public Optional<TimeSpan> getP95(@NonNull final Server server) {
+		final Window window = _windows.get(server);
+		if (window == null) {
+			return Optional.empty();
+		}
+		final long nanos = window.percentile(0.95);
+		return nanos >= 0 ? Optional.of(TimeSpan.fromNanoSeconds(nanos)) : Optional.empty();
+	}
+
+	private static final class Window {
+		private final long[] _samples = new long[WINDOW_SIZE];
+		private int _count;
+		private int _next;
+
+		synchronized void add(final long nanos) {
+			_samples[_next] = nanos;
+			_next = (_next + 1) % WINDOW_SIZE;
+			_count = Math.min(WINDOW_SIZE, _count + 1);
+		}
+
+		/**
+		 * Nearest rank percentile, -1 if there are fewer than MIN_SAMPLES samples.
+		 */
+		synchronized long percentile(final double fraction) {
+			if (_count < MIN_SAMPLES) {
+				return -1;
+			}
+			final long[] sorted = Arrays.copyOf(_samples, _count);
+			Arrays.sort(sorted);
+			final int rank = (int)Math.ceil(fraction * _count);
+			return sorted[Math.max(0, rank - 1)];
+		}
+	}
+}
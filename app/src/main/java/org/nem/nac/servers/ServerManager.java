@@ -10,6 +10,7 @@ import org.nem.nac.common.exceptions.NacRuntimeException;
 import org.nem.nac.common.utils.AssertUtils;
 import org.nem.nac.datamodel.repositories.ServerRepository;
 import org.nem.nac.models.network.Server;
+import org.nem.nac.models.network.ServerStats;
 
 import java.util.Collection;
 import java.util.HashMap;
@@ -79,8 +80,43 @@ public final class ServerManager {
 		return Optional.ofNullable(_servers.get(id));
 	}
 
+	/**
+	 * @return a copy, servers may be added by discovery while it is used.
+	 */
 	public synchronized Map<Long, Server> getAllServers() {
-		return _servers;
+		return new HashMap<>(_servers);
+	}
+
+	/**
+	 * @return persisted statistics of the known servers that were contacted.
+	 */
+	@NonNull
+	public synchronized Map<Server, ServerStats> getStats() {
+		final Map<Long, ServerStats> statsById = _repository.getAllStats();
+		final Map<Server, ServerStats> stats = new HashMap<>(statsById.size());
+		for (Map.Entry<Long, ServerStats> entry : statsById.entrySet()) {
+			final Server server = _servers.get(entry.getKey());
+			if (server != null) {
+				stats.put(server, entry.getValue());
+			}
+		}
+		return stats;
+	}
+
+	/**
+	 * Persists statistics of the known servers. Servers not in the list are skipped.
+	 */
+	public synchronized void saveStats(@NonNull final Map<Server, ServerStats> stats) {
+		final Map<Long, ServerStats> statsById = new HashMap<>(stats.size());
+		for (Server server : _servers.values()) {
+			final ServerStats serverStats = stats.get(server);
+			if (serverStats != null) {
+				statsById.put(server.id, serverStats);
+			}
+		}
+		if (!statsById.isEmpty()) {
+			_repository.saveStats(statsById);
+		}
 	}
 
 	private void reloadData() {
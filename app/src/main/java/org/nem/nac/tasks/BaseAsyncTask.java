@@ -2,6 +2,7 @@ package org.nem.nac.tasks;
 
 import android.os.AsyncTask;
 import android.support.annotation.CallSuper;
+import android.support.annotation.MainThread;
 import android.support.annotation.StringRes;
 
 import com.annimon.stream.Optional;
@@ -81,6 +82,21 @@ public abstract class BaseAsyncTask<TTask extends BaseAsyncTask, TParams, TProgr
 		}
 	}
 
+	/**
+	 * Replaces the message of the progress dialog. Call from the main thread, e.g. from onProgressUpdate.
+	 */
+	@MainThread
+	protected void updateProgressMessage(final String message) {
+		if (progressMessageRes == null) {
+			return;
+		}
+
+		final NacBaseActivity activity = _activity.get();
+		if (activity != null && activity.isNotDestroyed()) {
+			activity.showProgressDialog(message);
+		}
+	}
+
 	/**
 	 * Dismisses progress dialog and calls complete callback.
 	 */
@@ -1,13 +1,19 @@
 package org.nem.nac.tasks;
 
+import android.os.SystemClock;
+
 import com.annimon.stream.Optional;
 
 import org.nem.nac.R;
 import org.nem.nac.application.AppConstants;
 import org.nem.nac.application.AppSettings;
+import org.nem.nac.application.NacApplication;
 import org.nem.nac.common.exceptions.NacException;
 import org.nem.nac.common.utils.AssertUtils;
+import org.nem.nac.crypto.KdfCalibrator;
+import org.nem.nac.crypto.KdfParameters;
 import org.nem.nac.crypto.KeyProvider;
+import org.nem.nac.crypto.KeyReencryptor;
 import org.nem.nac.crypto.Mcrypto;
 import org.nem.nac.crypto.PasswordHasher;
 import org.nem.nac.datamodel.NemSQLiteHelper;
@@ -15,17 +21,18 @@ import org.nem.nac.datamodel.repositories.AccountRepository;
 import org.nem.nac.datamodel.repositories.AppPasswordRepository;
 import org.nem.nac.models.AppPassword;
 import org.nem.nac.models.BinaryData;
-import org.nem.nac.models.NacPrivateKey;
+import org.nem.nac.models.EncryptedNacPrivateKey;
 import org.nem.nac.models.account.Account;
 import org.nem.nac.providers.EKeyProvider;
 import org.nem.nac.ui.activities.NacBaseActivity;
 import org.nem.nac.ui.utils.Toaster;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import timber.log.Timber;
 
-public final class ChangeAppPasswordAsyncTask extends BaseAsyncTask<ChangeAppPasswordAsyncTask, Void, Void, Boolean> {
+public final class ChangeAppPasswordAsyncTask extends BaseAsyncTask<ChangeAppPasswordAsyncTask, Void, Integer, Boolean> {
 
 	private       Optional<AppPassword> _appPassword;
 	private final boolean               _forceRelogin;
@@ -71,14 +78,15 @@ public final class ChangeAppPasswordAsyncTask extends BaseAsyncTask<ChangeAppPas
 			}
 			NemSQLiteHelper sqLiteHelper = null;
 			try {
-				final String hash = PasswordHasher.hash(_newPwd);
+				final KdfParameters kdfParameters = KdfCalibrator.calibrate();
+				final String hash = PasswordHasher.hash(_newPwd, kdfParameters.bcryptLogRounds);
 				sqLiteHelper = NemSQLiteHelper.getInstance();
 				sqLiteHelper.beginTransaction();
 				final BinaryData salt = KeyProvider.generateSalt();
-				new AppPasswordRepository().save(new AppPassword(hash, salt));
+				new AppPasswordRepository().save(new AppPassword(hash, salt, kdfParameters));
 				if(!_forceRelogin) {
 					Timber.d("Not forcing relogin");
-					final BinaryData newEkey = KeyProvider.deriveKey(_newPwd, salt);
+					final BinaryData newEkey = KeyProvider.deriveKey(_newPwd, salt, kdfParameters.deriveKeyIterations);
 					EKeyProvider.instance().setKey(newEkey);
 				}else {
 					Timber.d("Forcing relogin");
@@ -97,6 +105,14 @@ public final class ChangeAppPasswordAsyncTask extends BaseAsyncTask<ChangeAppPas
 		}
 	}
 
+	/**
+	 * @param values number of re-encrypted keys and total number of keys.
+	 */
+	@Override
+	protected void onProgressUpdate(final Integer... values) {
+		updateProgressMessage(NacApplication.getResString(R.string.progress_dialog_message_reencrypting_accounts, values[0], values[1]));
+	}
+
 	private void changePassword(final String newPwd)
 			throws NacException {
 		AssertUtils.isTrue(newPwd != null && !newPwd.isEmpty());
@@ -109,22 +125,36 @@ public final class ChangeAppPasswordAsyncTask extends BaseAsyncTask<ChangeAppPas
 			throw new NacException("Failed to change password!");
 		}
 		final BinaryData eKey = eKeyOptional.get();
+		final KdfParameters kdfParameters = KdfCalibrator.calibrate();
 		final BinaryData newSalt = KeyProvider.generateSalt();
-		final BinaryData newEkey = KeyProvider.deriveKey(newPwd, newSalt);
+		final BinaryData newEkey = KeyProvider.deriveKey(newPwd, newSalt, kdfParameters.deriveKeyIterations);
 
+		// CPU bound stage on all cores, nothing is written until every key is re-encrypted
+		final int total = accounts.size();
+		final List<EncryptedNacPrivateKey> oldKeys = new ArrayList<>(total);
 		for (final Account acc : accounts) {
-			final NacPrivateKey pKey = acc.privateKey.decryptKey(eKey);
-			acc.privateKey = pKey.encryptKey(newEkey);
+			oldKeys.add(acc.privateKey);
+		}
+		publishProgress(0, total);
+		final long start = SystemClock.elapsedRealtime();
+		final List<EncryptedNacPrivateKey> newKeys;
+		try {
+			newKeys = new KeyReencryptor().reencrypt(oldKeys, eKey, newEkey, done -> publishProgress(done, total));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new NacException("Interrupted while re-encrypting keys", e);
 		}
-		Timber.d("Keys encrypted");
+		for (int i = 0; i < total; i++) {
+			accounts.get(i).privateKey = newKeys.get(i);
+		}
+		Timber.d("%d keys encrypted in %d ms", total, SystemClock.elapsedRealtime() - start);
 
+		// hashing is slow as well, keep it out of the write transaction
+		final String hash = PasswordHasher.hash(newPwd, kdfParameters.bcryptLogRounds);
 		sqLiteHelper.beginTransaction();
 		try {
-			for (final Account changedAcc : accounts) {
-				accountRepository.save(changedAcc);
-			}
-			final String hash = PasswordHasher.hash(newPwd);
-			new AppPasswordRepository().save(new AppPassword(hash, newSalt));
+			accountRepository.saveAll(accounts);
+			new AppPasswordRepository().save(new AppPassword(hash, newSalt, kdfParameters));
 			Timber.d("New password saved.");
 			Timber.d("Forcing relogin: %s", _forceRelogin);
 			EKeyProvider.instance().setKey(_forceRelogin ? null : newEkey);
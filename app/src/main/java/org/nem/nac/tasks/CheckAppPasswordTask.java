@@ -1,21 +1,33 @@
 package org.nem.nac.tasks;
 
+import android.os.SystemClock;
+
 import com.annimon.stream.Optional;
 
 import org.nem.nac.R;
 import org.nem.nac.application.AppConstants;
 import org.nem.nac.application.AppSettings;
+import org.nem.nac.common.ThreadPoolExecutorFactory;
+import org.nem.nac.crypto.KdfCalibrator;
+import org.nem.nac.crypto.KdfParameters;
 import org.nem.nac.crypto.KeyProvider;
 import org.nem.nac.crypto.Mcrypto;
 import org.nem.nac.crypto.NacCryptoException;
 import org.nem.nac.crypto.PasswordHasher;
 import org.nem.nac.datamodel.NacPersistenceRuntimeException;
+import org.nem.nac.datamodel.repositories.AccountRepository;
 import org.nem.nac.datamodel.repositories.AppPasswordRepository;
 import org.nem.nac.models.AppPassword;
+import org.nem.nac.models.BinaryData;
+import org.nem.nac.providers.AddressInfoProvider;
 import org.nem.nac.providers.EKeyProvider;
 import org.nem.nac.ui.activities.NacBaseActivity;
 import org.nem.nac.ui.utils.Toaster;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
 import timber.log.Timber;
 
 public class CheckAppPasswordTask extends BaseAsyncTask<CheckAppPasswordTask, String, Void, Boolean> {
@@ -24,29 +36,120 @@ public class CheckAppPasswordTask extends BaseAsyncTask<CheckAppPasswordTask, St
 		super(activity, R.string.progress_dialog_message_password_checking);
 	}
 
+	/**
+	 * Runs the password check, the key derivation and loading of the account list in parallel.
+	 * The derived key is only used if the password is correct, the address book is only read then.
+	 * Stage durations are logged.
+	 * <br>
+	 * The platform key derivation cannot be interrupted. With a wrong password the task returns right after
+	 * the password check and the derivation finishes in the background, which takes about as long as the check.
+	 */
 	@Override
 	protected Boolean doInBackground(final String... params) {
 		if (params.length < 1) {
 			return null;
 		}
 		final String pwd = params[0];
+		final long start = SystemClock.elapsedRealtime();
+		// key derivation and account list prewarming, the password check runs on the task thread
+		final ThreadPoolExecutor executor = ThreadPoolExecutorFactory.createExecutor(2, 2, 0);
 		try {
 			final Optional<AppPassword> appPassword = new AppPasswordRepository().get();
+			final KdfParameters kdfParameters = appPassword.get().getKdfParameters();
+			logStage("Password load", start);
+
+			final Future<?> prewarm = executor.submit(CheckAppPasswordTask::prewarmAccounts);
+			final Future<BinaryData> eKey = executor.submit(() -> {
+				final long stageStart = SystemClock.elapsedRealtime();
+				try {
+					return KeyProvider.deriveKey(pwd, appPassword.get().salt, kdfParameters.deriveKeyIterations);
+				} finally {
+					logStage("Key derivation", stageStart);
+				}
+			});
+			final long checkStart = SystemClock.elapsedRealtime();
 			final boolean pwdOk = PasswordHasher.check(pwd, appPassword.get().passwordHash);
+			logStage("Password check", checkStart);
+
 			if (pwdOk) {
-				EKeyProvider.instance().setKey(KeyProvider.deriveKey(pwd, appPassword.get().salt));
+				// the address book needs no key, it is read while the derivation may still run
+				prewarmAddressBook();
+				EKeyProvider.instance().setKey(eKey.get());
+				if (appPassword.get().kdfParameters == null) {
+					migrateLegacyPassword(pwd, appPassword.get());
+				}
 				String pwStoreIsEmpty= AppSettings.instance().getPassword();
 				if (pwStoreIsEmpty==null){
 					backupPW(pwd);
 				}
+				// the next screen reads the caches right away
+				prewarm.get();
 			}
+			Timber.i("Login took %d ms (%s)", SystemClock.elapsedRealtime() - start, kdfParameters);
 			return pwdOk;
 		} catch (NacPersistenceRuntimeException e) {
 			Timber.e(e, "Persistence operation failed");
 			return null;
-		} catch (NacCryptoException e) {
-			Timber.e(e, "Failed to derive key");
+		} catch (ExecutionException e) {
+			Timber.e(e.getCause(), "Failed to derive key");
 			return null;
+		} catch (InterruptedException e) {
+			Timber.w("Login interrupted");
+			Thread.currentThread().interrupt();
+			return null;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Loads the account list. Failures are only logged, the screens load the data again.
+	 */
+	private static void prewarmAccounts() {
+		final long stageStart = SystemClock.elapsedRealtime();
+		try {
+			AccountRepository.prewarm();
+		} catch (NacPersistenceRuntimeException e) {
+			Timber.w(e, "Failed to prewarm account list");
+		}
+		logStage("Account list prewarm", stageStart);
+	}
+
+	/**
+	 * Loads the address book. Failures are only logged, the screens load the data again.
+	 */
+	private static void prewarmAddressBook() {
+		final long stageStart = SystemClock.elapsedRealtime();
+		try {
+			AddressInfoProvider.instance().getAll();
+		} catch (RuntimeException e) { // e.g. no permission to read contacts
+			Timber.w(e, "Failed to prewarm address book");
+		}
+		logStage("Address book prewarm", stageStart);
+	}
+
+	private static void logStage(final String stage, final long stageStart) {
+		Timber.i("Login stage: %s took %d ms", stage, SystemClock.elapsedRealtime() - stageStart);
+	}
+
+	/**
+	 * Stores the work factors of a password set before calibration. The hash is recalibrated for this device,
+	 * the key derivation keeps the legacy iteration count until the password is changed, because the account keys
+	 * are encrypted with the derived key.
+	 */
+	private void migrateLegacyPassword(final String pwd, final AppPassword appPassword) {
+		try {
+			final KdfParameters calibrated = KdfCalibrator.calibrate();
+			final KdfParameters kdfParameters =
+					new KdfParameters(KdfParameters.LEGACY_DERIVE_KEY_ITERATIONS, calibrated.bcryptLogRounds);
+			final String hash = kdfParameters.bcryptLogRounds != appPassword.getKdfParameters().bcryptLogRounds
+					? PasswordHasher.hash(pwd, kdfParameters.bcryptLogRounds)
+					: appPassword.passwordHash;
+			new AppPasswordRepository().save(new AppPassword(hash, appPassword.salt, kdfParameters));
+			Timber.i("Legacy app password migrated: %s", kdfParameters);
+		} catch (NacCryptoException | NacPersistenceRuntimeException e) {
+			// the legacy password keeps working, migration is retried on the next login
+			Timber.w(e, "Failed to migrate legacy app password");
 		}
 	}
 
@@ -2,6 +2,7 @@ package org.nem.nac.tasks;
 
 import com.annimon.stream.Optional;
 
+import org.nem.core.crypto.KeyPair;
 import org.nem.nac.R;
 import org.nem.nac.application.NacApplication;
 import org.nem.nac.common.exceptions.NoNetworkException;
@@ -13,7 +14,6 @@ import org.nem.nac.http.ServerErrorException;
 import org.nem.nac.http.ServerResponse;
 import org.nem.nac.models.BinaryData;
 import org.nem.nac.models.EncryptedNacPrivateKey;
-import org.nem.nac.models.NacPrivateKey;
 import org.nem.nac.models.NacPublicKey;
 import org.nem.nac.models.api.account.AccountMetaDataPairApiDto;
 import org.nem.nac.models.primitives.AddressValue;
@@ -95,7 +95,7 @@ public final class DecryptMessageAsyncTask extends BaseAsyncTask<DecryptMessageA
 			} catch (IOException e) {
 				Timber.e(e, "Http request failed");
 				Toaster.instance().show(R.string.errormessage_http_request_failed);
-				ServerFinder.instance().clearBest();
+				ServerFinder.instance().reportFailure(server);
 				return null;
 			}
 		}
@@ -106,8 +106,8 @@ public final class DecryptMessageAsyncTask extends BaseAsyncTask<DecryptMessageA
 		}
 
 		try {
-			final NacPrivateKey privKey = _account1.decryptKey(eKey.get());
-			final Optional<BinaryData> decrypted = Ed25519Helper.Ed25519BlockCipherDecrypt(_cipher, privKey, acc2);
+			final KeyPair keyPair = EKeyProvider.instance().getKeyVault().getKeyPair(_account1);
+			final Optional<BinaryData> decrypted = Ed25519Helper.Ed25519BlockCipherDecrypt(_cipher, keyPair, acc2);
 			Timber.d("Returning, decrypted - %s", decrypted.isPresent());
 			return decrypted.orElse(null);
 		} catch (NacCryptoException e) {
@@ -2,8 +2,7 @@ package org.nem.nac.tasks;
 
 import android.support.annotation.NonNull;
 
-import com.annimon.stream.Optional;
-
+import org.nem.core.crypto.KeyPair;
 import org.nem.nac.R;
 import org.nem.nac.application.NacApplication;
 import org.nem.nac.common.exceptions.NoNetworkException;
@@ -13,9 +12,7 @@ import org.nem.nac.crypto.NacCryptoException;
 import org.nem.nac.http.NisApi;
 import org.nem.nac.http.ServerErrorException;
 import org.nem.nac.http.ServerResponse;
-import org.nem.nac.models.BinaryData;
 import org.nem.nac.models.EncryptedNacPrivateKey;
-import org.nem.nac.models.NacPrivateKey;
 import org.nem.nac.models.NacPublicKey;
 import org.nem.nac.models.api.account.AccountMetaDataPairApiDto;
 import org.nem.nac.models.primitives.AddressValue;
@@ -64,9 +61,8 @@ public final class EncryptMessageAsyncTask
 				Toaster.instance().show(R.string.errormessage_failed_to_encrypt_msg_no_public_key, Toaster.Length.LONG);
 				return null;
 			}
-			final Optional<BinaryData> eKey = EKeyProvider.instance().getKey();
-			final NacPrivateKey pKey = _account1.decryptKey(eKey.get());
-			_msg.encryptPayload(pKey, recipientPubKey);
+			final KeyPair keyPair = EKeyProvider.instance().getKeyVault().getKeyPair(_account1);
+			_msg.encryptPayload(keyPair, recipientPubKey);
 			return _msg;
 			//
 		} catch (ServerErrorException e) {
@@ -78,7 +74,7 @@ public final class EncryptMessageAsyncTask
 		} catch (IOException e) {
 			Timber.e(e, "Http request failed");
 			Toaster.instance().show(R.string.errormessage_http_request_failed);
-			ServerFinder.instance().clearBest();
+			ServerFinder.instance().reportFailure(server);
 		} catch (NacCryptoException e) {
 			Timber.e(e, "Failed to decrypt private key!");
 			Toaster.instance().show(R.string.errormessage_error_occured);
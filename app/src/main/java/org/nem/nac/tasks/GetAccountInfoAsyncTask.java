@@ -46,7 +46,7 @@ public final class GetAccountInfoAsyncTask
 			return null;
 		}
 
-		final NisApi api = new NisApi();
+		final NisApi api = new NisApi(true);
 		try {
 			final ServerResponse<AccountMetaDataPairApiDto> response = api.getAccountInfo(server, _address);
 			updateLocalAccountType(response.model.account.address, response.model.meta.getType());
@@ -60,7 +60,7 @@ public final class GetAccountInfoAsyncTask
 		} catch (IOException e) {
 			Timber.e(e, "Http request failed");
 			Toaster.instance().show(R.string.errormessage_http_request_failed);
-			ServerFinder.instance().clearBest();
+			ServerFinder.instance().reportFailure(server);
 		}
 		return null;
 	}
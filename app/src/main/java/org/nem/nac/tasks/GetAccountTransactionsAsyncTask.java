@@ -7,16 +7,13 @@ import org.nem.nac.application.NacApplication;
 import org.nem.nac.common.exceptions.NoNetworkException;
 import org.nem.nac.http.NisApi;
 import org.nem.nac.http.ServerErrorException;
-import org.nem.nac.http.ServerResponse;
+import org.nem.nac.http.TransferPages;
 import org.nem.nac.models.api.transactions.TransactionMetaDataPairApiDto;
-import org.nem.nac.models.api.transactions.TransactionMetaDataPairArrayApiDto;
 import org.nem.nac.models.primitives.AddressValue;
 import org.nem.nac.ui.activities.NacBaseActivity;
 import org.nem.nac.ui.utils.Toaster;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import timber.log.Timber;
@@ -42,18 +39,8 @@ public final class GetAccountTransactionsAsyncTask
 		if (server == null && !populateServer()) {
 			return null;
 		}
-		final NisApi api = new NisApi();
-		final ServerResponse<TransactionMetaDataPairArrayApiDto> confirmedResponse = api.getTransactions(server, _address, null);
-		List<TransactionMetaDataPairApiDto> trans = new ArrayList<>(confirmedResponse.model.data.length);
-		Collections.addAll(trans, confirmedResponse.model.data);
-		// next pack
-		if (!trans.isEmpty()) {
-			final TransactionMetaDataPairApiDto last = trans.get(trans.size() - 1);
-			final ServerResponse<TransactionMetaDataPairArrayApiDto> confirmedResponse2 = api.getTransactions(server, _address, last.meta.id);
-			Collections.addAll(trans, confirmedResponse2.model.data);
-		}
-		//
-		return trans;
+		final NisApi api = new NisApi(true);
+		return TransferPages.getNewest(api, server, _address);
 	}
 
 	@Override
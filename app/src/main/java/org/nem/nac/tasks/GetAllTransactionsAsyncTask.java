@@ -10,9 +10,9 @@ import org.nem.nac.common.exceptions.NoNetworkException;
 import org.nem.nac.http.NisApi;
 import org.nem.nac.http.ServerErrorException;
 import org.nem.nac.http.ServerResponse;
+import org.nem.nac.http.TransferPages;
 import org.nem.nac.models.NacPublicKey;
 import org.nem.nac.models.api.transactions.TransactionMetaDataPairApiDto;
-import org.nem.nac.models.api.transactions.TransactionMetaDataPairArrayApiDto;
 import org.nem.nac.models.api.transactions.UnconfirmedTransactionMetaDataPairArrayApiDto;
 import org.nem.nac.models.transactions.AccountTransaction;
 import org.nem.nac.ui.activities.NacBaseActivity;
@@ -45,17 +45,9 @@ public class GetAllTransactionsAsyncTask
 		if (server == null && !populateServer()) {
 			return null;
 		}
-		final NisApi api = new NisApi();
+		final NisApi api = new NisApi(true);
 		final List<AccountTransaction> allTransactions = new ArrayList<>();
-		final ServerResponse<TransactionMetaDataPairArrayApiDto> confirmedResponse = api.getTransactions(server, _account.toAddress(), null);
-		List<TransactionMetaDataPairApiDto> trans = new ArrayList<>(confirmedResponse.model.data.length);
-		Collections.addAll(trans, confirmedResponse.model.data);
-		// next pack
-		if (!trans.isEmpty()) {
-			final TransactionMetaDataPairApiDto last = trans.get(trans.size() - 1);
-			final ServerResponse<TransactionMetaDataPairArrayApiDto> confirmedResponse2 = api.getTransactions(server, _account.toAddress(), last.meta.id);
-			Collections.addAll(trans, confirmedResponse2.model.data);
-		}
+		final List<TransactionMetaDataPairApiDto> trans = TransferPages.getNewest(api, server, _account.toAddress());
 		Stream.of(trans)
 				.map(x -> new AccountTransaction(_account, x))
 				.forEach(allTransactions::add);
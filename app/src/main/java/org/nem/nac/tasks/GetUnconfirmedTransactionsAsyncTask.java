@@ -40,7 +40,7 @@ public final class GetUnconfirmedTransactionsAsyncTask
 			return null;
 		}
 
-		final NisApi api = new NisApi();
+		final NisApi api = new NisApi(true);
 		try {
 			final ServerResponse<UnconfirmedTransactionMetaDataPairArrayApiDto> response =
 				api.getUnconfirmedTransactions(server, _address);
@@ -55,7 +55,7 @@ public final class GetUnconfirmedTransactionsAsyncTask
 			Toaster.instance().show(R.string.errormessage_server_error_occured);
 		} catch (IOException e) {
 			Toaster.instance().show(R.string.errormessage_http_request_failed);
-			ServerFinder.instance().clearBest();
+			ServerFinder.instance().reportFailure(server);
 		}
 		return null;
 	}
@@ -5,9 +5,9 @@ import android.util.Log;
 
 import com.annimon.stream.Optional;
 
-import org.nem.core.crypto.DsaSigner;
-import org.nem.core.crypto.KeyPair;
+import org.nem.core.crypto.CryptoException;
 import org.nem.core.crypto.ed25519.Ed25519DsaSigner;
+import org.nem.core.crypto.ed25519.Ed25519SigningKey;
 import org.nem.core.utils.HexEncoder;
 import org.nem.nac.R;
 import org.nem.nac.application.NacApplication;
@@ -25,7 +25,6 @@ import org.nem.nac.log.LogTags;
 import org.nem.nac.models.AnnounceResult;
 import org.nem.nac.models.BinaryData;
 import org.nem.nac.models.EncryptedNacPrivateKey;
-import org.nem.nac.models.NacPrivateKey;
 import org.nem.nac.models.SignedBinaryData;
 import org.nem.nac.models.api.ApiResultCode;
 import org.nem.nac.models.api.RequestAnnounceApiDto;
@@ -82,16 +81,14 @@ public final class SendTransactionAsyncTask
 			return null;
 		}
 
-		final NacPrivateKey privateKey;
+		final Ed25519SigningKey signingKey;
 		try {
-			privateKey = _tranSigner.decryptKey(eKey.get());
+			signingKey = EKeyProvider.instance().getKeyVault().getSigningKey(_tranSigner);
 		} catch (NacCryptoException e) {
 			Toaster.instance().show(R.string.errormessage_account_error, Toaster.Length.LONG);
 			Timber.e("Decryption failed!");
 			return null;
 		}
-		final KeyPair signerKeyPair = new KeyPair(privateKey.toPrivateKey());
-		final DsaSigner dsaSigner = new Ed25519DsaSigner(signerKeyPair);
 		byte[] serializedTransaction = null;
 		// Serializing transaction
 		if (_serializedTransaction.get() == null) {
@@ -115,7 +112,15 @@ public final class SendTransactionAsyncTask
 		LogUtils.conditional(Log.WARN, LogTags.TRANSACTIONS.isLogged, LogTags.TRANSACTIONS.name, "Sending transaction:" + HexEncoder
 				.getString(serializedTransaction));
 
-		final SignedBinaryData signedTransaction = new SignedBinaryData(serializedTransaction, dsaSigner);
+		// the signing key belongs to the session key vault, it is wiped when the session ends
+		final SignedBinaryData signedTransaction;
+		try {
+			signedTransaction = new SignedBinaryData(serializedTransaction, new Ed25519DsaSigner(signingKey));
+		} catch (CryptoException e) {
+			Toaster.instance().show(R.string.errormessage_account_error, Toaster.Length.LONG);
+			Timber.w("Session ended before the transaction was signed");
+			return null;
+		}
 		Timber.d("Transaction signed");
 		final RequestAnnounceApiDto announceDto = new RequestAnnounceApiDto(signedTransaction);
 
@@ -144,7 +149,7 @@ public final class SendTransactionAsyncTask
 		} catch (IOException e) {
 			Timber.d("Request failed!");
 			Toaster.instance().show(R.string.errormessage_http_request_failed);
-			ServerFinder.instance().clearBest();
+			ServerFinder.instance().reportFailure(server);
 		}
 		return null;
 	}
@@ -23,6 +23,7 @@ import org.nem.nac.R;
 import org.nem.nac.application.AppConstants;
 import org.nem.nac.application.AppHost;
 import org.nem.nac.application.AppSettings;
+import org.nem.nac.common.Stopwatch;
 import org.nem.nac.common.async.AsyncResult;
 import org.nem.nac.common.enums.AccountType;
 import org.nem.nac.common.enums.LastTransactionType;
@@ -74,6 +75,8 @@ public final class DashboardActivity extends NacBaseActivity {
 	private final AtomicBoolean                             _updatingTransactions           = new AtomicBoolean(false);
 	private final AtomicBoolean                             _firstUpdate                    = new AtomicBoolean(true);
 	private final AtomicBoolean                             _showUnsignedTransactionsDialog = new AtomicBoolean(true);
+	private final AtomicBoolean                             _firstDataShown                 = new AtomicBoolean(false);
+	private final Stopwatch                                 _firstDataStopwatch             = new Stopwatch(true);
 
 	@Override
 	protected int getActivityTitle() {
@@ -278,6 +281,10 @@ public final class DashboardActivity extends NacBaseActivity {
 			//
 			_adapter.setItems(items);
 			_adapter.notifyDataSetChanged();
+			if (_firstDataShown.compareAndSet(false, true)) {
+				_firstDataStopwatch.stop();
+				Timber.i("Time to first data: %d ms", _firstDataStopwatch.getMillis());
+			}
 			//
 			checkShowUnsignedDialog(transactions);
 			//
@@ -123,7 +123,8 @@ public final class ExportAccountActivity extends NacBaseActivity {
 		_qrBitmap = null;
 		//_qrImageView.setImageBitmap(null);
 		//
-		ExportAccountPasswordDialogFragment.create()
+		// the QR code carries only the salt, the importer derives the key with the legacy iteration count
+		ExportAccountPasswordDialogFragment.create(_appPwd == null || _appPwd.getKdfParameters().isExportCompatible())
 				.setOnPasswordEnteredListener(this::onPasswordEntered)
 				.setOnCancelListener(dialog -> {
 					_exportedKey = null;
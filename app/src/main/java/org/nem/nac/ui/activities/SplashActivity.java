@@ -107,7 +107,8 @@ public final class SplashActivity extends NacBaseActivity {
 			_mainnetWarningDialog.show(getFragmentManager(), null);
 		}
 
-		ServerFinder.instance().clearBest();
+		// checks the best server of the last run, or finds one if there is none
+		ServerFinder.instance().getBestAsync();
 		if (AppSettings.instance().getMainnetWarningAccepted()) {
 			_handler.postDelayed(_proceedToNextActivity, AppConstants.SPLASH_DELAY_MS);
 		}
@@ -15,6 +15,7 @@ import com.annimon.stream.function.Consumer;
 import org.nem.nac.R;
 import org.nem.nac.models.network.Server;
 import org.nem.nac.servers.ServerFinder;
+import org.nem.nac.servers.ServerHealthMonitor;
 import org.nem.nac.tasks.SetServerFlagAsyncTask;
 import org.nem.nac.ui.activities.NacBaseActivity;
 
@@ -115,6 +116,14 @@ public final class ServerListAdapter extends BaseAdapter {
 		}
 
 		views.serverInput.setText(server.toString());
+		final Optional<Long> heightLag = ServerHealthMonitor.instance().getHeightLag(server, _servers);
+		if (heightLag.isPresent() && heightLag.get() > 0) {
+			views.heightLagLabel.setText(_activity.getString(R.string.label_server_height_lag, heightLag.get()));
+			views.heightLagLabel.setVisibility(View.VISIBLE);
+		}
+		else {
+			views.heightLagLabel.setVisibility(View.GONE);
+		}
 
 		views.checkMark.setVisibility(_isEditMode && !isCurrent ? View.GONE : View.VISIBLE);
 		views.editBtn.setVisibility(_isEditMode && !isCurrent ? View.VISIBLE : View.GONE);
@@ -158,6 +167,7 @@ public final class ServerListAdapter extends BaseAdapter {
 		public TextView  editBtn;
 		public ImageView flagImg;
 		public TextView  serverInput;
+		public TextView  heightLagLabel;
 		public ImageView checkMark;
 		public ImageView deleteIcon;
 
@@ -165,6 +175,7 @@ public final class ServerListAdapter extends BaseAdapter {
 			this.editBtn = (TextView)convert.findViewById(R.id.listitem_btn_edit);
 			this.flagImg = (ImageView)convert.findViewById(R.id.listitem_img_flag);
 			this.serverInput = (TextView)convert.findViewById(R.id.listitem_label_server);
+			this.heightLagLabel = (TextView)convert.findViewById(R.id.listitem_label_height_lag);
 			this.checkMark = (ImageView)convert.findViewById(R.id.listitem_check_mark);
 			this.deleteIcon = (ImageView)convert.findViewById(R.id.listitem_delete_icon);
 		}
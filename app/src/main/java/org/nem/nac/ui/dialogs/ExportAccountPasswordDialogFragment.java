@@ -22,9 +22,15 @@ import timber.log.Timber;
 
 public final class ExportAccountPasswordDialogFragment extends NacBaseDialogFragment {
 
-	public static ExportAccountPasswordDialogFragment create() {
+	private static final String ARG_BOOL_ALLOW_APP_PASSWORD = "arg-allow-app-password";
+
+	/**
+	 * @param allowAppPassword If false, the account keys cannot be exported as they are and a password must be entered.
+	 */
+	public static ExportAccountPasswordDialogFragment create(final boolean allowAppPassword) {
 		ExportAccountPasswordDialogFragment fragment = new ExportAccountPasswordDialogFragment();
 		Bundle args = setArgs(true, R.string.dialog_title_account_export_password, true, null);
+		args.putBoolean(ARG_BOOL_ALLOW_APP_PASSWORD, allowAppPassword);
 		fragment.setArguments(args);
 		return fragment;
 	}
@@ -67,7 +73,15 @@ public final class ExportAccountPasswordDialogFragment extends NacBaseDialogFrag
 		setPwdChangeListener();
 		_useAppPasswordCheckBox = (CheckBox)view.findViewById(R.id.checkbox_use_app_password);
 		_useAppPasswordCheckBox.setOnCheckedChangeListener(this::onUseAppPasswordChange);
-		_useAppPasswordCheckBox.setChecked(true);
+		final boolean allowAppPassword = getArguments() == null || getArguments().getBoolean(ARG_BOOL_ALLOW_APP_PASSWORD, true);
+		if (allowAppPassword) {
+			_useAppPasswordCheckBox.setChecked(true);
+		}
+		else {
+			_useAppPasswordCheckBox.setChecked(false);
+			_useAppPasswordCheckBox.setVisibility(View.GONE);
+			enablePasswordInput(true);
+		}
 		return view;
 	}
 
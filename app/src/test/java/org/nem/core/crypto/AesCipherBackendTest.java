@@ -0,0 +1,118 @@
+package org.nem.core.crypto;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.core.crypto.ed25519.Ed25519BlockCipher;
+import org.nem.core.utils.HexEncoder;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class AesCipherBackendTest {
+	private static final AesCipherBackend[] BACKENDS = AesCipherBackend.values();
+
+	@After
+	public void resetBackend() {
+		AesCipherBackend.select(AesCipherBackend.JAVAX_CRYPTO);
+	}
+
+	@Test
+	public void testPlatformBackendIsPreferred() {
+		Assert.assertTrue(AesCipherBackend.JAVAX_CRYPTO.isCompatible());
+		Assert.assertTrue(AesCipherBackend.SPONGY_CASTLE.isCompatible());
+		Assert.assertEquals(AesCipherBackend.JAVAX_CRYPTO, AesCipherBackend.getSelected());
+	}
+
+	@Test
+	public void testKnownAnswer() {
+		// NIST SP 800-38A F.2.5 (CBC-AES256), the last block is the PKCS#7 padding
+		final byte[] key = HexEncoder.getBytes("603deb1015ca71be2b73aef0857d77811f352c073b6108d72d9810a30914dff4");
+		final byte[] iv = HexEncoder.getBytes("000102030405060708090a0b0c0d0e0f");
+		final byte[] plaintext = HexEncoder.getBytes("6bc1bee22e409f96e93d7e117393172aae2d8a571e03ac9c9eb76fac45af8e5130c81c46a35ce411e5fbc1191a0a52eff69f2445df4f9b17ad2b417be66c3710");
+		final byte[] expected = HexEncoder.getBytes("f58c4c04d6e5f1ba779eabfb5f7bfbd69cfc4e967edb808d679f777bc6702c7d39f23369a9d9bacfa530e26304231461b2eb05e2c39be9fcda6c19078c6a9d1b");
+		for (final AesCipherBackend backend : BACKENDS) {
+			final byte[] ciphertext = backend.encrypt(key, iv, plaintext);
+
+			Assert.assertEquals(80, ciphertext.length);
+			Assert.assertArrayEquals(backend.name(), expected, Arrays.copyOf(ciphertext, 64));
+			Assert.assertArrayEquals(backend.name(), plaintext, backend.decrypt(key, iv, ciphertext, 0, ciphertext.length));
+		}
+	}
+
+	@Test
+	public void testCiphertextsAreInterchangeable() {
+		final Random random = new Random(11);
+		final byte[] key = new byte[32];
+		final byte[] iv = new byte[16];
+		for (int length = 0; length <= 200; length++) {
+			random.nextBytes(key);
+			random.nextBytes(iv);
+			final byte[] plaintext = new byte[length];
+			random.nextBytes(plaintext);
+
+			final byte[] javaxCiphertext = AesCipherBackend.JAVAX_CRYPTO.encrypt(key, iv, plaintext);
+			final byte[] spongyCiphertext = AesCipherBackend.SPONGY_CASTLE.encrypt(key, iv, plaintext);
+
+			Assert.assertArrayEquals(spongyCiphertext, javaxCiphertext);
+			Assert.assertArrayEquals(plaintext, AesCipherBackend.SPONGY_CASTLE.decrypt(key, iv, javaxCiphertext, 0, javaxCiphertext.length));
+			Assert.assertArrayEquals(plaintext, AesCipherBackend.JAVAX_CRYPTO.decrypt(key, iv, spongyCiphertext, 0, spongyCiphertext.length));
+		}
+	}
+
+	@Test
+	public void testEncryptsIntoBufferAndDecryptsFromOffset() {
+		final byte[] key = new byte[32];
+		final byte[] iv = new byte[16];
+		final byte[] plaintext = "key wrap test, 32 bytes of data!".getBytes();
+		for (final AesCipherBackend backend : BACKENDS) {
+			final byte[] buffer = new byte[5 + AesCipherBackend.getEncryptedSize(plaintext.length)];
+
+			Assert.assertEquals(48, backend.encrypt(key, iv, plaintext, 0, plaintext.length, buffer, 5));
+			Assert.assertArrayEquals(plaintext, backend.decrypt(key, iv, buffer, 5, 48));
+		}
+	}
+
+	@Test
+	public void testMalformedCiphertextIsRejected() {
+		final byte[] key = new byte[32];
+		final byte[] iv = new byte[16];
+		for (final AesCipherBackend backend : BACKENDS) {
+			final byte[] ciphertext = backend.encrypt(key, iv, new byte[20]);
+			assertDecryptFails(backend, key, iv, ciphertext, ciphertext.length - 1);
+			assertDecryptFails(backend, key, iv, ciphertext, 0);
+
+			// a wrong key leaves random padding, which is very unlikely to be valid
+			final byte[] wrongKey = new byte[32];
+			wrongKey[0] = 1;
+			assertDecryptFails(backend, wrongKey, iv, ciphertext, ciphertext.length);
+		}
+	}
+
+	@Test
+	public void testBlockCipherInteropAcrossBackends() {
+		final KeyPair sender = new KeyPair();
+		final KeyPair recipient = new KeyPair();
+		final byte[] message = "hello from the other backend".getBytes();
+		for (final AesCipherBackend encryptBackend : BACKENDS) {
+			for (final AesCipherBackend decryptBackend : BACKENDS) {
+				AesCipherBackend.select(encryptBackend);
+				final byte[] encrypted = new Ed25519BlockCipher(sender, new KeyPair(null, recipient.getPublicKey())).encrypt(message);
+
+				AesCipherBackend.select(decryptBackend);
+				final byte[] decrypted = new Ed25519BlockCipher(new KeyPair(null, sender.getPublicKey()), recipient).decrypt(encrypted);
+
+				Assert.assertArrayEquals(encryptBackend + " -> " + decryptBackend, message, decrypted);
+			}
+		}
+	}
+
+	private static void assertDecryptFails(final AesCipherBackend backend, final byte[] key, final byte[] iv, final byte[] input, final int length) {
+		try {
+			backend.decrypt(key, iv, input, 0, length);
+			Assert.fail(backend.name());
+		} catch (final CryptoException e) {
+			// expected
+		}
+	}
+}
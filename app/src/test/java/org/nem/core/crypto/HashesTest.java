@@ -3,6 +3,8 @@ package org.nem.core.crypto;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 public class HashesTest {
 
 	@Test
@@ -20,4 +22,58 @@ public class HashesTest {
 		Assert.assertArrayEquals("SHA3-256 fail", expectedsha3_256, sha3_256);
 		Assert.assertArrayEquals("SHA3-512 fail", expectedsha3_512, sha3_512);
 	}
+
+	@Test
+	public void testOffsetOverloadsHashOnlyTheGivenRange() {
+		final byte[] input = new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+		final byte[] part = new byte[]{3, 4, 5, 6, 7};
+
+		Assert.assertArrayEquals(Hashes.sha3_256(part), Hashes.sha3_256(input, 2, 5));
+		Assert.assertArrayEquals(Hashes.sha3_512(part), Hashes.sha3_512(input, 2, 5));
+		Assert.assertArrayEquals(Hashes.ripemd160(part), Hashes.ripemd160(input, 2, 5));
+	}
+
+	@Test
+	public void testOutputOverloadsWriteIntoBuffer() {
+		final byte[] input = new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+		final byte[] output = new byte[Hashes.SHA3_512_LENGTH + 3];
+
+		Assert.assertEquals(Hashes.SHA3_256_LENGTH, Hashes.sha3_256(input, 1, 8, output, 3));
+		Assert.assertArrayEquals(Hashes.sha3_256(input, 1, 8), Arrays.copyOfRange(output, 3, 3 + Hashes.SHA3_256_LENGTH));
+		Assert.assertEquals(Hashes.SHA3_512_LENGTH, Hashes.sha3_512(input, 1, 8, output, 3));
+		Assert.assertArrayEquals(Hashes.sha3_512(input, 1, 8), Arrays.copyOfRange(output, 3, 3 + Hashes.SHA3_512_LENGTH));
+		Assert.assertEquals(Hashes.RIPEMD160_LENGTH, Hashes.ripemd160(input, 1, 8, output, 3));
+		Assert.assertArrayEquals(Hashes.ripemd160(input, 1, 8), Arrays.copyOfRange(output, 3, 3 + Hashes.RIPEMD160_LENGTH));
+	}
+
+	@Test
+	public void testOutputMayOverlapInput() {
+		final byte[] buffer = new byte[Hashes.SHA3_256_LENGTH];
+		for (int i = 0; i < buffer.length; i++) {
+			buffer[i] = (byte) i;
+		}
+
+		final byte[] expected = Hashes.sha3_256(buffer);
+		Hashes.sha3_256(buffer, 0, buffer.length, buffer, 0);
+		Assert.assertArrayEquals(expected, buffer);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOutputBufferMustBeLargeEnough() {
+		Hashes.sha3_256(new byte[8], 0, 8, new byte[Hashes.SHA3_256_LENGTH], 1);
+	}
+
+	@Test
+	public void testDigestIsUsableAfterFailedCall() {
+		final byte[] input = new byte[]{1, 2, 3};
+		final byte[] expected = Hashes.sha3_256(input);
+		try {
+			Hashes.sha3_256(input, null);
+			Assert.fail();
+		} catch (final NullPointerException e) {
+			// expected
+		}
+
+		Assert.assertArrayEquals(expected, Hashes.sha3_256(input));
+	}
 }
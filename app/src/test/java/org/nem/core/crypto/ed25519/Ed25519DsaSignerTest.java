@@ -3,11 +3,22 @@ package org.nem.core.crypto.ed25519;
 import org.junit.Assert;
 import org.junit.Test;
 import org.nem.core.crypto.DsaSigner;
+import org.nem.core.crypto.Hashes;
 import org.nem.core.crypto.KeyPair;
 import org.nem.core.crypto.PrivateKey;
 import org.nem.core.crypto.PublicKey;
+import org.nem.core.crypto.Signature;
+import org.nem.core.crypto.SignedData;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519BasePointMultiplier;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519EncodedFieldElement;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519EncodedGroupElement;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519Group;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519GroupElement;
+import org.nem.core.utils.ArrayUtils;
 import org.nem.core.utils.HexEncoder;
 
+import java.util.Random;
+
 public class Ed25519DsaSignerTest {
 	@Test
 	public void testSign() throws Exception {
@@ -23,4 +34,147 @@ public class Ed25519DsaSignerTest {
 
 		Assert.assertArrayEquals("Wrong signature!", expectedSignature, actual);
 	}
+
+	@Test
+	public void testVerifyBatchAcceptsValidSignatures() throws Exception {
+		final SignedData[] items = createSignedData(16);
+		final DsaSigner dsaSigner = new Ed25519DsaSigner(new KeyPair());
+
+		final boolean[] actual = dsaSigner.verifyBatch(items);
+
+		for (int i = 0; i < items.length; i++) {
+			Assert.assertTrue("Valid signature rejected!", actual[i]);
+		}
+	}
+
+	@Test
+	public void testVerifyBatchFindsInvalidSignatureOfSignerWithSeveralSignatures() throws Exception {
+		final KeyPair keyPair = new KeyPair();
+		final Ed25519DsaSigner signer = new Ed25519DsaSigner(keyPair);
+		final SignedData[] items = createSignedData(8);
+		for (int i = 0; i < items.length; i += 2) {
+			items[i] = new SignedData(items[i].getData(), signer.sign(items[i].getData()), keyPair.getPublicKey());
+		}
+
+		Assert.assertArrayEquals(new boolean[] { true, true, true, true, true, true, true, true }, signer.verifyBatch(items));
+
+		items[4] = new SignedData(items[2].getData(), items[4].getSignature(), keyPair.getPublicKey());
+		Assert.assertArrayEquals(new boolean[] { true, true, true, true, false, true, true, true }, signer.verifyBatch(items));
+	}
+
+	@Test
+	public void testVerifyBatchFindsInvalidSignatures() throws Exception {
+		final SignedData[] items = createSignedData(16);
+		final SignedData valid = items[5];
+		final byte[] tamperedData = valid.getData().clone();
+		tamperedData[0] ^= 1;
+		items[5] = new SignedData(tamperedData, valid.getSignature(), valid.getPublicKey());
+		items[11] = new SignedData(items[11].getData(), items[11].getSignature(), items[3].getPublicKey());
+		final DsaSigner dsaSigner = new Ed25519DsaSigner(new KeyPair());
+
+		final boolean[] actual = dsaSigner.verifyBatch(items);
+
+		for (int i = 0; i < items.length; i++) {
+			Assert.assertEquals("Wrong result for item " + i, i != 5 && i != 11, actual[i]);
+		}
+	}
+
+	@Test
+	public void testVerifyBatchOfEmptyArray() throws Exception {
+		final DsaSigner dsaSigner = new Ed25519DsaSigner(new KeyPair());
+
+		Assert.assertEquals(0, dsaSigner.verifyBatch(new SignedData[0]).length);
+	}
+
+	@Test
+	public void testVerifyBatchAgreesWithVerifyIfRHasSmallOrderComponent() throws Exception {
+		final DsaSigner dsaSigner = new Ed25519DsaSigner(new KeyPair());
+		for (int round = 0; round < 16; round++) {
+			final SignedData[] items = createSignedData(4);
+			items[2] = createSignedDataWithSmallOrderR();
+
+			final boolean[] actual = dsaSigner.verifyBatch(items);
+
+			for (int i = 0; i < items.length; i++) {
+				final boolean expected = new Ed25519DsaSigner(new KeyPair(null, items[i].getPublicKey()))
+						.verify(items[i].getData(), items[i].getSignature());
+				Assert.assertEquals("Wrong result for item " + i, i != 2, expected);
+				Assert.assertEquals("Wrong result for item " + i, expected, actual[i]);
+			}
+		}
+	}
+
+	@Test
+	public void testIsInPrimeOrderSubgroup() throws Exception {
+		final Ed25519GroupElement smallOrder = new Ed25519EncodedGroupElement(
+				HexEncoder.getBytes("c7176a703d4dd84fba3c0b760d10670f2a2053fa2c39ccc64ec7fd7792ac037a")).decode();
+		final Ed25519GroupElement A = new Ed25519EncodedGroupElement(new KeyPair().getPublicKey().getRaw()).decode();
+		final Ed25519GroupElement taintedA = new Ed25519EncodedGroupElement(A.add(smallOrder.toCached()).toP2().encode().getRaw()).decode();
+
+		Assert.assertTrue(A.isInPrimeOrderSubgroup());
+		Assert.assertFalse(smallOrder.isInPrimeOrderSubgroup());
+		Assert.assertFalse(taintedA.isInPrimeOrderSubgroup());
+	}
+
+	@Test
+	public void testIsInPrimeOrderSubgroupAgreesWithMultiplicationByGroupOrder() throws Exception {
+		final Ed25519GroupElement orderEight = new Ed25519EncodedGroupElement(
+				HexEncoder.getBytes("c7176a703d4dd84fba3c0b760d10670f2a2053fa2c39ccc64ec7fd7792ac037a")).decode();
+		final Ed25519EncodedFieldElement groupOrder = new Ed25519EncodedFieldElement(
+				ArrayUtils.toByteArray(Ed25519Group.GROUP_ORDER, 32));
+		for (int i = 0; i < 10; i++) {
+			Ed25519GroupElement point = 0 == i
+					? Ed25519Group.ZERO_P3
+					: new Ed25519EncodedGroupElement(new KeyPair().getPublicKey().getRaw()).decode();
+			for (int j = 0; j < 8; j++) {
+				final Ed25519GroupElement decoded = new Ed25519EncodedGroupElement(point.toP2().encode().getRaw()).decode();
+				final boolean expected = Ed25519Group.ZERO_P2.equals(Ed25519GroupElement.multiScalarMultiplyVariableTime(
+						new Ed25519GroupElement[] { decoded },
+						new Ed25519EncodedFieldElement[] { groupOrder }));
+
+				Assert.assertEquals(0 == j, expected);
+				Assert.assertEquals("Wrong result for point " + i + " + " + j + " * T", expected, decoded.isInPrimeOrderSubgroup());
+				point = point.add(orderEight.toCached()).toP3();
+			}
+		}
+	}
+
+	/**
+	 * Signs like Ed25519SigningKey but with R = r * B + T where T = (0, -1) has order 2.
+	 * Then S * B - h * A = R - T, so verify() rejects the signature,
+	 * while T vanishes in the batch equation for every even z.
+	 */
+	private static SignedData createSignedDataWithSmallOrderR() {
+		final Ed25519GroupElement smallOrder = new Ed25519EncodedGroupElement(
+				HexEncoder.getBytes("ecffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff7f")).decode();
+		final KeyPair keyPair = new KeyPair();
+		final byte[] data = new byte[100];
+		final byte[] rawR = new byte[64];
+		final Random random = new Random();
+		random.nextBytes(data);
+		random.nextBytes(rawR);
+
+		final Ed25519EncodedFieldElement rModQ = new Ed25519EncodedFieldElement(rawR).modQ();
+		final byte[] encodedR = Ed25519BasePointMultiplier.scalarMultiply(rModQ).add(smallOrder.toCached()).toP2().encode().getRaw();
+		final Ed25519EncodedFieldElement hModQ = new Ed25519EncodedFieldElement(Hashes.sha3_512(
+				encodedR,
+				keyPair.getPublicKey().getRaw(),
+				data)).modQ();
+		final Ed25519EncodedFieldElement a = Ed25519Utils.prepareForScalarMultiply(keyPair.getPrivateKey());
+		final Ed25519EncodedFieldElement encodedS = hModQ.multiplyAndAddModQ(a, rModQ);
+		return new SignedData(data, new Signature(encodedR, encodedS.getRaw()), keyPair.getPublicKey());
+	}
+
+	static SignedData[] createSignedData(final int count) {
+		final Random random = new Random();
+		final SignedData[] items = new SignedData[count];
+		for (int i = 0; i < count; i++) {
+			final KeyPair keyPair = new KeyPair();
+			final byte[] data = new byte[100];
+			random.nextBytes(data);
+			items[i] = new SignedData(data, new Ed25519DsaSigner(keyPair).sign(data), keyPair.getPublicKey());
+		}
+
+		return items;
+	}
 }
@@ -0,0 +1,59 @@
+package org.nem.core.crypto.ed25519;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.core.crypto.KeyPair;
+import org.nem.core.crypto.Signature;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519EncodedGroupElement;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519GroupElement;
+
+public class Ed25519PublicKeyCacheTest {
+
+	@Test
+	public void testSecondLookupIsHit() throws Exception {
+		final Ed25519PublicKeyCache cache = new Ed25519PublicKeyCache(4);
+		final byte[] rawPublicKey = new KeyPair().getPublicKey().getRaw();
+
+		final Ed25519GroupElement first = cache.getForDoubleScalarMultiplication(rawPublicKey);
+		final Ed25519GroupElement second = cache.getForScalarMultiplication(rawPublicKey);
+
+		Assert.assertSame(first, second);
+		Assert.assertEquals(1, cache.getHitCount());
+		Assert.assertEquals(1, cache.getMissCount());
+		Assert.assertTrue(second.isPrecomputedForDoubleScalarMultiplication());
+		Assert.assertNotNull(second.getPrecomputedForSingle());
+		Assert.assertEquals(new Ed25519EncodedGroupElement(rawPublicKey), second.encode());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedKeyIsEvicted() throws Exception {
+		final Ed25519PublicKeyCache cache = new Ed25519PublicKeyCache(2);
+		final byte[] key1 = new KeyPair().getPublicKey().getRaw();
+		final byte[] key2 = new KeyPair().getPublicKey().getRaw();
+		final byte[] key3 = new KeyPair().getPublicKey().getRaw();
+
+		cache.getForDoubleScalarMultiplication(key1);
+		cache.getForDoubleScalarMultiplication(key2);
+		cache.getForDoubleScalarMultiplication(key1);
+		cache.getForDoubleScalarMultiplication(key3);
+
+		Assert.assertEquals(2, cache.size());
+		Assert.assertNotNull(cache.find(key1));
+		Assert.assertNull(cache.find(key2));
+		Assert.assertNotNull(cache.find(key3));
+	}
+
+	@Test
+	public void testRepeatedVerificationHitsDefaultCache() throws Exception {
+		final KeyPair keyPair = new KeyPair();
+		final byte[] data = new byte[]{ 1, 2, 3 };
+		final Ed25519DsaSigner verifier = new Ed25519DsaSigner(new KeyPair(null, keyPair.getPublicKey()));
+		final Signature signature = new Ed25519DsaSigner(keyPair).sign(data);
+		final long hitsBefore = Ed25519PublicKeyCache.getDefault().getHitCount();
+
+		Assert.assertTrue(verifier.verify(data, signature));
+		Assert.assertTrue(verifier.verify(data, signature));
+
+		Assert.assertEquals(hitsBefore + 1, Ed25519PublicKeyCache.getDefault().getHitCount());
+	}
+}
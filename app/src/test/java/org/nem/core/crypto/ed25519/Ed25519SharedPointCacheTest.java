@@ -0,0 +1,71 @@
+package org.nem.core.crypto.ed25519;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.core.crypto.KeyPair;
+
+public class Ed25519SharedPointCacheTest {
+
+	@Test
+	public void testCachedPointDecryptsAllMessages() throws Exception {
+		final KeyPair sender = new KeyPair();
+		final KeyPair recipient = new KeyPair();
+		final Ed25519BlockCipher encryptCipher = new Ed25519BlockCipher(sender, new KeyPair(null, recipient.getPublicKey()));
+		final Ed25519SharedPointCache cache = new Ed25519SharedPointCache(8);
+		final Ed25519BlockCipher decryptCipher = new Ed25519BlockCipher(new KeyPair(null, sender.getPublicKey()), recipient, cache);
+
+		for (int i = 0; i < 10; i++) {
+			final byte[] message = new byte[]{ (byte) i, 1, 2, 3 };
+			Assert.assertArrayEquals(message, decryptCipher.decrypt(encryptCipher.encrypt(message)));
+		}
+
+		Assert.assertEquals(1, cache.size());
+		Assert.assertEquals(1, cache.getMissCount());
+		Assert.assertEquals(9, cache.getHitCount());
+	}
+
+	@Test
+	public void testCachedPointIsSharedByEncryptionAndDecryption() throws Exception {
+		final KeyPair account1 = new KeyPair();
+		final KeyPair account2 = new KeyPair();
+		final Ed25519SharedPointCache cache = new Ed25519SharedPointCache(8);
+		final Ed25519BlockCipher cipher1 = new Ed25519BlockCipher(account1, new KeyPair(null, account2.getPublicKey()), cache);
+		final Ed25519BlockCipher cipher2 = new Ed25519BlockCipher(new KeyPair(null, account2.getPublicKey()), account1, cache);
+		final byte[] message = new byte[]{ 4, 5, 6 };
+
+		Assert.assertArrayEquals(message, cipher2.decrypt(cipher1.encrypt(message)));
+		Assert.assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testClearRemovesAllPoints() throws Exception {
+		final KeyPair keyPair = new KeyPair();
+		final KeyPair other = new KeyPair();
+		final Ed25519SharedPointCache cache = new Ed25519SharedPointCache(8);
+		final byte[] point = new byte[32];
+		point[0] = 7;
+		cache.put(keyPair.getPrivateKey(), other.getPublicKey(), point, cache.getEpoch());
+
+		cache.clear();
+
+		Assert.assertEquals(0, cache.size());
+		Assert.assertNull(cache.get(keyPair.getPrivateKey(), other.getPublicKey()));
+	}
+
+	@Test
+	public void testPointCalculatedBeforeClearIsNotCached() throws Exception {
+		final KeyPair keyPair = new KeyPair();
+		final KeyPair other = new KeyPair();
+		final Ed25519SharedPointCache cache = new Ed25519SharedPointCache(8);
+		final byte[] point = new byte[32];
+		point[0] = 7;
+		final long epoch = cache.getEpoch();
+
+		// the session ends while the point is calculated
+		cache.clear();
+		cache.put(keyPair.getPrivateKey(), other.getPublicKey(), point, epoch);
+
+		Assert.assertEquals(0, cache.size());
+		Assert.assertNull(cache.get(keyPair.getPrivateKey(), other.getPublicKey()));
+	}
+}
@@ -0,0 +1,61 @@
+package org.nem.core.crypto.ed25519;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.core.crypto.CryptoException;
+import org.nem.core.crypto.KeyPair;
+import org.nem.core.crypto.PrivateKey;
+import org.nem.core.crypto.PublicKey;
+import org.nem.core.crypto.Signature;
+import org.nem.core.utils.HexEncoder;
+
+public class Ed25519SigningKeyTest {
+	private static final String PRIVATE_KEY_HEX = "c7a10487f0c2be5cf691b42864e13be95d172f67aa1c8e018932ce09f700d962";
+	private static final String PUBLIC_KEY_HEX = "f5496c59ff336ae2d497140f0ad48306092beeda0d36c31c7373103956c90261";
+
+	@Test
+	public void testDerivesPublicKey() {
+		final Ed25519SigningKey signingKey = new Ed25519SigningKey(PrivateKey.fromHexString(PRIVATE_KEY_HEX));
+
+		Assert.assertEquals(PublicKey.fromHexString(PUBLIC_KEY_HEX), signingKey.getPublicKey());
+	}
+
+	@Test
+	public void testSign() {
+		final byte[] data = HexEncoder.getBytes("010100000100009803555e0020000000f5496c59ff336ae2d497140f0ad48306092beeda0d36c31c7373103956c9026180841e000000000063a95e002800000054435550565143373754414d4837514b504650354f5433544c5556344a59525056364345474a585700ca9a3b000000001900000001000000110000004669727374205445535421205965616821");
+		final byte[] expectedSignature = HexEncoder.getBytes("79eb96112c2c57d064316105b80ebe6c14eb2622b25844b96d96ed51136cb434f1919658f02eaf8c592ac5e55d38bce4a64fcadeece160295dd16fb2955f020a");
+		final Ed25519SigningKey signingKey = new Ed25519SigningKey(PrivateKey.fromHexString(PRIVATE_KEY_HEX));
+
+		Assert.assertArrayEquals(expectedSignature, signingKey.sign(data).getBytes());
+		Assert.assertArrayEquals(expectedSignature, new Ed25519DsaSigner(signingKey).sign(data).getBytes());
+	}
+
+	@Test
+	public void testSignaturesMatchKeyPairSigner() {
+		final KeyPair keyPair = new KeyPair();
+		final Ed25519SigningKey signingKey = new Ed25519SigningKey(keyPair.getPrivateKey());
+		final Ed25519DsaSigner verifier = new Ed25519DsaSigner(new KeyPair(null, keyPair.getPublicKey()));
+		for (int i = 0; i < 10; i++) {
+			final byte[] data = ("payload " + i).getBytes();
+			final Signature signature = signingKey.sign(data);
+
+			Assert.assertEquals(new Ed25519DsaSigner(keyPair).sign(data), signature);
+			Assert.assertTrue(verifier.verify(data, signature));
+		}
+	}
+
+	@Test
+	public void testCannotSignAfterDestroy() {
+		final Ed25519SigningKey signingKey = new Ed25519SigningKey(new KeyPair().getPrivateKey());
+		final Ed25519DsaSigner signer = new Ed25519DsaSigner(signingKey);
+		signingKey.destroy();
+
+		Assert.assertTrue(signingKey.isDestroyed());
+		try {
+			signer.sign(new byte[] { 1, 2, 3 });
+			Assert.fail();
+		} catch (final CryptoException e) {
+			// expected
+		}
+	}
+}
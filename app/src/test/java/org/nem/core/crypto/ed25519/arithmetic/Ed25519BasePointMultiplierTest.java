@@ -0,0 +1,57 @@
+package org.nem.core.crypto.ed25519.arithmetic;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.core.utils.ArrayUtils;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+public class Ed25519BasePointMultiplierTest {
+
+	@Test
+	public void testScalarMultiplyMatchesGenericScalarMultiply() throws Exception {
+		final Random random = new Random();
+		for (int i = 0; i < 200; i++) {
+			final byte[] raw = new byte[32];
+			random.nextBytes(raw);
+			raw[31] &= 0x7F;
+			assertSameAsGeneric(new Ed25519EncodedFieldElement(raw));
+		}
+	}
+
+	@Test
+	public void testScalarMultiplyMatchesGenericScalarMultiplyForReducedScalars() throws Exception {
+		final Random random = new Random();
+		for (int i = 0; i < 200; i++) {
+			final byte[] raw = new byte[64];
+			random.nextBytes(raw);
+			assertSameAsGeneric(new Ed25519EncodedFieldElement(raw).modQ());
+		}
+	}
+
+	@Test
+	public void testScalarMultiplyMatchesGenericScalarMultiplyForEdgeCases() throws Exception {
+		final BigInteger[] scalars = {
+				BigInteger.ZERO,
+				BigInteger.ONE,
+				BigInteger.valueOf(32),
+				BigInteger.valueOf(33),
+				BigInteger.ONE.shiftLeft(254),
+				BigInteger.ONE.shiftLeft(255).subtract(BigInteger.ONE),
+				Ed25519Group.GROUP_ORDER.subtract(BigInteger.ONE),
+				Ed25519Group.GROUP_ORDER
+		};
+		for (final BigInteger scalar : scalars) {
+			assertSameAsGeneric(new Ed25519EncodedFieldElement(ArrayUtils.toByteArray(scalar, 32)));
+		}
+	}
+
+	private static void assertSameAsGeneric(final Ed25519EncodedFieldElement a) {
+		final Ed25519EncodedGroupElement expected = Ed25519Group.BASE_POINT.scalarMultiply(a).encode();
+
+		final Ed25519EncodedGroupElement actual = Ed25519BasePointMultiplier.scalarMultiply(a).encode();
+
+		Assert.assertEquals("Mismatch for scalar " + a, expected, actual);
+	}
+}
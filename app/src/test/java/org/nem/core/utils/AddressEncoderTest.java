@@ -0,0 +1,28 @@
+package org.nem.core.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AddressEncoderTest {
+	private static final byte TEST_NETWORK = (byte) 0x98;
+	private static final byte MAIN_NETWORK = (byte) 0x68;
+
+	@Test
+	public void testGetString() {
+		final byte[] publicKey = HexEncoder.getBytes("f5496c59ff336ae2d497140f0ad48306092beeda0d36c31c7373103956c90261");
+
+		Assert.assertEquals("TBUD2C7EECXPZLCFUP3WHOG57OZSY4Q3WBMPVTW3", AddressEncoder.getString(TEST_NETWORK, publicKey));
+	}
+
+	@Test
+	public void testIsValid() {
+		final String address = "TBUD2C7EECXPZLCFUP3WHOG57OZSY4Q3WBMPVTW3";
+
+		Assert.assertTrue(AddressEncoder.isValid(address, TEST_NETWORK));
+		Assert.assertFalse(AddressEncoder.isValid(address, MAIN_NETWORK));
+		Assert.assertFalse(AddressEncoder.isValid("TBUD2C7EECXPZLCFUP3WHOG57OZSY4Q3WBMPVTW4", TEST_NETWORK));
+		Assert.assertFalse(AddressEncoder.isValid(" " + address.substring(1), TEST_NETWORK));
+		Assert.assertFalse(AddressEncoder.isValid(address.substring(1), TEST_NETWORK));
+		Assert.assertFalse(AddressEncoder.isValid(null, TEST_NETWORK));
+	}
+}
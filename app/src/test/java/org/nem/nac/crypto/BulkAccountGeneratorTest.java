@@ -0,0 +1,55 @@
+package org.nem.nac.crypto;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.nac.common.enums.NetworkVersion;
+import org.nem.nac.common.exceptions.NacRuntimeException;
+import org.nem.nac.models.NacPublicKey;
+import org.nem.nac.models.primitives.AddressValue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BulkAccountGeneratorTest {
+
+	@Test
+	public void testGeneratesConsistentDistinctAccounts() throws Exception {
+		final byte version = NetworkVersion.TEST_NETWORK.get();
+		final BulkAccountGenerator generator = new BulkAccountGenerator(version, 4);
+		final Set<AddressValue> addresses = new HashSet<>();
+
+		// the consumer is never called concurrently, so the set needs no synchronization
+		generator.generate(100, account -> {
+			Assert.assertEquals(account.publicKey, NacPublicKey.fromPrivateKey(account.privateKey));
+			Assert.assertEquals(AddressValue.fromPublicKey(version, account.publicKey), account.address);
+			addresses.add(account.address);
+		});
+
+		Assert.assertEquals(100, addresses.size());
+	}
+
+	@Test
+	public void testGeneratesNothingForZeroCount() throws Exception {
+		new BulkAccountGenerator(NetworkVersion.TEST_NETWORK.get(), 4).generate(0, account -> Assert.fail());
+	}
+
+	@Test
+	public void testPropagatesConsumerFailureAfterAllWorkersStopped() throws Exception {
+		final AtomicInteger calls = new AtomicInteger();
+		try {
+			new BulkAccountGenerator(NetworkVersion.TEST_NETWORK.get(), 4).generate(1000, account -> {
+				if (calls.incrementAndGet() == 10) {
+					throw new IllegalStateException();
+				}
+			});
+			Assert.fail("NacRuntimeException expected");
+		} catch (NacRuntimeException e) {
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+
+		// no worker is left running that could still hand out accounts
+		Thread.sleep(100);
+		Assert.assertEquals(10, calls.get());
+	}
+}
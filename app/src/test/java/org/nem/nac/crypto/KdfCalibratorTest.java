@@ -0,0 +1,59 @@
+package org.nem.nac.crypto;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.nac.common.TimeSpan;
+
+public class KdfCalibratorTest {
+
+	private static final TimeSpan TARGET = TimeSpan.fromMilliSeconds(800);
+
+	@Test
+	public void testSplitsTargetBetweenHashAndKey() {
+		// 400 ms each: 4000 ns per iteration, 1 ms for bcrypt cost 4 doubles 8 times
+		final KdfParameters parameters = KdfCalibrator.choose(TARGET, 4, 4000, 1_000_000);
+
+		Assert.assertEquals(100_000, parameters.deriveKeyIterations);
+		Assert.assertEquals(12, parameters.bcryptLogRounds);
+	}
+
+	@Test
+	public void testSlowDeviceGetsLegacyMinimum() {
+		final KdfParameters parameters = KdfCalibrator.choose(TARGET, 10, 1_000_000, 100_000_000);
+
+		Assert.assertEquals(KdfParameters.LEGACY_DERIVE_KEY_ITERATIONS, parameters.deriveKeyIterations);
+		Assert.assertEquals(10, parameters.bcryptLogRounds);
+	}
+
+	@Test
+	public void testFastDeviceIsCapped() {
+		final KdfParameters parameters = KdfCalibrator.choose(TARGET, 4, 0, 0);
+
+		Assert.assertEquals(1_000_000, parameters.deriveKeyIterations);
+		Assert.assertEquals(14, parameters.bcryptLogRounds);
+	}
+
+	@Test
+	public void testIterationsAreRounded() {
+		Assert.assertEquals(133_000, KdfCalibrator.choose(TARGET, 4, 3000, 1_000_000).deriveKeyIterations);
+	}
+
+	@Test
+	public void testLegacyParametersUseHashCost() {
+		final KdfParameters parameters = KdfParameters.legacy(PasswordHasher.hash("password", 5));
+
+		Assert.assertEquals(KdfParameters.LEGACY_DERIVE_KEY_ITERATIONS, parameters.deriveKeyIterations);
+		Assert.assertEquals(5, parameters.bcryptLogRounds);
+		Assert.assertTrue(parameters.isExportCompatible());
+		Assert.assertFalse(new KdfParameters(100_000, 5).isExportCompatible());
+	}
+
+	@Test
+	public void testCalibratedHashIsChecked() {
+		final String hash = PasswordHasher.hash("password", 6);
+
+		Assert.assertEquals(6, PasswordHasher.getLogRounds(hash));
+		Assert.assertTrue(PasswordHasher.check("password", hash));
+		Assert.assertFalse(PasswordHasher.check("Password", hash));
+	}
+}
@@ -0,0 +1,101 @@
+package org.nem.nac.crypto;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.nac.models.BinaryData;
+import org.nem.nac.models.EncryptedNacPrivateKey;
+import org.nem.nac.models.NacPrivateKey;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class KeyReencryptorTest {
+
+	private static final BinaryData OLD_KEY = randomData(32);
+	private static final BinaryData NEW_KEY = randomData(32);
+
+	@Test
+	public void testReencryptsInOrder() throws Exception {
+		final List<NacPrivateKey> privateKeys = new ArrayList<>();
+		final List<EncryptedNacPrivateKey> keys = createKeys(100, privateKeys);
+
+		final List<EncryptedNacPrivateKey> reencrypted = new KeyReencryptor(4).reencrypt(keys, OLD_KEY, NEW_KEY, null);
+
+		Assert.assertEquals(keys.size(), reencrypted.size());
+		for (int i = 0; i < keys.size(); i++) {
+			Assert.assertEquals(privateKeys.get(i), reencrypted.get(i).decryptKey(NEW_KEY));
+		}
+	}
+
+	@Test
+	public void testReportsProgressUpToCount() throws Exception {
+		final List<Integer> progress = Collections.synchronizedList(new ArrayList<>());
+
+		new KeyReencryptor(4).reencrypt(createKeys(100, new ArrayList<>()), OLD_KEY, NEW_KEY, progress::add);
+
+		for (int i = 1; i < progress.size(); i++) {
+			Assert.assertTrue(progress.get(i - 1) < progress.get(i));
+		}
+		Assert.assertEquals(Integer.valueOf(100), progress.get(progress.size() - 1));
+	}
+
+	@Test
+	public void testReturnsEmptyListForNoKeys() throws Exception {
+		Assert.assertTrue(new KeyReencryptor(4).reencrypt(new ArrayList<>(), OLD_KEY, NEW_KEY, null).isEmpty());
+	}
+
+	@Test(expected = NacCryptoException.class)
+	public void testFailsForWrongOldKey() throws Exception {
+		new KeyReencryptor(4).reencrypt(createKeys(100, new ArrayList<>()), NEW_KEY, OLD_KEY, null);
+	}
+
+	@Test
+	public void testReportsNoProgressAfterFailure() throws Exception {
+		final List<EncryptedNacPrivateKey> keys = createKeys(5000, new ArrayList<>());
+		keys.set(0, new NacPrivateKey(randomData(32).getRaw()).encryptKey(NEW_KEY));
+		final List<Integer> progress = Collections.synchronizedList(new ArrayList<>());
+
+		try {
+			new KeyReencryptor(4).reencrypt(keys, OLD_KEY, NEW_KEY, progress::add);
+			Assert.fail("NacCryptoException expected");
+		} catch (NacCryptoException e) {
+			final int progressAtFailure = progress.size();
+			// no worker is left running that could still report re-encrypted keys
+			Thread.sleep(100);
+			Assert.assertEquals(progressAtFailure, progress.size());
+		}
+	}
+
+	@Test
+	public void testReencryptsPartialLastChunk() throws Exception {
+		// 50 keys are three full chunks and two keys for the last worker
+		final List<NacPrivateKey> privateKeys = new ArrayList<>();
+		final List<EncryptedNacPrivateKey> keys = createKeys(50, privateKeys);
+
+		final List<EncryptedNacPrivateKey> reencrypted = new KeyReencryptor(4).reencrypt(keys, OLD_KEY, NEW_KEY, null);
+
+		Assert.assertEquals(50, reencrypted.size());
+		for (int i = 0; i < 50; i++) {
+			Assert.assertEquals(privateKeys.get(i), reencrypted.get(i).decryptKey(NEW_KEY));
+		}
+	}
+
+	private static List<EncryptedNacPrivateKey> createKeys(final int count, final List<NacPrivateKey> privateKeys)
+			throws NacCryptoException {
+		final List<EncryptedNacPrivateKey> keys = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			final NacPrivateKey privateKey = new NacPrivateKey(randomData(32).getRaw());
+			privateKeys.add(privateKey);
+			keys.add(privateKey.encryptKey(OLD_KEY));
+		}
+		return keys;
+	}
+
+	private static BinaryData randomData(final int length) {
+		final byte[] data = new byte[length];
+		new SecureRandom().nextBytes(data);
+		return new BinaryData(data);
+	}
+}
@@ -0,0 +1,105 @@
+package org.nem.nac.crypto;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.core.crypto.KeyPair;
+import org.nem.core.crypto.Signature;
+import org.nem.core.crypto.ed25519.Ed25519DsaSigner;
+import org.nem.core.crypto.ed25519.Ed25519SigningKey;
+import org.nem.nac.models.BinaryData;
+import org.nem.nac.models.EncryptedNacPrivateKey;
+import org.nem.nac.models.NacPrivateKey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class SessionKeyVaultTest {
+
+	private static final BinaryData SESSION_KEY =
+			new BinaryData("00112233445566778899aabbccddeeff00112233445566778899aabbccddeeff");
+
+	@Test
+	public void testDecryptsEachKeyOnce() throws Exception {
+		final SessionKeyVault vault = new SessionKeyVault();
+		vault.open(SESSION_KEY);
+		final EncryptedNacPrivateKey encryptedKey = createEncryptedKey();
+		// same key, different instance, as read from the database again
+		final EncryptedNacPrivateKey sameKey = new EncryptedNacPrivateKey(encryptedKey.getAsHex());
+
+		final Ed25519SigningKey signingKey = vault.getSigningKey(encryptedKey);
+		Assert.assertSame(signingKey, vault.getSigningKey(sameKey));
+		Assert.assertEquals(signingKey.getPublicKey(), vault.getKeyPair(encryptedKey).getPublicKey());
+
+		Assert.assertEquals(1, vault.getDecryptCount());
+		Assert.assertEquals(2, vault.getHitCount());
+		Assert.assertEquals(1, vault.size());
+	}
+
+	@Test
+	public void testHandlesMatchDecryptedKey() throws Exception {
+		final KeyPair expected = new KeyPair();
+		final NacPrivateKey privateKey = new NacPrivateKey(expected.getPrivateKey().getRaw().toByteArray());
+		final SessionKeyVault vault = new SessionKeyVault();
+		vault.open(SESSION_KEY);
+		final EncryptedNacPrivateKey encryptedKey = privateKey.encryptKey(SESSION_KEY);
+
+		final KeyPair keyPair = vault.getKeyPair(encryptedKey);
+		final byte[] data = { 1, 2, 3 };
+		final Signature signature = vault.getSigningKey(encryptedKey).sign(data);
+
+		Assert.assertEquals(expected.getPrivateKey(), keyPair.getPrivateKey());
+		Assert.assertEquals(expected.getPublicKey(), keyPair.getPublicKey());
+		Assert.assertTrue(new Ed25519DsaSigner(new KeyPair(null, expected.getPublicKey())).verify(data, signature));
+	}
+
+	@Test
+	public void testCloseWipesKeys() throws Exception {
+		final SessionKeyVault vault = new SessionKeyVault();
+		vault.open(SESSION_KEY);
+		final Ed25519SigningKey signingKey = vault.getSigningKey(createEncryptedKey());
+
+		vault.close();
+
+		Assert.assertTrue(signingKey.isDestroyed());
+		Assert.assertFalse(vault.isOpen());
+		Assert.assertEquals(0, vault.size());
+	}
+
+	@Test(expected = NacCryptoException.class)
+	public void testClosedVaultRejectsRequests() throws Exception {
+		final SessionKeyVault vault = new SessionKeyVault();
+		vault.getKeyPair(createEncryptedKey());
+	}
+
+	@Test
+	public void testConcurrentRequestsDecryptOnce() throws Exception {
+		final SessionKeyVault vault = new SessionKeyVault();
+		vault.open(SESSION_KEY);
+		final EncryptedNacPrivateKey encryptedKey = createEncryptedKey();
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<Ed25519SigningKey>> futures = new ArrayList<>();
+			for (int i = 0; i < 32; i++) {
+				futures.add(executor.submit((Callable<Ed25519SigningKey>)() -> vault.getSigningKey(encryptedKey)));
+			}
+
+			final Ed25519SigningKey signingKey = futures.get(0).get();
+			for (final Future<Ed25519SigningKey> future : futures) {
+				Assert.assertSame(signingKey, future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		Assert.assertEquals(1, vault.getDecryptCount());
+		Assert.assertEquals(31, vault.getHitCount());
+	}
+
+	private static EncryptedNacPrivateKey createEncryptedKey() throws NacCryptoException {
+		return new NacPrivateKey(new KeyPair().getPrivateKey().getRaw().toByteArray()).encryptKey(SESSION_KEY);
+	}
+}
@@ -0,0 +1,59 @@
+package org.nem.nac.http;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NisCachePolicyTest {
+	private static final long CHAIN_HEIGHT = 1_000_000;
+
+	@Test
+	public void testAnchoredTransfersPageGetsShortLifetime() {
+		Assert.assertEquals(NisCachePolicy.ANCHORED_PAGE_MAX_AGE, NisCachePolicy.getMaxAge(NisApi.Paths.TRANSACTIONS_ALL, "12345"));
+		Assert.assertTrue(NisCachePolicy.ANCHORED_PAGE_MAX_AGE.isLessThan(NisCachePolicy.FINAL_PAGE_MAX_AGE));
+	}
+
+	@Test
+	public void testNewestTransfersPageIsNotCached() {
+		Assert.assertNull(NisCachePolicy.getMaxAge(NisApi.Paths.TRANSACTIONS_ALL, null));
+	}
+
+	@Test
+	public void testFullPageBeyondRewriteLimitIsFinal() {
+		final long newestHeight = CHAIN_HEIGHT - NisCachePolicy.REWRITE_LIMIT_BLOCKS - 1;
+
+		Assert.assertTrue(NisCachePolicy.isFinalTransfersPage(NisCachePolicy.TRANSFERS_PAGE_SIZE, newestHeight, CHAIN_HEIGHT));
+	}
+
+	@Test
+	public void testPageWithinRewriteLimitIsNotFinal() {
+		final long newestHeight = CHAIN_HEIGHT - NisCachePolicy.REWRITE_LIMIT_BLOCKS;
+
+		Assert.assertFalse(NisCachePolicy.isFinalTransfersPage(NisCachePolicy.TRANSFERS_PAGE_SIZE, newestHeight, CHAIN_HEIGHT));
+		Assert.assertFalse(NisCachePolicy.isFinalTransfersPage(NisCachePolicy.TRANSFERS_PAGE_SIZE, CHAIN_HEIGHT, CHAIN_HEIGHT));
+	}
+
+	@Test
+	public void testPartialPageIsNotFinal() {
+		Assert.assertFalse(NisCachePolicy.isFinalTransfersPage(NisCachePolicy.TRANSFERS_PAGE_SIZE - 1, 1, CHAIN_HEIGHT));
+		Assert.assertFalse(NisCachePolicy.isFinalTransfersPage(0, 0, CHAIN_HEIGHT));
+	}
+
+	@Test
+	public void testPageIsNotFinalIfChainHeightIsUnknown() {
+		Assert.assertFalse(NisCachePolicy.isFinalTransfersPage(NisCachePolicy.TRANSFERS_PAGE_SIZE, 1, 0));
+	}
+
+	@Test
+	public void testAccountInfoAndUnconfirmedGetShortLifetimes() {
+		Assert.assertEquals(NisCachePolicy.ACCOUNT_INFO_MAX_AGE, NisCachePolicy.getMaxAge(NisApi.Paths.ACCOUNT_GET, null));
+		Assert.assertEquals(NisCachePolicy.UNCONFIRMED_TRANSACTIONS_MAX_AGE, NisCachePolicy.getMaxAge(NisApi.Paths.TRANSACTIONS_UNCONFIRMED, null));
+		Assert.assertTrue(NisCachePolicy.ACCOUNT_INFO_MAX_AGE.isLessThan(NisCachePolicy.FINAL_PAGE_MAX_AGE));
+	}
+
+	@Test
+	public void testOtherRequestsAreNotCached() {
+		Assert.assertNull(NisCachePolicy.getMaxAge(NisApi.Paths.HEARTBEAT, null));
+		Assert.assertNull(NisCachePolicy.getMaxAge(NisApi.Paths.HARVEST_INFO_GET, null));
+		Assert.assertNull(NisCachePolicy.getMaxAge("/node/extended-info", null));
+	}
+}
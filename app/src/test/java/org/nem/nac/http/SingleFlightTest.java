@@ -0,0 +1,115 @@
+package org.nem.nac.http;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightTest {
+
+	private static final int CALLERS = 8;
+
+	@Test
+	public void testConcurrentCallsShareOneExecution() throws Exception {
+		final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+		final AtomicInteger executions = new AtomicInteger();
+		final CountDownLatch release = new CountDownLatch(1);
+
+		final List<Future<Object>> results = startCallers(singleFlight, "key", () -> {
+			executions.incrementAndGet();
+			release.await();
+			return new Object();
+		});
+		waitForCoalesced(singleFlight, CALLERS - 1);
+		release.countDown();
+
+		final Object first = results.get(0).get();
+		for (final Future<Object> result : results) {
+			Assert.assertSame(first, result.get());
+		}
+		Assert.assertEquals(1, executions.get());
+		Assert.assertEquals(CALLERS - 1, singleFlight.getCoalescedCount());
+	}
+
+	@Test
+	public void testConcurrentCallsShareException() throws Exception {
+		final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+		final CountDownLatch release = new CountDownLatch(1);
+		final IOException error = new IOException("failed");
+
+		final List<Future<Object>> results = startCallers(singleFlight, "key", () -> {
+			release.await();
+			throw error;
+		});
+		waitForCoalesced(singleFlight, CALLERS - 1);
+		release.countDown();
+
+		for (final Future<Object> result : results) {
+			try {
+				result.get();
+				Assert.fail("exception expected");
+			} catch (ExecutionException e) {
+				Assert.assertSame(error, e.getCause());
+			}
+		}
+	}
+
+	@Test
+	public void testFinishedExecutionIsNotReused() throws Exception {
+		final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+		final AtomicInteger executions = new AtomicInteger();
+
+		Assert.assertEquals(Integer.valueOf(1), singleFlight.execute("key", executions::incrementAndGet));
+		Assert.assertEquals(Integer.valueOf(2), singleFlight.execute("key", executions::incrementAndGet));
+		Assert.assertEquals(0, singleFlight.getCoalescedCount());
+	}
+
+	@Test
+	public void testDifferentKeysAreNotCoalesced() throws Exception {
+		final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+		final CountDownLatch bothStarted = new CountDownLatch(2);
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final SingleFlight.Execution<Object> execution = () -> {
+				bothStarted.countDown();
+				// only returns if the other key runs at the same time
+				Assert.assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+				return new Object();
+			};
+			final Future<Object> first = executor.submit(() -> singleFlight.execute("a", execution));
+			final Future<Object> second = executor.submit(() -> singleFlight.execute("b", execution));
+
+			Assert.assertNotSame(first.get(), second.get());
+			Assert.assertEquals(0, singleFlight.getCoalescedCount());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static List<Future<Object>> startCallers(final SingleFlight<String, Object> singleFlight, final String key,
+			final SingleFlight.Execution<Object> execution) {
+		final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+		final List<Future<Object>> results = new ArrayList<>(CALLERS);
+		for (int i = 0; i < CALLERS; i++) {
+			results.add(executor.submit(() -> singleFlight.execute(key, execution)));
+		}
+		executor.shutdown();
+		return results;
+	}
+
+	private static void waitForCoalesced(final SingleFlight<?, ?> singleFlight, final long count) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + 5000;
+		while (singleFlight.getCoalescedCount() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package org.nem.nac.http;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.nac.common.TimeSpan;
+import org.nem.nac.models.api.transactions.TransactionMetaDataApiDto;
+import org.nem.nac.models.api.transactions.TransactionMetaDataPairApiDto;
+import org.nem.nac.models.api.transactions.TransactionMetaDataPairArrayApiDto;
+import org.nem.nac.models.network.Port;
+import org.nem.nac.models.network.Server;
+import org.nem.nac.models.primitives.AddressValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TransferPagesTest {
+	private static final Server PRIMARY = new Server("http", "primary", new Port(7890));
+	private static final Server BACKUP  = new Server("http", "backup", new Port(7890));
+
+	/**
+	 * Answers from a fixed server, as a hedged request does when the backup wins, and records the requests.
+	 */
+	private static final class StandInNis implements TransferPages.PageSource {
+		final List<Server>  servers = new ArrayList<>();
+		final List<Integer> anchors = new ArrayList<>();
+		final Server answeringServer;
+
+		StandInNis(final Server answeringServer) {
+			this.answeringServer = answeringServer;
+		}
+
+		@Override
+		public ServerResponse<TransactionMetaDataPairArrayApiDto> getTransactions(final Server server, final AddressValue account, final Integer upToId) {
+			servers.add(server);
+			anchors.add(upToId);
+			// ids of this server, the first page holds 1025 down to 1001
+			final int newestId = upToId == null ? 1025 : upToId - 1;
+			return new ServerResponse<>(answeringServer, createPage(newestId), TimeSpan.fromMilliSeconds(10));
+		}
+	}
+
+	@Test
+	public void testSecondPageIsRequestedFromServerThatAnsweredFirst() throws Exception {
+		final StandInNis nis = new StandInNis(BACKUP);
+
+		final List<TransactionMetaDataPairApiDto> transactions = TransferPages.getNewest(nis, PRIMARY, null);
+
+		Assert.assertEquals(PRIMARY, nis.servers.get(0));
+		Assert.assertNull(nis.anchors.get(0));
+		// the anchor is an id of the backup, the primary would number the transactions differently
+		Assert.assertEquals(BACKUP, nis.servers.get(1));
+		Assert.assertEquals(Integer.valueOf(1001), nis.anchors.get(1));
+		Assert.assertEquals(50, transactions.size());
+	}
+
+	@Test
+	public void testBothPagesAreRequestedFromRequestedServerIfItAnswered() throws Exception {
+		final StandInNis nis = new StandInNis(PRIMARY);
+
+		TransferPages.getNewest(nis, PRIMARY, null);
+
+		Assert.assertEquals(PRIMARY, nis.servers.get(0));
+		Assert.assertEquals(PRIMARY, nis.servers.get(1));
+	}
+
+	private static TransactionMetaDataPairArrayApiDto createPage(final int newestId) {
+		final TransactionMetaDataPairArrayApiDto page = new TransactionMetaDataPairArrayApiDto();
+		page.data = new TransactionMetaDataPairApiDto[25];
+		for (int i = 0; i < page.data.length; i++) {
+			page.data[i] = new TransactionMetaDataPairApiDto();
+			page.data[i].meta = new TransactionMetaDataApiDto();
+			page.data[i].meta.id = newestId - i;
+		}
+		return page;
+	}
+}
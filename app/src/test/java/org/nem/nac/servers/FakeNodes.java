@@ -0,0 +1,58 @@
+package org.nem.nac.servers;
+
+import org.nem.nac.common.TimeSpan;
+import org.nem.nac.common.exceptions.NoNetworkException;
+import org.nem.nac.models.network.Port;
+import org.nem.nac.models.network.Server;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fake NIS nodes for the server tests: every node answers heartbeats after its delay, or fails them.
+ * Outcomes are recorded in the health monitor as NisApi does.
+ */
+class FakeNodes implements ServerFinder.Heartbeat {
+	static final long DEAD_MS = -1;
+
+	final ServerHealthMonitor health     = new ServerHealthMonitor();
+	final Map<Server, Long>   delays     = new ConcurrentHashMap<>();
+	final AtomicInteger       calls      = new AtomicInteger();
+	final AtomicInteger       running    = new AtomicInteger();
+	final AtomicInteger       maxRunning = new AtomicInteger();
+	volatile boolean offline;
+
+	Server node(final String host, final long delayMs) {
+		final Server server = new Server("http", host, new Port(7890));
+		delays.put(server, delayMs);
+		return server;
+	}
+
+	@Override
+	public TimeSpan heartbeat(final Server server)
+			throws Exception {
+		if (offline) {
+			throw new NoNetworkException();
+		}
+		calls.incrementAndGet();
+		final int nowRunning = running.incrementAndGet();
+		int max;
+		while ((max = maxRunning.get()) < nowRunning && !maxRunning.compareAndSet(max, nowRunning)) {
+		}
+		try {
+			final long delayMs = delays.get(server);
+			if (delayMs == DEAD_MS) {
+				health.recordFailure(server);
+				throw new IOException("Connection refused");
+			}
+			Thread.sleep(delayMs);
+			final TimeSpan responseTime = TimeSpan.fromMilliSeconds(delayMs);
+			health.recordSuccess(server, responseTime);
+			return responseTime;
+		} finally {
+			running.decrementAndGet();
+		}
+	}
+}
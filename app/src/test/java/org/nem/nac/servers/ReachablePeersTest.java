@@ -0,0 +1,61 @@
+package org.nem.nac.servers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.nac.common.enums.NetworkVersion;
+import org.nem.nac.common.utils.JsonUtils;
+import org.nem.nac.models.api.node.NodeCollectionApiDto;
+import org.nem.nac.models.network.Port;
+import org.nem.nac.models.network.Server;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ReachablePeersTest {
+
+	/**
+	 * A /node/peer-list/reachable body as NIS returns it: two main network nodes, a test network node
+	 * and a node that did not report its endpoint.
+	 */
+	private static final String REACHABLE_PEERS = "{\"data\":["
+			+ "{\"metaData\":{\"features\":1,\"application\":null,\"networkId\":104,\"version\":\"0.6.95-BETA\","
+			+ "\"platform\":\"Oracle Corporation (1.8.0_131) on Linux\"},"
+			+ "\"endpoint\":{\"protocol\":\"http\",\"port\":7890,\"host\":\"alice.example.org\"},"
+			+ "\"identity\":{\"name\":\"alice\",\"public-key\":\"a5f82bf5b6d1b8d7c4d5e5f6a2c3b3e1d9c8f7e6a5b4c3d2e1f0a9b8c7d6e5f4\"}},"
+			+ "{\"metaData\":{\"features\":1,\"application\":null,\"networkId\":-104,\"version\":\"0.6.95-BETA\","
+			+ "\"platform\":\"Oracle Corporation (1.8.0_131) on Linux\"},"
+			+ "\"endpoint\":{\"protocol\":\"http\",\"port\":7890,\"host\":\"testnet.example.org\"},"
+			+ "\"identity\":{\"name\":\"testnet\",\"public-key\":\"b6f82bf5b6d1b8d7c4d5e5f6a2c3b3e1d9c8f7e6a5b4c3d2e1f0a9b8c7d6e5f4\"}},"
+			+ "{\"metaData\":{\"features\":1,\"application\":null,\"networkId\":104,\"version\":\"0.6.93-BETA\","
+			+ "\"platform\":\"Oracle Corporation (1.8.0_121) on Windows 10\"},"
+			+ "\"identity\":{\"name\":\"hidden\",\"public-key\":\"c7f82bf5b6d1b8d7c4d5e5f6a2c3b3e1d9c8f7e6a5b4c3d2e1f0a9b8c7d6e5f4\"}},"
+			+ "{\"metaData\":{\"features\":3,\"application\":null,\"networkId\":104,\"version\":\"0.6.95-BETA\","
+			+ "\"platform\":\"Oracle Corporation (1.8.0_131) on Linux\"},"
+			+ "\"endpoint\":{\"protocol\":\"http\",\"port\":7891,\"host\":\"bob.example.org\"},"
+			+ "\"identity\":{\"name\":\"bob\",\"public-key\":\"d8f82bf5b6d1b8d7c4d5e5f6a2c3b3e1d9c8f7e6a5b4c3d2e1f0a9b8c7d6e5f4\"}}"
+			+ "]}";
+
+	@Test
+	public void testMapsNodesOfNetwork() throws Exception {
+		final NodeCollectionApiDto nodes = JsonUtils.fromJson(REACHABLE_PEERS, NodeCollectionApiDto.class);
+
+		Assert.assertEquals(Arrays.asList(
+				new Server("http", "alice.example.org", new Port(7890)),
+				new Server("http", "bob.example.org", new Port(7891))),
+				ReachablePeers.toServers(nodes, NetworkVersion.MAIN_NETWORK));
+	}
+
+	@Test
+	public void testMapsTestNetworkNodesByNegativeId() throws Exception {
+		final NodeCollectionApiDto nodes = JsonUtils.fromJson(REACHABLE_PEERS, NodeCollectionApiDto.class);
+
+		Assert.assertEquals(Collections.singletonList(new Server("http", "testnet.example.org", new Port(7890))),
+				ReachablePeers.toServers(nodes, NetworkVersion.TEST_NETWORK));
+	}
+
+	@Test
+	public void testEmptyAnswerGivesNoPeers() throws Exception {
+		Assert.assertTrue(ReachablePeers.toServers(JsonUtils.fromJson("{}", NodeCollectionApiDto.class), NetworkVersion.MAIN_NETWORK).isEmpty());
+		Assert.assertTrue(ReachablePeers.toServers(null, NetworkVersion.MAIN_NETWORK).isEmpty());
+	}
+}
@@ -0,0 +1,153 @@
+package org.nem.nac.servers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.nac.common.TimeSpan;
+import org.nem.nac.common.exceptions.NoNetworkException;
+import org.nem.nac.models.network.Server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ServerDiscoveryTest {
+
+	/**
+	 * Fake NIS network: every node serves the same synthetic peer list.
+	 */
+	private static final class FakeNis extends FakeNodes implements ServerDiscovery.PeerSource, ServerDiscovery.Pool {
+		final List<Server> pool  = new CopyOnWriteArrayList<>();
+		final List<Server> peers = new ArrayList<>();
+
+		@Override
+		public List<Server> getPeers(final Server server) {
+			final List<Server> copies = new ArrayList<>();
+			for (Server peer : peers) {
+				copies.add(new Server(peer.protocol, peer.host, peer.port));
+			}
+			return copies;
+		}
+
+		@Override
+		public Collection<Server> getAll() {
+			return pool;
+		}
+
+		@Override
+		public void add(final Server server) {
+			pool.add(server);
+		}
+
+		@Override
+		public void remove(final Server server) {
+			pool.remove(server);
+		}
+
+		ServerDiscovery createDiscovery() {
+			return new ServerDiscovery(health, this, this, this);
+		}
+	}
+
+	@Test
+	public void testAddsFastestAnsweringPeers() throws Exception {
+		final FakeNis nis = new FakeNis();
+		final Server predefined = nis.node("predefined.example.org", 10);
+		nis.pool.add(predefined);
+		nis.health.recordSuccess(predefined, TimeSpan.fromMilliSeconds(10));
+		nis.peers.add(predefined);
+		final List<Server> expected = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			final Server peer = nis.node("peer" + i + ".example.org", i % 3 == 0 ? FakeNodes.DEAD_MS : 10 + i * 5);
+			nis.peers.add(peer);
+			if (i % 3 != 0 && expected.size() < ServerDiscovery.MAX_AUTO_DISCOVERED) {
+				expected.add(peer);
+			}
+		}
+
+		final List<Server> added = nis.createDiscovery().discover();
+
+		Assert.assertEquals(expected, added);
+		Assert.assertEquals(1 + ServerDiscovery.MAX_AUTO_DISCOVERED, nis.pool.size());
+		for (Server server : added) {
+			Assert.assertTrue(server.autoDiscovered);
+		}
+		Assert.assertFalse(predefined.autoDiscovered);
+	}
+
+	@Test
+	public void testProbesInBoundedBatches() throws Exception {
+		final FakeNis nis = new FakeNis();
+		final Server predefined = nis.node("predefined.example.org", 10);
+		nis.pool.add(predefined);
+		nis.health.recordSuccess(predefined, TimeSpan.fromMilliSeconds(10));
+		for (int i = 0; i < ServerDiscovery.MAX_CANDIDATES + 10; i++) {
+			nis.peers.add(nis.node("peer" + i + ".example.org", 20));
+		}
+
+		nis.createDiscovery().discover();
+
+		Assert.assertTrue("Max parallel probes " + nis.maxRunning.get(), nis.maxRunning.get() <= ServerDiscovery.BATCH_SIZE);
+		// only the first candidates are probed
+		Assert.assertNotNull(nis.health.getHealth(nis.peers.get(ServerDiscovery.MAX_CANDIDATES - 1)));
+		Assert.assertNull(nis.health.getHealth(nis.peers.get(ServerDiscovery.MAX_CANDIDATES)));
+	}
+
+	@Test
+	public void testPrunesDeadAutoDiscoveredServersOnly() throws Exception {
+		final FakeNis nis = new FakeNis();
+		final Server user = nis.node("user.example.org", FakeNodes.DEAD_MS);
+		final Server alive = nis.node("alive.example.org", 10);
+		final Server dead = nis.node("dead.example.org", FakeNodes.DEAD_MS);
+		alive.autoDiscovered = true;
+		dead.autoDiscovered = true;
+		nis.pool.add(user);
+		nis.pool.add(alive);
+		nis.pool.add(dead);
+		for (int i = 0; i < 4; i++) {
+			nis.health.recordFailure(user);
+		}
+
+		final List<Server> added = nis.createDiscovery().discover();
+
+		Assert.assertTrue(added.isEmpty());
+		Assert.assertTrue(nis.pool.contains(user));
+		Assert.assertTrue(nis.pool.contains(alive));
+		Assert.assertFalse(nis.pool.contains(dead));
+	}
+
+	@Test
+	public void testLaggingPeerIsNotAdded() throws Exception {
+		final FakeNis nis = new FakeNis();
+		final Server predefined = nis.node("predefined.example.org", 50);
+		final Server lagging = nis.node("lagging.example.org", 10);
+		nis.pool.add(predefined);
+		nis.health.recordSuccess(predefined, TimeSpan.fromMilliSeconds(50));
+		nis.health.recordHeight(predefined, 1000);
+		nis.health.recordHeight(lagging, 900);
+		nis.peers.add(lagging);
+
+		Assert.assertTrue(nis.createDiscovery().discover().isEmpty());
+		Assert.assertEquals(Collections.singletonList(predefined), nis.pool);
+	}
+
+	@Test
+	public void testNothingIsPrunedOffline() throws Exception {
+		final FakeNis nis = new FakeNis();
+		final Server dead = nis.node("dead.example.org", FakeNodes.DEAD_MS);
+		dead.autoDiscovered = true;
+		nis.pool.add(dead);
+		for (int i = 0; i < 4; i++) {
+			nis.health.recordFailure(dead);
+		}
+		nis.offline = true;
+
+		try {
+			nis.createDiscovery().discover();
+			Assert.fail("No network expected");
+		} catch (NoNetworkException e) {
+			Assert.assertTrue(nis.pool.contains(dead));
+		}
+	}
+}
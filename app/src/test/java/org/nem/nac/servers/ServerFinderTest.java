@@ -0,0 +1,189 @@
+package org.nem.nac.servers;
+
+import com.annimon.stream.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.nac.common.TimeSpan;
+import org.nem.nac.models.network.Port;
+import org.nem.nac.models.network.Server;
+import org.nem.nac.models.network.ServerStats;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ServerFinderTest {
+
+	private static final Server FAST = new Server("http", "fast.example.org", new Port(7890));
+	private static final Server SLOW = new Server("http", "slow.example.org", new Port(7890));
+	private static final Server DEAD = new Server("http", "dead.example.org", new Port(7890));
+	private static final Collection<Server> ALL = Arrays.asList(SLOW, DEAD, FAST);
+
+	private static final long SLOW_MS = 3000;
+
+	/**
+	 * The fast, slow and dead node these tests choose from.
+	 */
+	private static final class StandInNis extends FakeNodes {
+
+		StandInNis() {
+			delays.put(FAST, 10L);
+			delays.put(SLOW, SLOW_MS);
+			delays.put(DEAD, DEAD_MS);
+		}
+
+		ServerFinder createFinder() {
+			return new ServerFinder(health, () -> ALL, this);
+		}
+	}
+
+	@Test
+	public void testColdStartReturnsOnFirstFastAnswer() {
+		final StandInNis nis = new StandInNis();
+		final ServerFinder finder = nis.createFinder();
+
+		final long start = System.nanoTime();
+		final Optional<Server> best = finder.getBest();
+		final long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		Assert.assertEquals(FAST, best.get());
+		// the slow node is not waited for
+		Assert.assertTrue("Cold start took " + latencyMs + " ms", latencyMs < SLOW_MS / 2);
+	}
+
+	@Test
+	public void testKnownServerIsReturnedWithoutWaitingForScan() {
+		final StandInNis nis = new StandInNis();
+		final ServerFinder finder = nis.createFinder();
+		nis.health.recordSuccess(FAST, TimeSpan.fromMilliSeconds(10));
+		Assert.assertEquals(FAST, finder.getBest().get());
+
+		// the fast node dies: the last good one is still given out while a scan runs
+		nis.delays.put(FAST, FakeNodes.DEAD_MS);
+		for (int i = 0; i < 4; i++) {
+			nis.health.recordFailure(FAST);
+		}
+		Assert.assertFalse(finder.peekBest().isPresent());
+
+		final long start = System.nanoTime();
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(FAST, finder.getBest().get());
+		}
+		final long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		Assert.assertTrue("100 calls took " + latencyMs + " ms", latencyMs < SLOW_MS / 2);
+	}
+
+	@Test
+	public void testScanResultServesLaterCalls() throws Exception {
+		final StandInNis nis = new StandInNis();
+		nis.delays.put(SLOW, 20L);
+		final ServerFinder finder = nis.createFinder();
+		nis.health.recordSuccess(FAST, TimeSpan.fromMilliSeconds(10));
+		Assert.assertEquals(FAST, finder.getBest().get());
+		Assert.assertEquals(0, nis.calls.get());
+
+		nis.delays.put(FAST, FakeNodes.DEAD_MS);
+		for (int i = 0; i < 4; i++) {
+			nis.health.recordFailure(FAST);
+		}
+		Assert.assertEquals(FAST, finder.getBest().get());
+		// one scan for all callers
+		finder.getBest();
+
+		final long deadline = System.currentTimeMillis() + SLOW_MS;
+		while (!finder.peekBest().isPresent() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		Assert.assertEquals(SLOW, finder.getBest().get());
+		Assert.assertEquals(ALL.size(), nis.calls.get());
+	}
+
+	@Test
+	public void testReportedFailureIsNotRecordedTwiceAndStartsNoScan() throws Exception {
+		final StandInNis nis = new StandInNis();
+		final ServerFinder finder = nis.createFinder();
+		nis.health.recordSuccess(FAST, TimeSpan.fromMilliSeconds(10));
+		nis.health.recordSuccess(SLOW, TimeSpan.fromMilliSeconds(20));
+		Assert.assertEquals(FAST, finder.getBest().get());
+
+		// NisApi records the failed request, then the caller reports the server it used
+		nis.health.recordFailure(SLOW);
+		final double successRatio = nis.health.getHealth(SLOW).getSuccessRatio();
+		finder.reportFailure(SLOW);
+
+		Assert.assertEquals(successRatio, nis.health.getHealth(SLOW).getSuccessRatio(), 0);
+		Assert.assertEquals(1, nis.health.getHealth(FAST).getSuccessRatio(), 0);
+		Thread.sleep(100);
+		Assert.assertEquals(0, nis.calls.get());
+		Assert.assertEquals(FAST, finder.getBest().get());
+	}
+
+	@Test
+	public void testAsyncCallback() throws Exception {
+		final StandInNis nis = new StandInNis();
+		final ServerFinder finder = nis.createFinder();
+		final AtomicReference<Optional<Server>> result = new AtomicReference<>();
+		final CountDownLatch called = new CountDownLatch(1);
+
+		finder.getBestAsync(server -> {
+			result.set(server);
+			called.countDown();
+		});
+
+		Assert.assertTrue(called.await(SLOW_MS / 2, TimeUnit.MILLISECONDS));
+		Assert.assertEquals(FAST, result.get().get());
+	}
+
+	@Test
+	public void testAllDeadReturnsEmptyWithoutTimeout() {
+		final StandInNis nis = new StandInNis();
+		for (Server server : ALL) {
+			nis.delays.put(server, FakeNodes.DEAD_MS);
+		}
+		final ServerFinder finder = nis.createFinder();
+
+		final long start = System.nanoTime();
+		final Optional<Server> best = finder.getBest();
+		final long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		Assert.assertFalse(best.isPresent());
+		Assert.assertTrue("All dead took " + latencyMs + " ms", latencyMs < SLOW_MS / 2);
+	}
+
+	@Test
+	public void testPersistedStatsAvoidWaitingOnStart() throws Exception {
+		final long fastMs = 300;
+		final Map<Server, ServerStats> lastRun = Collections.singletonMap(FAST,
+				new ServerStats(TimeSpan.fromMilliSeconds(fastMs), 1, System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1), 10));
+
+		final StandInNis coldNis = new StandInNis();
+		coldNis.delays.put(FAST, fastMs);
+		final ServerFinder cold = coldNis.createFinder();
+		long start = System.nanoTime();
+		Assert.assertEquals(FAST, cold.getBest().get());
+		final long coldMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		final StandInNis warmNis = new StandInNis();
+		warmNis.delays.put(FAST, fastMs);
+		final ServerFinder warm = warmNis.createFinder();
+		warm.restore(lastRun);
+		start = System.nanoTime();
+		Assert.assertEquals(FAST, warm.getBest().get());
+		final long warmMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		Assert.assertTrue("Cold start took " + coldMs + " ms", coldMs >= fastMs);
+		Assert.assertTrue("Start with persisted stats took " + warmMs + " ms", warmMs < fastMs / 3);
+		// the server of the last run is checked in the background
+		final long deadline = System.currentTimeMillis() + SLOW_MS;
+		while (!warm.peekBest().isPresent() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		Assert.assertEquals(FAST, warm.peekBest().get());
+	}
+}
@@ -0,0 +1,221 @@
+package org.nem.nac.servers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.nac.common.TimeSpan;
+import org.nem.nac.models.network.Port;
+import org.nem.nac.models.network.Server;
+import org.nem.nac.models.network.ServerStats;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ServerHealthMonitorTest {
+
+	private static final Server FAST    = new Server("http", "fast.example.org", new Port(7890));
+	private static final Server SLOW    = new Server("http", "slow.example.org", new Port(7890));
+	private static final Server UNKNOWN = new Server("http", "unknown.example.org", new Port(7890));
+	private static final List<Server> ALL = Arrays.asList(SLOW, UNKNOWN, FAST);
+	private static final long NOW_MS = 1_000_000_000L;
+
+	@Test
+	public void testRanksAnsweredServersByLatency() {
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+		monitor.recordSuccess(SLOW, TimeSpan.fromMilliSeconds(900), NOW_MS);
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(100), NOW_MS);
+
+		Assert.assertEquals(Arrays.asList(FAST, SLOW), monitor.rank(ALL, NOW_MS));
+	}
+
+	@Test
+	public void testLatencyIsMovingAverage() {
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(100), NOW_MS);
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(600), NOW_MS);
+
+		// 100 + 0.2 * (600 - 100)
+		Assert.assertEquals(TimeSpan.fromMilliSeconds(200), monitor.getHealth(FAST).getLatency());
+	}
+
+	@Test
+	public void testFailuresMoveServerDownThenOut() {
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+		monitor.recordSuccess(SLOW, TimeSpan.fromMilliSeconds(300), NOW_MS);
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(200), NOW_MS);
+
+		// success ratio 0.64: 200 ms / 0.64 is slower than 300 ms
+		monitor.recordFailure(FAST);
+		monitor.recordFailure(FAST);
+		Assert.assertEquals(Arrays.asList(SLOW, FAST), monitor.rank(ALL, NOW_MS));
+
+		// success ratio 0.41
+		monitor.recordFailure(FAST);
+		monitor.recordFailure(FAST);
+		Assert.assertEquals(Collections.singletonList(SLOW), monitor.rank(ALL, NOW_MS));
+	}
+
+	@Test
+	public void testSuccessesRecoverServer() {
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+		monitor.recordFailure(FAST);
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(100), NOW_MS);
+		Assert.assertTrue(monitor.rank(ALL, NOW_MS).isEmpty());
+
+		for (int i = 0; i < 3; i++) {
+			monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(100), NOW_MS);
+		}
+
+		Assert.assertEquals(Collections.singletonList(FAST), monitor.rank(ALL, NOW_MS));
+		// the latency average starts with the first success, not with the failure before it
+		Assert.assertEquals(TimeSpan.fromMilliSeconds(100), monitor.getHealth(FAST).getLatency());
+	}
+
+	@Test
+	public void testServerNotSeenForLongIsNotRanked() {
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(100), NOW_MS);
+		final long later = NOW_MS + (long)ServerHealthMonitor.MAX_UNSEEN.toMilliSeconds() + 1;
+
+		Assert.assertEquals(Collections.singletonList(FAST), monitor.rank(ALL, NOW_MS));
+		Assert.assertTrue(monitor.rank(ALL, later).isEmpty());
+	}
+
+	@Test
+	public void testOnlyGivenServersAreRanked() {
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+		monitor.recordSuccess(SLOW, TimeSpan.fromMilliSeconds(900), NOW_MS);
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(100), NOW_MS);
+
+		Assert.assertEquals(Collections.singletonList(SLOW), monitor.rank(Collections.singletonList(SLOW), NOW_MS));
+		Assert.assertNull(monitor.getHealth(UNKNOWN));
+	}
+
+	@Test
+	public void testStatsSurviveRestore() {
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(100), NOW_MS);
+		monitor.recordFailure(FAST);
+
+		final ServerHealthMonitor restored = new ServerHealthMonitor();
+		restored.restore(monitor.getStats());
+
+		final ServerHealthMonitor.Health health = restored.getHealth(FAST);
+		Assert.assertEquals(TimeSpan.fromMilliSeconds(100), health.getLatency());
+		Assert.assertEquals(0.8, health.getSuccessRatio(), 1e-9);
+		Assert.assertEquals(NOW_MS, health.getLastSeenMs());
+	}
+
+	@Test
+	public void testRestoreReturnsBestServerHoweverOld() {
+		final long lastRunMs = NOW_MS - (long)TimeSpan.fromHours(72).toMilliSeconds();
+		final Map<Server, ServerStats> stats = new HashMap<>();
+		stats.put(SLOW, new ServerStats(TimeSpan.fromMilliSeconds(900), 1, lastRunMs, 10));
+		stats.put(FAST, new ServerStats(TimeSpan.fromMilliSeconds(100), 1, lastRunMs, 10));
+		stats.put(UNKNOWN, new ServerStats(TimeSpan.fromMilliSeconds(50), 0.1, lastRunMs, 10));
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+
+		Assert.assertEquals(FAST, monitor.restore(stats).get());
+		// too old to be ranked until seen again
+		Assert.assertTrue(monitor.rank(ALL, NOW_MS).isEmpty());
+	}
+
+	@Test
+	public void testRestoreKeepsFresherStats() {
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(100), NOW_MS);
+
+		final Map<Server, ServerStats> stats = new HashMap<>();
+		stats.put(FAST, new ServerStats(TimeSpan.fromMilliSeconds(700), 1, NOW_MS - 1000, 10));
+		monitor.restore(stats);
+
+		Assert.assertEquals(TimeSpan.fromMilliSeconds(100), monitor.getHealth(FAST).getLatency());
+	}
+
+	@Test
+	public void testServerLaggingChainIsNotRanked() {
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+		monitor.recordSuccess(SLOW, TimeSpan.fromMilliSeconds(900), NOW_MS);
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(100), NOW_MS);
+		monitor.recordSuccess(UNKNOWN, TimeSpan.fromMilliSeconds(1000), NOW_MS);
+		monitor.recordHeight(SLOW, 1000, NOW_MS);
+		monitor.recordHeight(UNKNOWN, 1000, NOW_MS);
+		monitor.recordHeight(FAST, 1000 - ServerHealthMonitor.DEFAULT_MAX_HEIGHT_LAG, NOW_MS);
+		Assert.assertEquals(Arrays.asList(FAST, SLOW, UNKNOWN), monitor.rank(ALL, NOW_MS));
+
+		monitor.recordHeight(FAST, 1000 - ServerHealthMonitor.DEFAULT_MAX_HEIGHT_LAG - 1, NOW_MS);
+		Assert.assertEquals(Arrays.asList(SLOW, UNKNOWN), monitor.rank(ALL, NOW_MS));
+		Assert.assertEquals(ServerHealthMonitor.DEFAULT_MAX_HEIGHT_LAG + 1, (long)monitor.getHeightLag(FAST, ALL, NOW_MS).get());
+
+		monitor.setMaxHeightLag(100);
+		Assert.assertEquals(Arrays.asList(FAST, SLOW, UNKNOWN), monitor.rank(ALL, NOW_MS));
+	}
+
+	@Test
+	public void testServerOfUnknownHeightIsRanked() {
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+		monitor.recordSuccess(SLOW, TimeSpan.fromMilliSeconds(900), NOW_MS);
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(100), NOW_MS);
+		monitor.recordHeight(SLOW, 1000, NOW_MS);
+
+		Assert.assertEquals(Arrays.asList(FAST, SLOW), monitor.rank(ALL, NOW_MS));
+		Assert.assertFalse(monitor.getHeightLag(FAST, ALL, NOW_MS).isPresent());
+		Assert.assertEquals(0, (long)monitor.getHeightLag(SLOW, ALL, NOW_MS).get());
+	}
+
+	@Test
+	public void testHeightsFetchedAtDifferentTimesAreComparable() {
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+		final long blockMs = (long)ServerHealthMonitor.BLOCK_TIME.toMilliSeconds();
+		final long laterMs = NOW_MS + 10 * blockMs;
+		monitor.recordSuccess(SLOW, TimeSpan.fromMilliSeconds(900), laterMs);
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(100), laterMs);
+		// fetched ten blocks ago, the chain has grown since
+		monitor.recordHeight(FAST, 1000, NOW_MS);
+		monitor.recordHeight(SLOW, 1010, laterMs);
+
+		Assert.assertEquals(0, (long)monitor.getHeightLag(FAST, ALL, laterMs).get());
+		Assert.assertEquals(Arrays.asList(FAST, SLOW), monitor.rank(ALL, laterMs));
+	}
+
+	@Test
+	public void testSingleServerAheadDoesNotHoldBackOthers() {
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+		monitor.recordSuccess(SLOW, TimeSpan.fromMilliSeconds(900), NOW_MS);
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(100), NOW_MS);
+		monitor.recordSuccess(UNKNOWN, TimeSpan.fromMilliSeconds(1000), NOW_MS);
+		monitor.recordHeight(SLOW, 1000, NOW_MS);
+		monitor.recordHeight(FAST, 1000, NOW_MS);
+		// on a fork or with a wrong clock
+		monitor.recordHeight(UNKNOWN, 1100, NOW_MS);
+
+		Assert.assertEquals(Arrays.asList(FAST, SLOW, UNKNOWN), monitor.rank(ALL, NOW_MS));
+		Assert.assertEquals(0, (long)monitor.getHeightLag(FAST, ALL, NOW_MS).get());
+	}
+
+	@Test
+	public void testServersNotRankedDoNotSetReferenceHeight() {
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(100), NOW_MS);
+		monitor.recordHeight(FAST, 1000, NOW_MS);
+		// a discovery candidate, not among the ranked servers
+		monitor.recordSuccess(UNKNOWN, TimeSpan.fromMilliSeconds(1000), NOW_MS);
+		monitor.recordHeight(UNKNOWN, 5000, NOW_MS);
+
+		Assert.assertEquals(Collections.singletonList(FAST), monitor.rank(Collections.singletonList(FAST), NOW_MS));
+		Assert.assertEquals(0, (long)monitor.getHeightLag(FAST, Collections.singletonList(FAST), NOW_MS).get());
+	}
+
+	@Test
+	public void testUnhealthyServerDoesNotSetReferenceHeight() {
+		final ServerHealthMonitor monitor = new ServerHealthMonitor();
+		monitor.recordSuccess(FAST, TimeSpan.fromMilliSeconds(100), NOW_MS);
+		monitor.recordHeight(FAST, 1000, NOW_MS);
+		monitor.recordFailure(UNKNOWN);
+		monitor.recordHeight(UNKNOWN, 5000, NOW_MS);
+
+		Assert.assertEquals(Collections.singletonList(FAST), monitor.rank(ALL, NOW_MS));
+	}
+}
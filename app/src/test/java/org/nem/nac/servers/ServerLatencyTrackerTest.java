@@ -0,0 +1,60 @@
+package org.nem.nac.servers;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.nem.nac.common.TimeSpan;
+import org.nem.nac.models.network.Port;
+import org.nem.nac.models.network.Server;
+
+public class ServerLatencyTrackerTest {
+
+	private static final Server SERVER = new Server("http", "node1.example.org", new Port(7890));
+	private static final Server OTHER  = new Server("http", "node2.example.org", new Port(7890));
+
+	@Test
+	public void testNoP95WithTooFewSamples() {
+		final ServerLatencyTracker tracker = new ServerLatencyTracker();
+		for (int i = 1; i < ServerLatencyTracker.MIN_SAMPLES; i++) {
+			tracker.record(SERVER, TimeSpan.fromMilliSeconds(i));
+		}
+
+		Assert.assertFalse(tracker.getP95(SERVER).isPresent());
+		Assert.assertFalse(tracker.getP95(OTHER).isPresent());
+	}
+
+	@Test
+	public void testP95IsNearestRank() {
+		final ServerLatencyTracker tracker = new ServerLatencyTracker();
+		// 20 samples: the 19th smallest is the p95
+		for (int i = 20; i >= 1; i--) {
+			tracker.record(SERVER, TimeSpan.fromMilliSeconds(i * 10));
+		}
+
+		Assert.assertEquals(TimeSpan.fromMilliSeconds(190), tracker.getP95(SERVER).get());
+	}
+
+	@Test
+	public void testOldSamplesLeaveTheWindow() {
+		final ServerLatencyTracker tracker = new ServerLatencyTracker();
+		for (int i = 0; i < ServerLatencyTracker.WINDOW_SIZE; i++) {
+			tracker.record(SERVER, TimeSpan.fromSeconds(5));
+		}
+		for (int i = 0; i < ServerLatencyTracker.WINDOW_SIZE; i++) {
+			tracker.record(SERVER, TimeSpan.fromMilliSeconds(100));
+		}
+
+		Assert.assertEquals(TimeSpan.fromMilliSeconds(100), tracker.getP95(SERVER).get());
+	}
+
+	@Test
+	public void testServersAreTrackedSeparately() {
+		final ServerLatencyTracker tracker = new ServerLatencyTracker();
+		for (int i = 0; i < ServerLatencyTracker.MIN_SAMPLES; i++) {
+			tracker.record(SERVER, TimeSpan.fromMilliSeconds(100));
+			tracker.record(OTHER, TimeSpan.fromMilliSeconds(900));
+		}
+
+		Assert.assertEquals(TimeSpan.fromMilliSeconds(100), tracker.getP95(SERVER).get());
+		Assert.assertEquals(TimeSpan.fromMilliSeconds(900), tracker.getP95(OTHER).get());
+	}
+}
@@ -0,0 +1,51 @@
+package org.nem.core.crypto;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the AES backends.
+ * 32 bytes is a wrapped private key (AesCryptographer), 160 bytes the largest message (Ed25519BlockCipher).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AesCipherBackendBenchmark {
+	@Param({ "JAVAX_CRYPTO", "SPONGY_CASTLE" })
+	public AesCipherBackend backend;
+
+	@Param({ "32", "160", "1024" })
+	public int size;
+
+	private byte[] key;
+	private byte[] iv;
+	private byte[] plaintext;
+	private byte[] ciphertext;
+
+	@Setup
+	public void setup() {
+		final Random random = new Random(1);
+		this.key = new byte[32];
+		this.iv = new byte[AesCipherBackend.BLOCK_SIZE];
+		this.plaintext = new byte[this.size];
+		random.nextBytes(this.key);
+		random.nextBytes(this.iv);
+		random.nextBytes(this.plaintext);
+		this.ciphertext = this.backend.encrypt(this.key, this.iv, this.plaintext);
+	}
+
+	@Benchmark
+	public byte[] encrypt() {
+		return this.backend.encrypt(this.key, this.iv, this.plaintext);
+	}
+
+	@Benchmark
+	public byte[] decrypt() {
+		return this.backend.decrypt(this.key, this.iv, this.ciphertext, 0, this.ciphertext.length);
+	}
+}
@@ -0,0 +1,52 @@
+package org.nem.core.crypto;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the hash functions for inputs of different sizes.
+ * 32 bytes is the size of a public key, 1024 bytes a typical transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashesBenchmark {
+	@Param({ "32", "1024" })
+	public int size;
+
+	private byte[] input;
+	private byte[] output;
+
+	@Setup
+	public void setup() {
+		this.input = new byte[this.size];
+		new Random(1).nextBytes(this.input);
+		this.output = new byte[Hashes.SHA3_512_LENGTH];
+	}
+
+	@Benchmark
+	public byte[] sha3_256() {
+		return Hashes.sha3_256(this.input);
+	}
+
+	@Benchmark
+	public byte[] sha3_256IntoBuffer() {
+		Hashes.sha3_256(this.input, 0, this.input.length, this.output, 0);
+		return this.output;
+	}
+
+	@Benchmark
+	public byte[] sha3_512() {
+		return Hashes.sha3_512(this.input);
+	}
+
+	@Benchmark
+	public byte[] ripemd160() {
+		return Hashes.ripemd160(this.input);
+	}
+}
@@ -0,0 +1,72 @@
+package org.nem.core.crypto.ed25519;
+
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519BasePointMultiplier;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519EncodedFieldElement;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519EncodedGroupElement;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519Group;
+import org.nem.core.crypto.ed25519.arithmetic.Ed25519GroupElement;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the group and scalar operations behind signing, verification and shared key derivation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Ed25519ArithmeticBenchmark {
+	private Ed25519EncodedFieldElement scalar;
+	private Ed25519EncodedFieldElement wideScalar;
+	private Ed25519GroupElement point;
+	private Ed25519EncodedGroupElement encodedPoint;
+
+	@Setup
+	public void setup() {
+		final Random random = new Random(1);
+		final byte[] wide = new byte[64];
+		random.nextBytes(wide);
+		this.wideScalar = new Ed25519EncodedFieldElement(wide);
+		this.scalar = this.wideScalar.modQ();
+
+		// a random point (not the base point) with the table for scalarMultiply()
+		this.point = Ed25519BasePointMultiplier.scalarMultiply(this.scalar);
+		this.encodedPoint = this.point.encode();
+		this.point = this.encodedPoint.decode();
+		this.point.precomputeForScalarMultiplication();
+	}
+
+	@Benchmark
+	public Ed25519GroupElement scalarMultiply() {
+		return this.point.scalarMultiply(this.scalar);
+	}
+
+	@Benchmark
+	public Ed25519GroupElement scalarMultiplyBasePoint() {
+		return Ed25519Group.BASE_POINT.scalarMultiply(this.scalar);
+	}
+
+	@Benchmark
+	public Ed25519GroupElement basePointMultiplier() {
+		return Ed25519BasePointMultiplier.scalarMultiply(this.scalar);
+	}
+
+	@Benchmark
+	public Ed25519EncodedFieldElement modQ() {
+		return this.wideScalar.modQ();
+	}
+
+	@Benchmark
+	public Ed25519GroupElement decode() {
+		return this.encodedPoint.decode();
+	}
+
+	@Benchmark
+	public Ed25519EncodedGroupElement encode() {
+		return this.point.encode();
+	}
+}
@@ -0,0 +1,88 @@
+package org.nem.core.crypto.ed25519;
+
+import org.nem.core.crypto.KeyPair;
+import org.nem.core.crypto.SignedData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares verifying a batch of signatures one by one with verifyBatch(), the score is the time per batch.
+ * The *WithNewKeys() benchmarks use a different key for every signature and empty Ed25519PublicKeyCache first,
+ * as for signatures received from the network. The *WithCachedKeys() benchmarks use eight keys that stay cached,
+ * like the signers of transactions that are seen again and again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Ed25519BatchVerificationBenchmark {
+	private static final int CACHED_KEYS = 8;
+
+	@Param({ "8", "64", "512" })
+	private int batchSize;
+
+	private Ed25519DsaSigner signer;
+	private SignedData[] itemsWithNewKeys;
+	private SignedData[] itemsWithCachedKeys;
+
+	@Setup
+	public void setup() {
+		final Random random = new Random(1);
+		final KeyPair[] keyPairs = new KeyPair[CACHED_KEYS];
+		for (int i = 0; i < keyPairs.length; i++) {
+			keyPairs[i] = new KeyPair();
+		}
+
+		this.signer = new Ed25519DsaSigner(keyPairs[0]);
+		this.itemsWithNewKeys = new SignedData[this.batchSize];
+		this.itemsWithCachedKeys = new SignedData[this.batchSize];
+		for (int i = 0; i < this.batchSize; i++) {
+			this.itemsWithNewKeys[i] = sign(new KeyPair(), random);
+			this.itemsWithCachedKeys[i] = sign(keyPairs[i % keyPairs.length], random);
+		}
+
+		// verifyBatch() only looks up cached keys, verify() puts them into the cache
+		this.verify(this.itemsWithCachedKeys);
+	}
+
+	@Benchmark
+	public boolean verifyWithNewKeys() {
+		Ed25519PublicKeyCache.getDefault().clear();
+		return this.verify(this.itemsWithNewKeys);
+	}
+
+	@Benchmark
+	public boolean[] verifyBatchWithNewKeys() {
+		Ed25519PublicKeyCache.getDefault().clear();
+		return this.signer.verifyBatch(this.itemsWithNewKeys);
+	}
+
+	@Benchmark
+	public boolean verifyWithCachedKeys() {
+		return this.verify(this.itemsWithCachedKeys);
+	}
+
+	@Benchmark
+	public boolean[] verifyBatchWithCachedKeys() {
+		return this.signer.verifyBatch(this.itemsWithCachedKeys);
+	}
+
+	private boolean verify(final SignedData[] items) {
+		boolean result = true;
+		for (final SignedData item : items) {
+			result &= new Ed25519DsaSigner(new KeyPair(null, item.getPublicKey())).verify(item.getData(), item.getSignature());
+		}
+
+		return result;
+	}
+
+	private static SignedData sign(final KeyPair keyPair, final Random random) {
+		final byte[] data = new byte[100];
+		random.nextBytes(data);
+		return new SignedData(data, new Ed25519DsaSigner(keyPair).sign(data), keyPair.getPublicKey());
+	}
+}
@@ -0,0 +1,50 @@
+package org.nem.core.crypto.ed25519;
+
+import org.nem.core.crypto.KeyPair;
+import org.nem.core.crypto.Signature;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks signing and verification with Ed25519DsaSigner.
+ * The signer keeps decoded public keys in Ed25519PublicKeyCache, so verify() measures verification with a cached key.
+ * The signer expands the private key for every signature, signWithNewSigningKey() also derives the public key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Ed25519DsaSignerBenchmark {
+	private KeyPair keyPair;
+	private Ed25519DsaSigner signer;
+	private byte[] data;
+	private Signature signature;
+
+	@Setup
+	public void setup() {
+		this.keyPair = new KeyPair();
+		this.signer = new Ed25519DsaSigner(this.keyPair);
+		this.data = new byte[100];
+		new Random(1).nextBytes(this.data);
+		this.signature = this.signer.sign(this.data);
+	}
+
+	@Benchmark
+	public Signature sign() {
+		return this.signer.sign(this.data);
+	}
+
+	@Benchmark
+	public Signature signWithNewSigningKey() {
+		return new Ed25519SigningKey(this.keyPair.getPrivateKey()).sign(this.data);
+	}
+
+	@Benchmark
+	public boolean verify() {
+		return this.signer.verify(this.data, this.signature);
+	}
+}
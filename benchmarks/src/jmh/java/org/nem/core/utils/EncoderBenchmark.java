@@ -0,0 +1,65 @@
+package org.nem.core.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the hex, Base32 and address encoders.
+ * AddressValue.isValid() and AddressValue.fromPublicKey() delegate to AddressEncoder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncoderBenchmark {
+	private static final byte TEST_NETWORK = (byte) 0x98;
+
+	private byte[] bytes;
+	private String hex;
+	private String base32;
+	private String address;
+
+	@Setup
+	public void setup() {
+		// 32 bytes, the size of keys and hashes
+		this.bytes = new byte[32];
+		new Random(1).nextBytes(this.bytes);
+		this.hex = HexEncoder.getString(this.bytes);
+		this.base32 = Base32Encoder.getString(this.bytes);
+		this.address = AddressEncoder.getString(TEST_NETWORK, this.bytes);
+	}
+
+	@Benchmark
+	public String hexGetString() {
+		return HexEncoder.getString(this.bytes);
+	}
+
+	@Benchmark
+	public byte[] hexGetBytes() {
+		return HexEncoder.getBytes(this.hex);
+	}
+
+	@Benchmark
+	public String base32GetString() {
+		return Base32Encoder.getString(this.bytes);
+	}
+
+	@Benchmark
+	public byte[] base32GetBytes() {
+		return Base32Encoder.getBytes(this.base32);
+	}
+
+	@Benchmark
+	public String addressFromPublicKey() {
+		return AddressEncoder.getString(TEST_NETWORK, this.bytes);
+	}
+
+	@Benchmark
+	public boolean addressIsValid() {
+		return AddressEncoder.isValid(this.address, TEST_NETWORK);
+	}
+}
@@ -0,0 +1,46 @@
+package org.nem.nac.common.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing transfer pages on several threads at once, with one global lock around every parse
+ * (like the former synchronized JsonUtils) and with the shared reader only (like JsonUtils now).
+ * Runs 8 threads, pass -t to compare other thread counts. The lock only makes a difference with several cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class JsonConcurrencyBenchmark {
+	private static final Object GLOBAL_LOCK = new Object();
+
+	private byte[] page;
+
+	@Setup
+	public void setup() {
+		this.page = TransferPage.create();
+	}
+
+	@Benchmark
+	public TransferPage.Page parseWithGlobalLock() throws IOException {
+		synchronized (GLOBAL_LOCK) {
+			return this.parse();
+		}
+	}
+
+	@Benchmark
+	public TransferPage.Page parseLockFree() throws IOException {
+		return this.parse();
+	}
+
+	private TransferPage.Page parse() throws IOException {
+		return TransferPage.READER.readValue(new ByteArrayInputStream(this.page));
+	}
+}
@@ -0,0 +1,51 @@
+package org.nem.nac.common.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing one transfers page, buffered into a String first (what ResponseBody.string() did)
+ * and streamed into the parser (what JsonUtils.fromJson(InputStream, Class) does).
+ * Run with -prof gc to see the bytes allocated per page, see {@link TransferPage} for the DTO mirror.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonStreamingBenchmark {
+	private byte[] page;
+
+	@Setup
+	public void setup() {
+		this.page = TransferPage.create();
+	}
+
+	@Benchmark
+	public TransferPage.Page parseString() throws IOException {
+		// ResponseBody.string() reads all bytes and decodes them before the parser sees the first token
+		final byte[] body = readAll(new ByteArrayInputStream(this.page));
+		return TransferPage.READER.readValue(new String(body, TransferPage.UTF_8));
+	}
+
+	@Benchmark
+	public TransferPage.Page parseStream() throws IOException {
+		return TransferPage.READER.readValue(new ByteArrayInputStream(this.page));
+	}
+
+	private static byte[] readAll(final InputStream stream) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[8192];
+		int read;
+		while ((read = stream.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,113 @@
+package org.nem.nac.common.utils;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import org.nem.core.utils.HexEncoder;
+
+import java.nio.charset.Charset;
+import java.util.Random;
+
+/**
+ * One /account/transfers/all page and a field mirror of the app's transfer DTOs to parse it into.
+ * <br>
+ * The app DTOs (TransactionMetaDataPairArrayApiDto and the classes it references) need Android classes,
+ * so this module cannot load them. The mirror keeps the parts that cost: the transaction is resolved through
+ * its "type" property, and hashes, keys and message payloads are hex decoded by a creator like BinaryData does.
+ * Amounts, timestamps and versions are plain numbers instead of Xems, TimeValue and NetworkVersion.
+ */
+final class TransferPage {
+	static final Charset UTF_8     = Charset.forName("UTF-8");
+	static final int     PAGE_SIZE = 25; // transactions per page returned by NIS
+	private static final int MESSAGE_BYTES = 1024; // maximum message size
+
+	/**
+	 * Configured like the mapper in JsonUtils, readers are immutable and shared by all threads.
+	 */
+	static final ObjectReader READER = new ObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+			.readerFor(Page.class);
+
+	static final class Page {
+		public Pair[] data;
+	}
+
+	static final class Pair {
+		public Meta        meta;
+		public Transaction transaction;
+	}
+
+	static final class Meta {
+		public long height;
+		public int  id;
+		public Hash hash;
+	}
+
+	static final class Hash {
+		public Hex data;
+	}
+
+	@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "type", visible = true)
+	@JsonSubTypes({ @JsonSubTypes.Type(value = Transfer.class, name = "257") })
+	abstract static class Transaction {
+		public int  type;
+		public int  timeStamp;
+		public int  version;
+		public long fee;
+		public int  deadline;
+		public Hex  signer;
+	}
+
+	static final class Transfer extends Transaction {
+		public long    amount;
+		public String  signature;
+		public String  recipient;
+		public Message message;
+	}
+
+	static final class Message {
+		public Hex payload;
+		public int type;
+	}
+
+	static final class Hex {
+		public final byte[] raw;
+
+		@JsonCreator
+		Hex(final String hex) {
+			this.raw = HexEncoder.getBytes(hex);
+		}
+	}
+
+	/**
+	 * Creates the json of a page of transfers with maximum size messages, about 64 KB.
+	 */
+	static byte[] create() {
+		final Random random = new Random(1);
+		final StringBuilder json = new StringBuilder("{\"data\":[");
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append("{\"meta\":{\"innerHash\":{},\"id\":").append(1000 + i)
+					.append(",\"hash\":{\"data\":\"").append(randomHex(random, 32)).append("\"},\"height\":").append(900000 + i)
+					.append("},\"transaction\":{\"timeStamp\":").append(50000000 + i)
+					.append(",\"amount\":1000000,\"signature\":\"").append(randomHex(random, 64))
+					.append("\",\"fee\":150000,\"recipient\":\"TALICE5VF6J5FYMTCB7A3QG6OIRDRUXDWJGFVXNW\"")
+					.append(",\"type\":257,\"deadline\":").append(50003600 + i)
+					.append(",\"message\":{\"payload\":\"").append(randomHex(random, MESSAGE_BYTES)).append("\",\"type\":1}")
+					.append(",\"version\":-1744830463,\"signer\":\"").append(randomHex(random, 32)).append("\"}}");
+		}
+		return json.append("]}").toString().getBytes(UTF_8);
+	}
+
+	private static String randomHex(final Random random, final int length) {
+		final byte[] data = new byte[length];
+		random.nextBytes(data);
+		return HexEncoder.getString(data);
+	}
+}
@@ -0,0 +1,103 @@
+package org.nem.nac.crypto;
+
+import org.nem.core.crypto.KeyPair;
+import org.nem.core.crypto.ed25519.Ed25519KeyGenerator;
+import org.nem.core.utils.AddressEncoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the accounts (key pair and address) generated per second, one by one and on several worker threads.
+ * <br>
+ * BulkAccountGenerator hands out the app's key models, which need Android classes, so this module cannot load it.
+ * The mirror does the same per account: a key pair from a per thread Ed25519KeyGenerator, the private key bytes
+ * and the address, which AddressValue validates again. Worker threads take chunks of 16 accounts from a shared
+ * counter like ParallelChunks. single() creates an account like AddAccountTask and CreateAccountActivity do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkAccountGeneratorBenchmark {
+	private static final byte TEST_NETWORK = (byte)0x98;
+	private static final int  COUNT        = 256;
+	private static final int  CHUNK_SIZE   = 16;
+
+	/**
+	 * The worker threads of bulk().
+	 */
+	@State(Scope.Benchmark)
+	public static class Workers {
+		@Param({ "1", "2", "4" })
+		private int parallelism;
+
+		private ExecutorService executor;
+		private ThreadLocal<Ed25519KeyGenerator> keyGenerators;
+
+		@Setup
+		public void setup() {
+			this.executor = Executors.newFixedThreadPool(this.parallelism);
+			this.keyGenerators = new ThreadLocal<Ed25519KeyGenerator>() {
+				@Override
+				protected Ed25519KeyGenerator initialValue() {
+					return new Ed25519KeyGenerator();
+				}
+			};
+		}
+
+		@TearDown
+		public void tearDown() {
+			this.executor.shutdownNow();
+		}
+	}
+
+	@Benchmark
+	public int single() {
+		return generateAccount(new KeyPair());
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public int bulk(final Workers workers) throws Exception {
+		final AtomicInteger nextIndex = new AtomicInteger(0);
+		final AtomicInteger result = new AtomicInteger(0);
+		final List<Future<Void>> futures = new ArrayList<>(workers.parallelism);
+		for (int i = 0; i < workers.parallelism; i++) {
+			futures.add(workers.executor.submit(() -> {
+				final Ed25519KeyGenerator keyGenerator = workers.keyGenerators.get();
+				int start;
+				while ((start = nextIndex.getAndAdd(CHUNK_SIZE)) < COUNT) {
+					for (int index = start; index < Math.min(COUNT, start + CHUNK_SIZE); index++) {
+						result.addAndGet(generateAccount(keyGenerator.generateKeyPair()));
+					}
+				}
+				return null;
+			}));
+		}
+
+		for (final Future<Void> future : futures) {
+			future.get();
+		}
+
+		return result.get();
+	}
+
+	private static int generateAccount(final KeyPair keyPair) {
+		final byte[] privateKey = keyPair.getPrivateKey().getRaw().toByteArray();
+		final String address = AddressEncoder.getString(TEST_NETWORK, keyPair.getPublicKey().getRaw());
+		if (!AddressEncoder.isValid(address, TEST_NETWORK)) {
+			throw new IllegalStateException("invalid address");
+		}
+
+		return privateKey[0] ^ address.hashCode();
+	}
+}
@@ -0,0 +1,106 @@
+package org.nem.nac.crypto;
+
+import org.nem.core.crypto.AesCipherBackend;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Times a password change of a 1000 account wallet, serially and on several worker threads.
+ * <br>
+ * KeyReencryptor works on the app's key models, which need Android classes, so this module cannot load it.
+ * The mirror does the same per key: AES decryption with the old key, encryption with the new key and a fresh IV
+ * from one shared SecureRandom like AesCryptographer, and wiping the decrypted key.
+ * Worker threads take chunks of 16 keys from a shared counter like ParallelChunks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyReencryptionBenchmark {
+	private static final int KEY_COUNT  = 1000;
+	private static final int CHUNK_SIZE = 16;
+	private static final int BLOCK_SIZE = AesCipherBackend.BLOCK_SIZE;
+
+	@Param({ "1", "2", "4" })
+	private int parallelism;
+
+	private final SecureRandom random = new SecureRandom();
+	private byte[] oldKey;
+	private byte[] newKey;
+	private byte[][] keys;
+	private ExecutorService executor;
+
+	@Setup
+	public void setup() {
+		this.oldKey = this.randomBytes(32);
+		this.newKey = this.randomBytes(32);
+		this.keys = new byte[KEY_COUNT][];
+		for (int i = 0; i < KEY_COUNT; i++) {
+			this.keys[i] = this.encrypt(this.randomBytes(32), this.oldKey);
+		}
+
+		this.executor = Executors.newFixedThreadPool(this.parallelism);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.executor.shutdownNow();
+	}
+
+	@Benchmark
+	public byte[][] reencrypt() throws Exception {
+		final byte[][] result = new byte[KEY_COUNT][];
+		final AtomicInteger nextIndex = new AtomicInteger(0);
+		final List<Future<Void>> futures = new ArrayList<>(this.parallelism);
+		for (int i = 0; i < this.parallelism; i++) {
+			futures.add(this.executor.submit(() -> {
+				int start;
+				while ((start = nextIndex.getAndAdd(CHUNK_SIZE)) < KEY_COUNT) {
+					for (int index = start; index < Math.min(KEY_COUNT, start + CHUNK_SIZE); index++) {
+						final byte[] decrypted = this.decrypt(this.keys[index], this.oldKey);
+						result[index] = this.encrypt(decrypted, this.newKey);
+						Arrays.fill(decrypted, (byte)0);
+					}
+				}
+				return null;
+			}));
+		}
+
+		for (final Future<Void> future : futures) {
+			future.get();
+		}
+
+		return result;
+	}
+
+	private byte[] encrypt(final byte[] data, final byte[] key) {
+		final byte[] iv = new byte[BLOCK_SIZE];
+		this.random.nextBytes(iv);
+		final byte[] result = new byte[BLOCK_SIZE + AesCipherBackend.getEncryptedSize(data.length)];
+		System.arraycopy(iv, 0, result, 0, BLOCK_SIZE);
+		AesCipherBackend.getSelected().encrypt(key, iv, data, 0, data.length, result, BLOCK_SIZE);
+		return result;
+	}
+
+	private byte[] decrypt(final byte[] input, final byte[] key) {
+		final byte[] iv = Arrays.copyOfRange(input, 0, BLOCK_SIZE);
+		return AesCipherBackend.getSelected().decrypt(key, iv, input, BLOCK_SIZE, input.length - BLOCK_SIZE);
+	}
+
+	private byte[] randomBytes(final int length) {
+		final byte[] bytes = new byte[length];
+		this.random.nextBytes(bytes);
+		return bytes;
+	}
+}